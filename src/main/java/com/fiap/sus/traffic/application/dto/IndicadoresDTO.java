@@ -1,5 +1,6 @@
 package com.fiap.sus.traffic.application.dto;
 
+import com.fiap.sus.traffic.domain.model.ProcedenciaIndicadores;
 import com.fiap.sus.traffic.domain.model.RiskClassification;
 
 import java.util.Map;
@@ -10,5 +11,27 @@ public record IndicadoresDTO(
     Map<RiskClassification, Integer> tmaPorRisco,
     Integer ocupacaoAtual,
     Integer pacientesEmEspera,
-    Integer capacidadeNominal
-) {}
+    Integer capacidadeNominal,
+    ProcedenciaIndicadores procedencia
+) {
+    public IndicadoresDTO(UUID unidadeId,
+                          Map<RiskClassification, Integer> tmaPorRisco,
+                          Integer ocupacaoAtual,
+                          Integer pacientesEmEspera,
+                          Integer capacidadeNominal) {
+        this(unidadeId, tmaPorRisco, ocupacaoAtual, pacientesEmEspera, capacidadeNominal, ProcedenciaIndicadores.LIVE);
+    }
+
+    public IndicadoresDTO {
+        if (procedencia == null) {
+            procedencia = ProcedenciaIndicadores.LIVE;
+        }
+    }
+
+    /**
+     * Cópia dos mesmos indicadores com outra procedência.
+     */
+    public IndicadoresDTO comProcedencia(ProcedenciaIndicadores novaProcedencia) {
+        return new IndicadoresDTO(unidadeId, tmaPorRisco, ocupacaoAtual, pacientesEmEspera, capacidadeNominal, novaProcedencia);
+    }
+}
@@ -3,14 +3,28 @@ package com.fiap.sus.traffic.application.dto;
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * Unidade de saúde candidata. {@code latitude}/{@code longitude} são opcionais: vêm do catálogo local
+ * ou do Network Service quando ele as informa, e permitem recalcular a distância a partir de outro ponto.
+ */
 public record UnidadeSaudeDTO(
     UUID id,
     String name,
     String cnpj,
     AddressDTO address,
     List<ContactDTO> contacts,
-    String distance
+    String distance,
+    Double latitude,
+    Double longitude
 ) {
+    public UnidadeSaudeDTO(UUID id, String name, String cnpj, AddressDTO address, List<ContactDTO> contacts, String distance) {
+        this(id, name, cnpj, address, contacts, distance, null, null);
+    }
+
+    public boolean temCoordenadas() {
+        return latitude != null && longitude != null;
+    }
+
     public record AddressDTO(
         UUID id,
         String street,
@@ -1,6 +1,8 @@
 package com.fiap.sus.traffic.application.port;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,6 +15,8 @@ public interface CachePort {
     // Métodos específicos para facilitar uso
     <T> Optional<T> getIndicadores(UUID unidadeId, Class<T> type);
     <T> void putIndicadores(UUID unidadeId, T value, long ttlSeconds);
+    <T> Map<UUID, T> getIndicadoresEmLote(Collection<UUID> unidadeIds, Class<T> type);
+    <T> void putIndicadoresEmLote(Map<UUID, T> values, long ttlSeconds);
     
     <T> Optional<List<T>> getUnidades(String key, Class<T> type);
     <T> void putUnidades(String key, List<T> value, long ttlSeconds);
@@ -2,8 +2,45 @@ package com.fiap.sus.traffic.application.port;
 
 import com.fiap.sus.traffic.application.dto.IndicadoresDTO;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface LiveOpsServicePort {
     IndicadoresDTO buscarIndicadores(UUID unidadeId);
+
+    /**
+     * Busca indicadores de várias unidades de uma vez (cache em lote + chamadas em lote ao LiveOps).
+     * Unidades ausentes do mapa retornado não puderam ser resolvidas e devem ser buscadas individualmente.
+     */
+    Map<UUID, IndicadoresDTO> buscarIndicadoresEmLote(Collection<UUID> unidadeIds);
+
+    /**
+     * Últimos indicadores conhecidos da unidade, sem chamar o LiveOps e independentemente da idade.
+     * Usado quando a busca atual falha ou não termina dentro do prazo da consulta.
+     */
+    Optional<IndicadoresDTO> buscarUltimosIndicadoresConhecidos(UUID unidadeId);
+
+    /**
+     * Como {@link #buscarUltimosIndicadoresConhecidos(UUID)} para várias unidades de uma vez.
+     * Unidades ausentes do mapa retornado não têm indicadores conhecidos.
+     */
+    default Map<UUID, IndicadoresDTO> buscarUltimosIndicadoresConhecidos(Collection<UUID> unidadeIds) {
+        Map<UUID, IndicadoresDTO> resultado = new HashMap<>();
+        for (UUID unidadeId : unidadeIds) {
+            buscarUltimosIndicadoresConhecidos(unidadeId).ifPresent(dto -> resultado.put(unidadeId, dto));
+        }
+        return resultado;
+    }
+
+    /**
+     * Renova antecipadamente os indicadores das unidades que não estão no cache ou cuja expiração
+     * soft ocorre dentro da antecedência informada. Usado pela atualização das unidades populares.
+     *
+     * @return quantidade de unidades renovadas
+     */
+    int renovarIndicadores(Collection<UUID> unidadeIds, Duration antecedencia);
 }
@@ -3,9 +3,35 @@ package com.fiap.sus.traffic.application.port;
 import com.fiap.sus.traffic.application.dto.UnidadeSaudeDTO;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface NetworkServicePort {
     List<UnidadeSaudeDTO> buscarUnidadesProximas(String baseAddress, Double radius, String distanceUnit);
+
+    /**
+     * Como {@link #buscarUnidadesProximas(String, Double, String)}, entregando as unidades a
+     * {@code aoReceberPagina} à medida que chegam do Network Service (uma chamada por página, na
+     * thread de quem chamou). Retorna todas as unidades recebidas.
+     */
+    default List<UnidadeSaudeDTO> buscarUnidadesProximas(String baseAddress, Double radius, String distanceUnit,
+                                                         Consumer<List<UnidadeSaudeDTO>> aoReceberPagina) {
+        List<UnidadeSaudeDTO> unidades = buscarUnidadesProximas(baseAddress, radius, distanceUnit);
+        if (unidades != null && !unidades.isEmpty()) {
+            aoReceberPagina.accept(unidades);
+        }
+        return unidades;
+    }
+
+    /**
+     * Região do endereço compartilhada por endereços vizinhos, quando a busca passa a partir dela em
+     * vez do ponto exato: todos os endereços da região têm as mesmas unidades e distâncias. Vazio
+     * quando o resultado depende do próprio endereço.
+     */
+    default Optional<String> regiaoDoEndereco(String baseAddress) {
+        return Optional.empty();
+    }
+
     UnidadeSaudeDTO buscarUnidadePorId(UUID id);
 }
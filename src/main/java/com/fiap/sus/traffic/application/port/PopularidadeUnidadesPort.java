@@ -0,0 +1,13 @@
+package com.fiap.sus.traffic.application.port;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface PopularidadeUnidadesPort {
+
+    /**
+     * Registra as unidades que apareceram como candidatas em uma consulta de direcionamento.
+     * Usado para priorizar a atualização antecipada dos indicadores das unidades mais consultadas.
+     */
+    void registrarCandidatas(Collection<UUID> unidadeIds);
+}
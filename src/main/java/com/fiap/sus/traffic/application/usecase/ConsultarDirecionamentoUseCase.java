@@ -5,20 +5,42 @@ import com.fiap.sus.traffic.application.dto.UnidadeSaudeDTO;
 import com.fiap.sus.traffic.application.port.CachePort;
 import com.fiap.sus.traffic.application.port.LiveOpsServicePort;
 import com.fiap.sus.traffic.application.port.NetworkServicePort;
+import com.fiap.sus.traffic.application.port.PopularidadeUnidadesPort;
 import com.fiap.sus.traffic.core.exception.BusinessException;
+import com.fiap.sus.traffic.core.exception.DeadlineExceededException;
 import com.fiap.sus.traffic.core.exception.ValidationException;
 import com.fiap.sus.traffic.domain.model.*;
 import com.fiap.sus.traffic.domain.repository.CriterioPesoRepository;
 import com.fiap.sus.traffic.domain.service.AlgoritmoDirecionamentoService;
 import com.fiap.sus.traffic.infrastructure.cache.CacheKeyGenerator;
 import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import com.fiap.sus.traffic.shared.context.ContextoConsulta;
+import com.fiap.sus.traffic.shared.context.Deadline;
 import com.fiap.sus.traffic.shared.util.DistanceUtils;
+import com.fiap.sus.traffic.shared.util.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @RequiredArgsConstructor
@@ -31,16 +53,37 @@ public class ConsultarDirecionamentoUseCase {
     private final AlgoritmoDirecionamentoService algoritmoService;
     private final TrafficIntelligenceProperties properties;
     private final CachePort cachePort;
+    private final PopularidadeUnidadesPort popularidadeUnidadesPort;
+
+    /**
+     * Processamentos de sugestões em andamento por chave de cache.
+     */
+    private final SingleFlight<String, ConsultaProcessada> consultasEmAndamento = new SingleFlight<>();
 
     public List<SugestaoOrdenada> executar(String baseAddress,
                                           RiskClassification riskClassification,
                                           String especialidade,
                                           Double radius,
                                           String distanceUnit) {
+        return executar(baseAddress, riskClassification, especialidade, radius, distanceUnit, null);
+    }
+
+    /**
+     * Executa a consulta dentro de um orçamento de tempo. O prazo resultante é propagado para os
+     * adaptadores (via {@link ContextoConsulta}), que usam apenas o tempo restante em cada chamada.
+     *
+     * @param orcamento orçamento informado pelo cliente, limitado a {@code deadline.maximo}; quando nulo usa {@code deadline.padrao}
+     */
+    public List<SugestaoOrdenada> executar(String baseAddress,
+                                          RiskClassification riskClassification,
+                                          String especialidade,
+                                          Double radius,
+                                          String distanceUnit,
+                                          Duration orcamento) {
         
         long inicio = System.currentTimeMillis();
-        log.info("Iniciando consulta de direcionamento: address={}, risco={}, especialidade={}, radius={}, unit={}",
-            baseAddress, riskClassification, especialidade, radius, distanceUnit);
+        log.info("Iniciando consulta de direcionamento: address={}, risco={}, especialidade={}, radius={}, unit={}, orcamento={}",
+            baseAddress, riskClassification, especialidade, radius, distanceUnit, orcamento);
 
         // Validar e definir valores padrão
         if (baseAddress == null || baseAddress.isBlank()) {
@@ -57,14 +100,28 @@ public class ConsultarDirecionamentoUseCase {
         
         validarParametros(radius);
 
-        // Verificar cache de sugestões primeiro
-        String cacheKey = CacheKeyGenerator.sugestoesKey(
-            baseAddress, 
-            riskClassification != null ? riskClassification.name() : null,
-            especialidade,
-            radius,
-            distanceUnit
-        );
+        Deadline deadline = Deadline.em(resolverOrcamento(orcamento));
+        String endereco = baseAddress;
+        double raio = radius;
+        String unidadeDistancia = distanceUnit;
+        int retriesPorConsulta = properties.getLiveopsService().getRetry().getMaximoPorConsulta();
+        return ContextoConsulta.executarCom(deadline, retriesPorConsulta, () -> consultar(
+            endereco, riskClassification, especialidade, raio, unidadeDistancia, deadline, inicio
+        ));
+    }
+
+    private List<SugestaoOrdenada> consultar(String baseAddress,
+                                             RiskClassification riskClassification,
+                                             String especialidade,
+                                             double radius,
+                                             String distanceUnit,
+                                             Deadline deadline,
+                                             long inicio) {
+        // Verificar cache de sugestões primeiro; endereços da mesma região (célula geohash) compartilham a chave
+        String risco = riskClassification != null ? riskClassification.name() : null;
+        String cacheKey = networkServicePort.regiaoDoEndereco(baseAddress)
+            .map(regiao -> CacheKeyGenerator.sugestoesGeocelulaKey(regiao, risco, especialidade, radius, distanceUnit))
+            .orElseGet(() -> CacheKeyGenerator.sugestoesKey(baseAddress, risco, especialidade, radius, distanceUnit));
         
         log.debug("Verificando cache com chave: {}", cacheKey);
         var cachedSugestoes = cachePort.getSugestoes(cacheKey, SugestaoOrdenada.class);
@@ -77,12 +134,86 @@ public class ConsultarDirecionamentoUseCase {
 
         log.info("❌ Cache miss para sugestões. Chave: {}. Processando consulta...", cacheKey);
 
+        // Consultas idênticas simultâneas aguardam o mesmo processamento em vez de repetir o pipeline,
+        // mas nunca além do próprio prazo
+        AtomicBoolean lider = new AtomicBoolean();
+        ConsultaProcessada compartilhada;
+        try {
+            compartilhada = consultasEmAndamento.executar(cacheKey, () -> {
+                lider.set(true);
+                return processarConsulta(cacheKey, baseAddress, riskClassification, especialidade, radius,
+                    distanceUnit, inicio, deadline);
+            }, deadline.tempoRestante());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new DeadlineExceededException("aguardando consulta idêntica em andamento");
+            }
+            throw e;
+        } catch (DeadlineExceededException e) {
+            if (lider.get() || deadline.expirado()) {
+                throw e;
+            }
+            log.info("Consulta idêntica esgotou o próprio prazo. Processando com o tempo restante ({}ms).",
+                deadline.tempoRestante().toMillis());
+            return processarConsulta(cacheKey, baseAddress, riskClassification, especialidade, radius,
+                distanceUnit, inicio, deadline).sugestoes();
+        }
+
+        // Resultado parcial (indicadores defasados ou padrão) de uma consulta com prazo menor:
+        // quem ainda tem mais tempo tenta obter indicadores atuais
+        if (!lider.get() && compartilhada.parcial() && deadline.terminaDepoisDe(compartilhada.deadline())) {
+            log.info("Consulta idêntica retornou resultado parcial com prazo menor. Processando com o tempo restante ({}ms).",
+                deadline.tempoRestante().toMillis());
+            return processarConsulta(cacheKey, baseAddress, riskClassification, especialidade, radius,
+                distanceUnit, inicio, deadline).sugestoes();
+        }
+        return compartilhada.sugestoes();
+    }
+
+    private Duration resolverOrcamento(Duration orcamento) {
+        var config = properties.getDeadline();
+        if (orcamento == null) {
+            return config.getPadrao();
+        }
+        return orcamento.compareTo(config.getMaximo()) > 0 ? config.getMaximo() : orcamento;
+    }
+
+    private ConsultaProcessada processarConsulta(String cacheKey,
+                                                 String baseAddress,
+                                                 RiskClassification riskClassification,
+                                                 String especialidade,
+                                                 double radius,
+                                                 String distanceUnit,
+                                                 long inicio,
+                                                 Deadline deadline) {
+        // Com a busca paginada, os indicadores de cada página começam a ser buscados assim que ela chega
+        boolean buscaLimitada = properties.getAlgoritmo().getBuscaLimitada().isHabilitado();
+        AtomicBoolean parcial = new AtomicBoolean();
+        try (IndicadoresAntecipados antecipados = !buscaLimitada && properties.getNetworkService().getPaginacao().isHabilitado() ? new IndicadoresAntecipados() : null) {
+            List<SugestaoOrdenada> sugestoes = processarConsulta(cacheKey, baseAddress, riskClassification, especialidade,
+                radius, distanceUnit, inicio, buscaLimitada, antecipados, parcial);
+            return new ConsultaProcessada(sugestoes, parcial.get(), deadline);
+        }
+    }
+
+    private List<SugestaoOrdenada> processarConsulta(String cacheKey,
+                                                     String baseAddress,
+                                                     RiskClassification riskClassification,
+                                                     String especialidade,
+                                                     double radius,
+                                                     String distanceUnit,
+                                                     long inicio,
+                                                     boolean buscaLimitada,
+                                                     IndicadoresAntecipados antecipados,
+                                                     AtomicBoolean parcial) {
         // Buscar unidades próximas
         List<UnidadeSaudeDTO> unidadesDTO;
         try {
-            unidadesDTO = networkServicePort.buscarUnidadesProximas(
-                baseAddress, radius, distanceUnit
-            );
+            unidadesDTO = antecipados != null
+                ? networkServicePort.buscarUnidadesProximas(baseAddress, radius, distanceUnit, antecipados::aoReceberPagina)
+                : networkServicePort.buscarUnidadesProximas(baseAddress, radius, distanceUnit);
+        } catch (DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Erro ao buscar unidades do Network Service: {}", e.getMessage(), e);
             throw new BusinessException("NETWORK_SERVICE_ERROR", 
@@ -97,12 +228,23 @@ public class ConsultarDirecionamentoUseCase {
 
         log.debug("Encontradas {} unidades no raio", unidadesDTO.size());
 
+        // Sem prazo restante não há como montar uma resposta útil
+        if (ContextoConsulta.expirado()) {
+            throw new DeadlineExceededException("Network Service");
+        }
+
+        // Buscar pesos configurados
+        CriterioPeso pesos = pesosRepository.buscar()
+            .orElse(CriterioPeso.padrao());
+
         // Construir contexto das unidades com indicadores
         List<UnidadeSaudeContext> unidadesContext;
         try {
-            unidadesContext = construirContextoUnidades(
-                unidadesDTO, riskClassification
-            );
+            unidadesContext = buscaLimitada
+                ? construirContextoLimitado(unidadesDTO, pesos, riskClassification, especialidade)
+                : construirContextoUnidades(unidadesDTO, antecipados);
+        } catch (DeadlineExceededException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Erro ao construir contexto das unidades: {}", e.getMessage(), e);
             throw new BusinessException("CONTEXT_BUILD_ERROR", 
@@ -115,10 +257,6 @@ public class ConsultarDirecionamentoUseCase {
                 "Nenhuma unidade válida encontrada após processamento.");
         }
 
-        // Buscar pesos configurados
-        CriterioPeso pesos = pesosRepository.buscar()
-            .orElse(CriterioPeso.padrao());
-
         // Aplicar algoritmo de direcionamento
         List<SugestaoOrdenada> sugestoes;
         try {
@@ -135,10 +273,17 @@ public class ConsultarDirecionamentoUseCase {
                 "Erro ao calcular sugestões de direcionamento. Tente novamente mais tarde.");
         }
 
-        // Armazenar no cache
-        long ttl = properties.getCache().getTtlSugestoes().getSeconds();
+        // Armazenar no cache; resultados calculados com indicadores defasados ou padrão expiram antes
+        long parciais = unidadesContext.stream()
+            .filter(contexto -> contexto.procedencia() != ProcedenciaIndicadores.LIVE)
+            .count();
+        long ttl = parciais > 0
+            ? properties.getCache().getTtlSugestoesParciais().getSeconds()
+            : properties.getCache().getTtlSugestoes().getSeconds();
         cachePort.putSugestoes(cacheKey, sugestoes, ttl);
-        log.info("💾 Sugestões armazenadas no cache com chave: {} (TTL: {}s)", cacheKey, ttl);
+        parcial.set(parciais > 0);
+        log.info("💾 Sugestões armazenadas no cache com chave: {} (TTL: {}s, {} unidades sem indicadores atuais)",
+            cacheKey, ttl, parciais);
 
         long duracao = System.currentTimeMillis() - inicio;
         log.info("Consulta concluída em {}ms. {} sugestões geradas", duracao, sugestoes.size());
@@ -158,9 +303,82 @@ public class ConsultarDirecionamentoUseCase {
 
     private List<UnidadeSaudeContext> construirContextoUnidades(
             List<UnidadeSaudeDTO> unidadesDTO,
-            RiskClassification riskClassification) {
-        
+            IndicadoresAntecipados antecipados) {
+
+        List<UnidadeComDistancia> candidatas = extrairCandidatas(unidadesDTO);
+
+        List<UUID> candidatasIds = candidatas.stream().map(c -> c.dto().id()).distinct().toList();
+        popularidadeUnidadesPort.registrarCandidatas(candidatasIds);
+
+        // Buscar indicadores operacionais de todas as candidatas (em paralelo quando habilitado),
+        // aproveitando as buscas já iniciadas durante a paginação
+        Map<UUID, IndicadoresResolvidos> indicadoresPorUnidade = antecipados != null ? antecipados.aguardar() : new HashMap<>();
+        List<UUID> faltantes = candidatasIds.stream()
+            .filter(id -> !indicadoresPorUnidade.containsKey(id))
+            .toList();
+        if (!faltantes.isEmpty()) {
+            indicadoresPorUnidade.putAll(buscarIndicadores(faltantes));
+        }
+
         List<UnidadeSaudeContext> contextos = new ArrayList<>();
+        for (UnidadeComDistancia candidata : candidatas) {
+            contextos.add(criarContexto(candidata, indicadoresPorUnidade));
+        }
+        return contextos;
+    }
+
+    /**
+     * Variante branch-and-bound: busca indicadores em lotes, da unidade mais próxima para a mais
+     * distante (ordem decrescente do limite superior de score), e para assim que a k-ésima melhor
+     * sugestão parcial alcança o limite da próxima unidade. Toda unidade que estaria entre as
+     * {@code maxSugestoes} melhores na busca completa é avaliada; como a normalização dos scores é
+     * relativa às unidades avaliadas, a escolha e a ordem entre elas podem diferir da busca completa.
+     */
+    private List<UnidadeSaudeContext> construirContextoLimitado(
+            List<UnidadeSaudeDTO> unidadesDTO,
+            CriterioPeso pesos,
+            RiskClassification riskClassification,
+            String especialidade) {
+
+        List<UnidadeComDistancia> candidatas = new ArrayList<>(extrairCandidatas(unidadesDTO));
+        candidatas.sort(Comparator.comparingDouble(UnidadeComDistancia::distanciaKm));
+        popularidadeUnidadesPort.registrarCandidatas(candidatas.stream().map(c -> c.dto().id()).distinct().toList());
+
+        double maxDistancia = candidatas.stream().mapToDouble(UnidadeComDistancia::distanciaKm).max().orElse(0.0);
+        int maxSugestoes = properties.getAlgoritmo().getMaxSugestoes();
+        int tamanhoLote = Math.max(maxSugestoes, properties.getAlgoritmo().getBuscaLimitada().getTamanhoLote());
+
+        List<UnidadeSaudeContext> contextos = new ArrayList<>();
+        int avaliadas = 0;
+        while (avaliadas < candidatas.size()) {
+            List<UnidadeComDistancia> lote = candidatas.subList(avaliadas, Math.min(candidatas.size(), avaliadas + tamanhoLote));
+            Map<UUID, IndicadoresResolvidos> indicadores = buscarIndicadores(
+                lote.stream().map(c -> c.dto().id()).distinct().toList());
+            lote.forEach(candidata -> contextos.add(criarContexto(candidata, indicadores)));
+            avaliadas += lote.size();
+
+            if (avaliadas >= candidatas.size()) {
+                break;
+            }
+            if (ContextoConsulta.expirado()) {
+                log.warn("Prazo esgotado na busca limitada: {} de {} unidades avaliadas", avaliadas, candidatas.size());
+                break;
+            }
+            double limiteRestante = algoritmoService.limiteSuperiorScore(
+                candidatas.get(avaliadas).distanciaKm(), maxDistancia, pesos);
+            List<SugestaoOrdenada> parciais = algoritmoService.calcularSugestoes(
+                contextos, pesos, riskClassification, especialidade, maxSugestoes);
+            if (algoritmoService.topKDefinido(parciais, maxSugestoes, limiteRestante)) {
+                break;
+            }
+        }
+
+        log.info("Busca limitada: indicadores de {} de {} unidades", avaliadas, candidatas.size());
+        return contextos;
+    }
+
+    private List<UnidadeComDistancia> extrairCandidatas(List<UnidadeSaudeDTO> unidadesDTO) {
+        List<UnidadeComDistancia> candidatas = new ArrayList<>();
 
         for (UnidadeSaudeDTO dto : unidadesDTO) {
             // Validar que distance foi fornecida pelo Network Service
@@ -170,50 +388,285 @@ public class ConsultarDirecionamentoUseCase {
             }
 
             // Converter String formatada ("1.5 km" ou "500 m") para Double (km)
-            double distanciaKm;
             try {
-                distanciaKm = DistanceUtils.parseDistanceToKm(dto.distance());
+                candidatas.add(new UnidadeComDistancia(dto, DistanceUtils.parseDistanceToKm(dto.distance())));
             } catch (IllegalArgumentException e) {
                 log.error("Erro ao converter distância da unidade {}: {}", dto.id(), dto.distance(), e);
-                continue; // Pular unidade com distância inválida
+                // Pular unidade com distância inválida
+            }
+        }
+        return candidatas;
+    }
+
+    private UnidadeSaudeContext criarContexto(UnidadeComDistancia candidata,
+                                              Map<UUID, IndicadoresResolvidos> indicadoresPorUnidade) {
+        UnidadeSaudeDTO dto = candidata.dto();
+
+        // Extrair especialidades (assumindo que vem do Network Service)
+        List<String> especialidades = new ArrayList<>();
+        // TODO: Adicionar lógica para extrair especialidades do DTO quando disponível
+
+        IndicadoresResolvidos indicadores = indicadoresPorUnidade.getOrDefault(dto.id(), IndicadoresResolvidos.PADRAO);
+        return new UnidadeSaudeContext(
+            dto.id(),
+            dto.name(),
+            null,  // latitude opcional (não é mais necessária)
+            null,  // longitude opcional (não é mais necessária)
+            especialidades,
+            indicadores.indicadores(),
+            candidata.distanciaKm(),  // Distância convertida de String para Double
+            indicadores.procedencia()
+        );
+    }
+
+    /**
+     * Busca os indicadores de cada unidade. Primeiro tenta o caminho em lote (MGET no cache e
+     * requisições em lote ao LiveOps); as unidades que sobrarem são buscadas individualmente.
+     */
+    private Map<UUID, IndicadoresResolvidos> buscarIndicadores(List<UUID> unidadeIds) {
+        Map<UUID, IndicadoresResolvidos> resultado = new HashMap<>();
+
+        if (unidadeIds.size() > 1) {
+            try {
+                liveOpsServicePort.buscarIndicadoresEmLote(unidadeIds).forEach((unidadeId, dto) -> {
+                    if (dto != null && dto.tmaPorRisco() != null) {
+                        resultado.put(unidadeId, resolver(dto));
+                    }
+                });
+            } catch (Exception e) {
+                log.warn("Erro na busca de indicadores em lote: {}. Buscando por unidade.", e.getMessage());
             }
+        }
+
+        List<UUID> pendentes = unidadeIds.stream()
+            .filter(id -> !resultado.containsKey(id))
+            .toList();
+        log.debug("Indicadores em lote: {} resolvidas, {} pendentes", resultado.size(), pendentes.size());
+
+        resultado.putAll(buscarIndicadoresPorUnidade(pendentes));
+        return resultado;
+    }
 
-            // Buscar indicadores operacionais
-            // O LiveOpsServiceAdapter já trata erros e retorna indicadores padrão, então não precisamos fazer try-catch aqui
-            IndicadoresDTO indicadoresDTO = liveOpsServicePort.buscarIndicadores(dto.id());
-            
-            // Garantir que nunca é null (o adapter já garante isso, mas vamos ser defensivos)
-            IndicadoresOperacionais indicadores;
-            if (indicadoresDTO == null || indicadoresDTO.tmaPorRisco() == null) {
-                log.warn("LiveOpsServiceAdapter retornou null ou tmaPorRisco null para unidade {}. Usando valores padrão.", dto.id());
-                indicadores = IndicadoresOperacionais.padrao();
-            } else {
-                // Usar os indicadores retornados (que podem ser padrão se houve erro)
-                indicadores = IndicadoresOperacionais.fromMap(
-                    indicadoresDTO.tmaPorRisco(),
-                    indicadoresDTO.ocupacaoAtual(),
-                    indicadoresDTO.pacientesEmEspera(),
-                    indicadoresDTO.capacidadeNominal()
-                );
+    /**
+     * Busca os indicadores unidade a unidade. Com o fan-out habilitado as chamadas ao LiveOps
+     * rodam em virtual threads, limitadas por {@code max-concorrencia}; caso contrário, uma a uma.
+     */
+    private Map<UUID, IndicadoresResolvidos> buscarIndicadoresPorUnidade(List<UUID> unidadeIds) {
+        var fanOut = properties.getLiveopsService().getFanOut();
+        if (!fanOut.isHabilitado() || fanOut.getMaxConcorrencia() <= 1 || unidadeIds.size() <= 1) {
+            Map<UUID, IndicadoresResolvidos> resultado = new HashMap<>();
+            List<UUID> semPrazo = new ArrayList<>();
+            for (UUID unidadeId : unidadeIds) {
+                if (ContextoConsulta.expirado()) {
+                    semPrazo.add(unidadeId);
+                } else {
+                    resultado.put(unidadeId, buscarIndicadoresComFallback(unidadeId));
+                }
             }
+            resultado.putAll(ultimosConhecidosOuPadrao(semPrazo));
+            return resultado;
+        }
 
-            // Extrair especialidades (assumindo que vem do Network Service)
-            List<String> especialidades = new ArrayList<>();
-            // TODO: Adicionar lógica para extrair especialidades do DTO quando disponível
-
-            UnidadeSaudeContext contexto = new UnidadeSaudeContext(
-                dto.id(),
-                dto.name(),
-                null,  // latitude opcional (não é mais necessária)
-                null,  // longitude opcional (não é mais necessária)
-                especialidades,
-                indicadores,
-                distanciaKm  // Distância convertida de String para Double
-            );
+        log.debug("Buscando indicadores de {} unidades em paralelo (max {} simultâneas)",
+            unidadeIds.size(), fanOut.getMaxConcorrencia());
+
+        Semaphore permissoes = new Semaphore(fanOut.getMaxConcorrencia());
+        Map<UUID, Future<IndicadoresResolvidos>> pendentes = new LinkedHashMap<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                for (UUID unidadeId : unidadeIds) {
+                    pendentes.put(unidadeId, executor.submit(ContextoConsulta.propagar(() -> {
+                        permissoes.acquire();
+                        try {
+                            return buscarIndicadoresComFallback(unidadeId);
+                        } finally {
+                            permissoes.release();
+                        }
+                    })));
+                }
 
-            contextos.add(contexto);
+                Map<UUID, IndicadoresResolvidos> resultado = new HashMap<>();
+                List<UUID> semResposta = new ArrayList<>();
+                for (var pendente : pendentes.entrySet()) {
+                    IndicadoresResolvidos indicadores = aguardarIndicadores(pendente.getKey(), pendente.getValue());
+                    if (indicadores != null) {
+                        resultado.put(pendente.getKey(), indicadores);
+                    } else {
+                        semResposta.add(pendente.getKey());
+                    }
+                }
+                resultado.putAll(ultimosConhecidosOuPadrao(semResposta));
+                return resultado;
+            } finally {
+                // Cancela chamadas ainda em andamento caso a consulta tenha falhado ou sido interrompida
+                pendentes.values().forEach(future -> future.cancel(true));
+            }
         }
+    }
 
-        return contextos;
+    /**
+     * Indicadores da unidade, ou {@code null} quando não chegam a tempo ou a busca falha: essas
+     * unidades recebem os últimos conhecidos (ou o padrão) todas de uma vez.
+     */
+    private IndicadoresResolvidos aguardarIndicadores(UUID unidadeId, Future<IndicadoresResolvidos> future) {
+        try {
+            // Com prazo, cada espera usa só o tempo restante
+            var restante = ContextoConsulta.tempoRestante();
+            return restante.isPresent()
+                ? future.get(restante.get().toNanos(), TimeUnit.NANOSECONDS)
+                : future.get();
+        } catch (TimeoutException e) {
+            log.warn("Prazo esgotado aguardando indicadores da unidade {}. Usando últimos conhecidos ou padrão.", unidadeId);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusinessException("CONTEXT_BUILD_ERROR",
+                "Consulta interrompida durante a busca de indicadores.", e);
+        } catch (ExecutionException e) {
+            log.warn("Falha ao buscar indicadores da unidade {}: {}. Usando últimos conhecidos ou padrão.",
+                unidadeId, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            return null;
+        }
+    }
+
+    private IndicadoresResolvidos buscarIndicadoresComFallback(UUID unidadeId) {
+        // O LiveOpsServiceAdapter já trata erros e retorna indicadores padrão,
+        // mas uma falha de uma unidade nunca deve derrubar a consulta inteira
+        IndicadoresDTO indicadoresDTO;
+        try {
+            indicadoresDTO = liveOpsServicePort.buscarIndicadores(unidadeId);
+        } catch (Exception e) {
+            log.warn("Erro ao buscar indicadores da unidade {}: {}. Usando últimos conhecidos ou padrão.", unidadeId, e.getMessage());
+            return ultimosConhecidosOuPadrao(unidadeId);
+        }
+
+        // Garantir que nunca é null (o adapter já garante isso, mas vamos ser defensivos)
+        if (indicadoresDTO == null || indicadoresDTO.tmaPorRisco() == null) {
+            log.warn("LiveOpsServiceAdapter retornou null ou tmaPorRisco null para unidade {}. Usando valores padrão.", unidadeId);
+            return ultimosConhecidosOuPadrao(unidadeId);
+        }
+
+        // O adapter devolve indicadores padrão quando o LiveOps falha; os últimos conhecidos são preferíveis
+        if (indicadoresDTO.procedencia() == ProcedenciaIndicadores.DEFAULT) {
+            return ultimosConhecidosOuPadrao(unidadeId);
+        }
+        return resolver(indicadoresDTO);
+    }
+
+    /**
+     * Fallback quando os indicadores atuais não chegam (falha ou prazo esgotado): últimos
+     * indicadores conhecidos da unidade ou, na falta deles, os valores padrão.
+     */
+    private IndicadoresResolvidos ultimosConhecidosOuPadrao(UUID unidadeId) {
+        try {
+            return liveOpsServicePort.buscarUltimosIndicadoresConhecidos(unidadeId)
+                .filter(dto -> dto.tmaPorRisco() != null)
+                .map(dto -> new IndicadoresResolvidos(toIndicadoresOperacionais(dto), ProcedenciaIndicadores.STALE))
+                .orElse(IndicadoresResolvidos.PADRAO);
+        } catch (Exception e) {
+            log.debug("Sem últimos indicadores conhecidos da unidade {}: {}", unidadeId, e.getMessage());
+            return IndicadoresResolvidos.PADRAO;
+        }
+    }
+
+    /**
+     * Como {@link #ultimosConhecidosOuPadrao(UUID)} para várias unidades, com uma única leitura.
+     */
+    private Map<UUID, IndicadoresResolvidos> ultimosConhecidosOuPadrao(List<UUID> unidadeIds) {
+        if (unidadeIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, IndicadoresDTO> conhecidos;
+        try {
+            conhecidos = liveOpsServicePort.buscarUltimosIndicadoresConhecidos(unidadeIds);
+        } catch (Exception e) {
+            log.debug("Sem últimos indicadores conhecidos de {} unidades: {}", unidadeIds.size(), e.getMessage());
+            conhecidos = Map.of();
+        }
+        Map<UUID, IndicadoresResolvidos> resultado = new HashMap<>();
+        for (UUID unidadeId : unidadeIds) {
+            IndicadoresDTO dto = conhecidos != null ? conhecidos.get(unidadeId) : null;
+            resultado.put(unidadeId, dto != null && dto.tmaPorRisco() != null
+                ? new IndicadoresResolvidos(toIndicadoresOperacionais(dto), ProcedenciaIndicadores.STALE)
+                : IndicadoresResolvidos.PADRAO);
+        }
+        return resultado;
+    }
+
+    private IndicadoresResolvidos resolver(IndicadoresDTO indicadoresDTO) {
+        return new IndicadoresResolvidos(toIndicadoresOperacionais(indicadoresDTO), indicadoresDTO.procedencia());
+    }
+
+    private IndicadoresOperacionais toIndicadoresOperacionais(IndicadoresDTO indicadoresDTO) {
+        return IndicadoresOperacionais.fromMap(
+            indicadoresDTO.tmaPorRisco(),
+            indicadoresDTO.ocupacaoAtual(),
+            indicadoresDTO.pacientesEmEspera(),
+            indicadoresDTO.capacidadeNominal()
+        );
+    }
+
+    /**
+     * Buscas de indicadores iniciadas a cada página de unidades recebida do Network Service, antes
+     * de a última página chegar. Cada busca usa o mesmo caminho em lote de {@link #buscarIndicadores}.
+     */
+    private final class IndicadoresAntecipados implements AutoCloseable {
+
+        private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        private final Set<UUID> solicitadas = new HashSet<>();
+        private final List<Future<Map<UUID, IndicadoresResolvidos>>> buscas = new ArrayList<>();
+
+        void aoReceberPagina(List<UnidadeSaudeDTO> pagina) {
+            List<UUID> novas = pagina.stream()
+                .map(UnidadeSaudeDTO::id)
+                .filter(id -> id != null && solicitadas.add(id))
+                .toList();
+            if (!novas.isEmpty() && !ContextoConsulta.expirado()) {
+                buscas.add(executor.submit(ContextoConsulta.propagar(() -> buscarIndicadores(novas))));
+            }
+        }
+
+        /**
+         * Indicadores das buscas antecipadas que terminaram dentro do prazo; as unidades que faltarem
+         * seguem o caminho normal.
+         */
+        Map<UUID, IndicadoresResolvidos> aguardar() {
+            Map<UUID, IndicadoresResolvidos> resultado = new HashMap<>();
+            for (Future<Map<UUID, IndicadoresResolvidos>> busca : buscas) {
+                try {
+                    var restante = ContextoConsulta.tempoRestante();
+                    resultado.putAll(restante.isPresent()
+                        ? busca.get(restante.get().toNanos(), TimeUnit.NANOSECONDS)
+                        : busca.get());
+                } catch (TimeoutException | ExecutionException e) {
+                    log.warn("Busca antecipada de indicadores não concluída: {}", e.getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new BusinessException("CONTEXT_BUILD_ERROR",
+                        "Consulta interrompida durante a busca de indicadores.", e);
+                }
+            }
+            return resultado;
+        }
+
+        @Override
+        public void close() {
+            buscas.forEach(busca -> busca.cancel(true));
+            executor.close();
+        }
+    }
+
+    /**
+     * Resultado compartilhado com as consultas idênticas: se foi calculado com indicadores defasados
+     * ou padrão, e com qual prazo.
+     */
+    private record ConsultaProcessada(List<SugestaoOrdenada> sugestoes, boolean parcial, Deadline deadline) {}
+
+    private record UnidadeComDistancia(UnidadeSaudeDTO dto, double distanciaKm) {}
+
+    private record IndicadoresResolvidos(IndicadoresOperacionais indicadores, ProcedenciaIndicadores procedencia) {
+        static final IndicadoresResolvidos PADRAO =
+            new IndicadoresResolvidos(IndicadoresOperacionais.padrao(), ProcedenciaIndicadores.DEFAULT);
     }
 }
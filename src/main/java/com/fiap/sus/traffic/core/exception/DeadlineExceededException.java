@@ -0,0 +1,19 @@
+package com.fiap.sus.traffic.core.exception;
+
+/**
+ * Exceção lançada quando o prazo da consulta se esgota antes de uma etapa do pipeline.
+ */
+public class DeadlineExceededException extends BusinessException {
+
+    private final String etapa;
+
+    public DeadlineExceededException(String etapa) {
+        super("DEADLINE_EXCEEDED",
+            String.format("Prazo da consulta esgotado em: %s. Tente novamente.", etapa));
+        this.etapa = etapa;
+    }
+
+    public String getEtapa() {
+        return etapa;
+    }
+}
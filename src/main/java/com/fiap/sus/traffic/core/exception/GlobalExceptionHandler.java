@@ -318,6 +318,9 @@ public class GlobalExceptionHandler {
         if (e instanceof ValidationException) {
             return HttpStatus.BAD_REQUEST;
         }
+        if (e instanceof DeadlineExceededException) {
+            return HttpStatus.GATEWAY_TIMEOUT;
+        }
         if (e instanceof ExternalServiceException) {
             ExternalServiceException externalEx = (ExternalServiceException) e;
             if (externalEx.getStatusCode() > 0) {
@@ -0,0 +1,12 @@
+package com.fiap.sus.traffic.core.exception;
+
+/**
+ * Exceção lançada quando uma chamada a um serviço externo é recusada localmente porque o limite
+ * de chamadas simultâneas para aquele serviço foi atingido.
+ */
+public class LimiteConcorrenciaExcedidoException extends ExternalServiceException {
+
+    public LimiteConcorrenciaExcedidoException(String serviceName, int limite) {
+        super(serviceName, String.format("limite de %d chamadas simultâneas atingido", limite), 503);
+    }
+}
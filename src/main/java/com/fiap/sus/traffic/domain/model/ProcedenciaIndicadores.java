@@ -0,0 +1,13 @@
+package com.fiap.sus.traffic.domain.model;
+
+/**
+ * Procedência dos indicadores operacionais usados no cálculo de uma sugestão.
+ */
+public enum ProcedenciaIndicadores {
+    /** Indicadores atuais (LiveOps, cache dentro do TTL ou stream). */
+    LIVE,
+    /** Últimos indicadores conhecidos, já expirados ou usados porque o LiveOps não respondeu no prazo. */
+    STALE,
+    /** Sem indicadores da unidade: valores padrão conservadores. */
+    DEFAULT
+}
@@ -8,8 +8,18 @@ public record SugestaoOrdenada(
     double scoreFinal,
     double distanciaKm,
     int tempoEstimadoMinutos,
-    String razao
+    String razao,
+    ProcedenciaIndicadores procedenciaIndicadores
 ) {
+    public SugestaoOrdenada(UUID unidadeId,
+                            String nome,
+                            double scoreFinal,
+                            double distanciaKm,
+                            int tempoEstimadoMinutos,
+                            String razao) {
+        this(unidadeId, nome, scoreFinal, distanciaKm, tempoEstimadoMinutos, razao, ProcedenciaIndicadores.LIVE);
+    }
+
     public SugestaoOrdenada {
         if (unidadeId == null) {
             throw new IllegalArgumentException("unidadeId não pode ser nulo");
@@ -29,5 +39,8 @@ public record SugestaoOrdenada(
         if (razao == null) {
             razao = "";
         }
+        if (procedenciaIndicadores == null) {
+            procedenciaIndicadores = ProcedenciaIndicadores.LIVE;  // sugestões em cache anteriores à procedência
+        }
     }
 }
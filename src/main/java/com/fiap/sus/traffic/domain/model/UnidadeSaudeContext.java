@@ -10,8 +10,19 @@ public record UnidadeSaudeContext(
     Double longitude,
     List<String> especialidades,
     IndicadoresOperacionais indicadores,
-    Double distanciaKm
+    Double distanciaKm,
+    ProcedenciaIndicadores procedencia
 ) {
+    public UnidadeSaudeContext(UUID unidadeId,
+                               String nome,
+                               Double latitude,
+                               Double longitude,
+                               List<String> especialidades,
+                               IndicadoresOperacionais indicadores,
+                               Double distanciaKm) {
+        this(unidadeId, nome, latitude, longitude, especialidades, indicadores, distanciaKm, null);
+    }
+
     public UnidadeSaudeContext {
         if (unidadeId == null) {
             throw new IllegalArgumentException("unidadeId não pode ser nulo");
@@ -31,6 +42,10 @@ public record UnidadeSaudeContext(
         }
         if (indicadores == null) {
             indicadores = IndicadoresOperacionais.padrao();
+            procedencia = ProcedenciaIndicadores.DEFAULT;
+        }
+        if (procedencia == null) {
+            procedencia = ProcedenciaIndicadores.LIVE;
         }
         if (distanciaKm == null) {
             throw new IllegalArgumentException("distanciaKm é obrigatória e deve vir do Network Service");
@@ -51,6 +51,36 @@ public class AlgoritmoDirecionamentoService {
         return sugestoes;
     }
 
+    /**
+     * Maior score final que uma unidade ainda sem indicadores pode atingir: o score de distância é
+     * exato (depende só das distâncias, já conhecidas) e TMA, ocupação e especialidade são tomados
+     * no valor máximo. Como o score de distância cai com a distância, o limite também cai.
+     *
+     * @param maxDistanciaKm maior distância entre todas as candidatas da consulta
+     */
+    public double limiteSuperiorScore(double distanciaKm, double maxDistanciaKm, CriterioPeso pesos) {
+        double scoreDistancia = maxDistanciaKm == 0
+            ? 1.0
+            : Math.max(0.0, Math.min(1.0, 1.0 - (distanciaKm / maxDistanciaKm)));
+        double limite = (pesos.pesoDistancia() * scoreDistancia) +
+                        pesos.pesoTMA() +
+                        pesos.pesoOcupacao() +
+                        pesos.pesoEspecialidade();
+        return Math.min(1.0, limite);
+    }
+
+    /**
+     * Indica se as {@code maxSugestoes} melhores sugestões já estão definidas. Os scores calculados
+     * sobre um subconjunto das candidatas nunca superam os scores sobre o conjunto completo (os
+     * máximos usados na normalização só crescem), então basta que a k-ésima sugestão parcial
+     * alcance o maior limite superior entre as unidades ainda não avaliadas.
+     */
+    public boolean topKDefinido(List<SugestaoOrdenada> sugestoesParciais, int maxSugestoes,
+                                double maiorLimiteRestante) {
+        return sugestoesParciais.size() >= maxSugestoes
+            && sugestoesParciais.get(maxSugestoes - 1).scoreFinal() >= maiorLimiteRestante;
+    }
+
     private SugestaoOrdenada calcularScoreFinal(
             UnidadeSaudeContext unidade,
             List<UnidadeSaudeContext> todasUnidades,
@@ -83,7 +113,8 @@ public class AlgoritmoDirecionamentoService {
             scoreFinal,
             unidade.distanciaKm(),
             tempoEstimado,
-            razao
+            razao,
+            unidade.procedencia()
         );
     }
 
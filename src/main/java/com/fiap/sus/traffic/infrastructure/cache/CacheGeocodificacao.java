@@ -0,0 +1,94 @@
+package com.fiap.sus.traffic.infrastructure.cache;
+
+import com.fiap.sus.traffic.application.port.CachePort;
+import com.fiap.sus.traffic.infrastructure.client.dto.CoordenadasDTO;
+import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache de longa duração das coordenadas de cada endereço (já normalizado pelo NetworkServiceAdapter),
+ * em dois níveis: LRU em memória e Redis. A chave não inclui o raio, então uma nova busca a partir de
+ * um endereço conhecido não geocodifica de novo.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheGeocodificacao {
+
+    private final CachePort cachePort;
+    private final TrafficIntelligenceProperties properties;
+
+    private final Map<String, Registro> locais = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Registro> maisAntiga) {
+            return size() > properties.getCache().getMaxGeocodificacoesLocais();
+        }
+    };
+
+    /**
+     * Coordenadas do endereço: primeiro o nível em memória, depois o Redis (que alimenta o nível em memória).
+     */
+    public Optional<CoordenadasDTO> buscar(String endereco) {
+        String chave = CacheKeyGenerator.geocodificacaoKey(endereco);
+        Instant agora = Instant.now();
+        synchronized (locais) {
+            Registro registro = locais.get(chave);
+            if (registro != null) {
+                if (registro.expiraEm().isAfter(agora)) {
+                    return Optional.of(registro.coordenadas());
+                }
+                locais.remove(chave);
+            }
+        }
+
+        Optional<CoordenadasDTO> doRedis = cachePort.get(chave, CoordenadasDTO.class)
+            .filter(CacheGeocodificacao::completas);
+        // O TTL restante no Redis não é lido: o nível em memória usa o TTL cheio, limitado pelo LRU
+        doRedis.ifPresent(coordenadas -> guardarLocal(chave, coordenadas, agora));
+        return doRedis;
+    }
+
+    /**
+     * Guarda as coordenadas geocodificadas do endereço nos dois níveis. Resultados sem coordenadas
+     * não são guardados.
+     */
+    public void guardar(String endereco, CoordenadasDTO coordenadas) {
+        if (!completas(coordenadas)) {
+            return;
+        }
+        String chave = CacheKeyGenerator.geocodificacaoKey(endereco);
+        guardarLocal(chave, coordenadas, Instant.now());
+        cachePort.put(chave, coordenadas, ttl().getSeconds());
+        log.debug("Coordenadas do endereço guardadas no cache: {}", chave);
+    }
+
+    public int tamanhoLocal() {
+        synchronized (locais) {
+            return locais.size();
+        }
+    }
+
+    private void guardarLocal(String chave, CoordenadasDTO coordenadas, Instant agora) {
+        synchronized (locais) {
+            locais.put(chave, new Registro(coordenadas, agora.plus(ttl())));
+        }
+    }
+
+    private Duration ttl() {
+        return properties.getCache().getTtlGeocodificacao();
+    }
+
+    private static boolean completas(CoordenadasDTO coordenadas) {
+        return coordenadas != null && coordenadas.latitude() != null && coordenadas.longitude() != null;
+    }
+
+    private record Registro(CoordenadasDTO coordenadas, Instant expiraEm) {}
+}
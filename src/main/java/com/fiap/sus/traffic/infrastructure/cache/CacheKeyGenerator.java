@@ -10,8 +10,11 @@ public class CacheKeyGenerator {
     private static final String PREFIX = "traffic:intelligence";
     private static final String INDICADORES = "indicadores";
     private static final String UNIDADES = "unidades";
+    private static final String UNIDADES_RAIOS = "unidades-raios";
     private static final String PESOS = "pesos";
     private static final String SUGESTOES = "sugestoes";
+    private static final String GEOCODIFICACAO = "geocodificacao";
+    private static final String GEOCELULA = "geocelula:";
 
     public static String indicadoresKey(UUID unidadeId) {
         return String.format("%s:%s:%s", PREFIX, INDICADORES, unidadeId);
@@ -30,6 +33,14 @@ public class CacheKeyGenerator {
             PREFIX, UNIDADES, normalizedAddress, normalizedRadius, distanceUnit != null ? distanceUnit.toUpperCase() : "KM");
     }
 
+    /**
+     * Gera chave do índice de raios das listas de unidades em cache de um endereço
+     * (ver {@link IndiceRaiosUnidades}).
+     */
+    public static String unidadesRaiosKey(String baseAddress) {
+        return String.format("%s:%s:%s", PREFIX, UNIDADES_RAIOS, normalizeAddress(baseAddress));
+    }
+
     /**
      * Gera chave de cache para sugestões de direcionamento.
      * Inclui todos os parâmetros que afetam o resultado final.
@@ -46,6 +57,22 @@ public class CacheKeyGenerator {
             PREFIX, SUGESTOES, normalizedAddress, risk, esp, normalizedRadius, unit);
     }
 
+    /**
+     * Gera chave de cache para sugestões de direcionamento a partir da célula geohash do endereço
+     * (ver {@code cache.chave-geocelula}), compartilhada por todos os endereços da mesma célula.
+     */
+    public static String sugestoesGeocelulaKey(String geohash, String riskClassification, String especialidade, Double radius, String distanceUnit) {
+        return sugestoesKey(GEOCELULA + geohash, riskClassification, especialidade, radius, distanceUnit);
+    }
+
+    /**
+     * Gera chave de cache para as coordenadas de um endereço. Não inclui raio nem unidade de
+     * distância: a mesma geocodificação serve para qualquer busca a partir do endereço.
+     */
+    public static String geocodificacaoKey(String baseAddress) {
+        return String.format("%s:%s:%s", PREFIX, GEOCODIFICACAO, normalizeAddress(baseAddress));
+    }
+
     public static String pesosKey() {
         return String.format("%s:%s", PREFIX, PESOS);
     }
@@ -0,0 +1,53 @@
+package com.fiap.sus.traffic.infrastructure.cache;
+
+import com.fiap.sus.traffic.application.dto.IndicadoresDTO;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Indicadores como armazenados no cache, com expiração "soft".
+ * Depois de {@code revalidarApos} o valor ainda é servido, mas deve ser revalidado em segundo plano;
+ * a expiração "hard" é o TTL da chave no Redis. O {@code etag} da resposta do LiveOps (quando houver)
+ * permite revalidar com um GET condicional em vez de baixar e mapear os indicadores de novo.
+ */
+public record IndicadoresCacheEntry(
+    IndicadoresDTO indicadores,
+    Instant revalidarApos,
+    String etag
+) {
+
+    public IndicadoresCacheEntry(IndicadoresDTO indicadores, Instant revalidarApos) {
+        this(indicadores, revalidarApos, null);
+    }
+
+    public static IndicadoresCacheEntry novo(IndicadoresDTO indicadores, Duration ttlSoft) {
+        return novo(indicadores, ttlSoft, null);
+    }
+
+    public static IndicadoresCacheEntry novo(IndicadoresDTO indicadores, Duration ttlSoft, String etag) {
+        return new IndicadoresCacheEntry(indicadores, Instant.now().plus(ttlSoft), etag);
+    }
+
+    /**
+     * Mesma entrada com a expiração soft renovada, usada quando o LiveOps confirma (304) que os
+     * indicadores não mudaram.
+     */
+    public IndicadoresCacheEntry renovada(Duration ttlSoft) {
+        return new IndicadoresCacheEntry(indicadores, Instant.now().plus(ttlSoft), etag);
+    }
+
+    /**
+     * Indica se a entrada passou da expiração soft e deve ser revalidada.
+     */
+    public boolean precisaRevalidar(Instant agora) {
+        return revalidarApos == null || agora.isAfter(revalidarApos);
+    }
+
+    /**
+     * Entradas antigas (gravadas antes do envelope) ou incompletas não são aproveitadas.
+     */
+    public boolean valida() {
+        return indicadores != null && indicadores.tmaPorRisco() != null;
+    }
+}
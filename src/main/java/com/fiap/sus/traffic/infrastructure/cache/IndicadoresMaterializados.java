@@ -0,0 +1,114 @@
+package com.fiap.sus.traffic.infrastructure.cache;
+
+import com.fiap.sus.traffic.application.dto.IndicadoresDTO;
+import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Visão em memória dos indicadores de cada unidade, alimentada pelos eventos de mudança publicados
+ * pelo LiveOps (Redis Stream) e pelas buscas HTTP. Leituras não dependem da disponibilidade do LiveOps.
+ *
+ * Cada registro tem a versão dos dados (timestamp do evento no stream, ou início da busca HTTP), e
+ * um registro nunca é substituído por uma versão anterior, mesmo que chegue depois. Um registro vale
+ * enquanto for mais novo que a idade máxima ou enquanto o stream estiver ativo desde antes de ele
+ * chegar: sem eventos, a unidade não mudou. Com o stream parado, os registros envelhecem e voltam a
+ * ser buscados via HTTP. A visão guarda no máximo {@code stream.max-unidades} unidades (LRU).
+ */
+@Component
+@RequiredArgsConstructor
+public class IndicadoresMaterializados {
+
+    private final TrafficIntelligenceProperties properties;
+
+    private final Map<UUID, Registro> indicadores = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Registro> maisAntiga) {
+            return size() > properties.getLiveopsService().getStream().getMaxUnidades();
+        }
+    };
+
+    private volatile Instant ultimoEventoEm = Instant.MIN;
+
+    /**
+     * Início do trecho atual de eventos sem interrupção maior que a idade máxima; registros anteriores
+     * podem ter perdido eventos enquanto o stream estava parado.
+     */
+    private volatile Instant streamContinuoDesde = Instant.MAX;
+
+    /**
+     * Atualiza os indicadores da unidade com o resultado de uma busca HTTP iniciada em {@code versao},
+     * a menos que já exista um registro de versão mais recente.
+     */
+    public void atualizar(IndicadoresDTO dto, Instant versao) {
+        guardar(dto, versao, Instant.now());
+    }
+
+    /**
+     * Atualiza os indicadores da unidade com um evento do stream publicado em {@code versao}, a menos
+     * que já exista um registro de versão mais recente, e marca o stream como ativo.
+     */
+    public void registrarEvento(IndicadoresDTO dto, Instant versao) {
+        Instant agora = Instant.now();
+        if (ultimoEventoEm.isBefore(agora.minus(properties.getLiveopsService().getStream().getIdadeMaxima()))) {
+            streamContinuoDesde = agora;
+        }
+        ultimoEventoEm = agora;
+        guardar(dto, versao, agora);
+    }
+
+    private void guardar(IndicadoresDTO dto, Instant versao, Instant recebidoEm) {
+        if (dto == null || dto.unidadeId() == null || dto.tmaPorRisco() == null) {
+            return;
+        }
+        synchronized (indicadores) {
+            indicadores.merge(dto.unidadeId(), new Registro(dto, versao, recebidoEm),
+                (atual, novo) -> novo.versao().isBefore(atual.versao()) ? atual : novo);
+        }
+    }
+
+    /**
+     * Indicadores da unidade, se o registro tiver no máximo {@code idadeMaxima} ou estiver coberto
+     * pelo stream ativo.
+     */
+    public Optional<IndicadoresDTO> buscar(UUID unidadeId, Duration idadeMaxima) {
+        Registro registro = registro(unidadeId);
+        if (registro == null) {
+            return Optional.empty();
+        }
+        Instant limite = Instant.now().minus(idadeMaxima);
+        boolean recente = !registro.versao().isBefore(limite);
+        boolean cobertoPeloStream = !ultimoEventoEm.isBefore(limite)
+            && !registro.recebidoEm().isBefore(streamContinuoDesde);
+        return recente || cobertoPeloStream ? Optional.of(registro.indicadores()) : Optional.empty();
+    }
+
+    /**
+     * Último registro da unidade, independentemente da idade. Fallback quando os indicadores atuais
+     * não podem ser obtidos.
+     */
+    public Optional<IndicadoresDTO> buscarUltimo(UUID unidadeId) {
+        return Optional.ofNullable(registro(unidadeId)).map(Registro::indicadores);
+    }
+
+    public int tamanho() {
+        synchronized (indicadores) {
+            return indicadores.size();
+        }
+    }
+
+    private Registro registro(UUID unidadeId) {
+        synchronized (indicadores) {
+            return indicadores.get(unidadeId);
+        }
+    }
+
+    private record Registro(IndicadoresDTO indicadores, Instant versao, Instant recebidoEm) {}
+}
@@ -0,0 +1,72 @@
+package com.fiap.sus.traffic.infrastructure.cache;
+
+import com.fiap.sus.traffic.application.port.CachePort;
+import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Índice, por endereço, das listas de unidades em cache e seus raios (em km). Guardado no Redis ao lado
+ * das listas, para que qualquer instância encontre uma lista de raio maior do mesmo endereço e a
+ * filtre localmente em vez de chamar o Network Service.
+ *
+ * Só entram no índice listas completas e não truncadas pelo limite de unidades da busca: de uma lista
+ * truncada não dá para saber se faltam unidades dentro do raio menor.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IndiceRaiosUnidades {
+
+    private final CachePort cachePort;
+    private final TrafficIntelligenceProperties properties;
+
+    /**
+     * Registra a lista guardada em {@code chave} com o raio informado. Entradas expiradas saem do índice.
+     * Escritas concorrentes no mesmo endereço podem perder uma entrada; o efeito é só um cache miss.
+     */
+    public void registrar(String baseAddress, double raioKm, String chave) {
+        String chaveIndice = CacheKeyGenerator.unidadesRaiosKey(baseAddress);
+        Duration ttl = properties.getCache().getTtlUnidades();
+        Instant agora = Instant.now();
+
+        List<Entrada> entradas = new ArrayList<>();
+        ler(chaveIndice).stream()
+            .filter(entrada -> entrada.expiraEm().isAfter(agora) && !entrada.chave().equals(chave))
+            .forEach(entradas::add);
+        entradas.add(new Entrada(raioKm, chave, agora.plus(ttl)));
+        entradas.sort(Comparator.comparingDouble(Entrada::raioKm));
+
+        cachePort.put(chaveIndice, new RaiosEmCache(entradas), ttl.getSeconds());
+    }
+
+    /**
+     * Chaves das listas em cache do endereço com raio maior ou igual a {@code raioKm}, da menor para a maior.
+     */
+    public List<String> chavesComRaioMaior(String baseAddress, double raioKm) {
+        Instant agora = Instant.now();
+        return ler(CacheKeyGenerator.unidadesRaiosKey(baseAddress)).stream()
+            .filter(entrada -> entrada.raioKm() >= raioKm && entrada.expiraEm().isAfter(agora))
+            .sorted(Comparator.comparingDouble(Entrada::raioKm))
+            .map(Entrada::chave)
+            .toList();
+    }
+
+    private List<Entrada> ler(String chaveIndice) {
+        return cachePort.get(chaveIndice, RaiosEmCache.class)
+            .map(RaiosEmCache::entradas)
+            .filter(entradas -> entradas != null)
+            .orElse(List.of());
+    }
+
+    public record RaiosEmCache(List<Entrada> entradas) {}
+
+    public record Entrada(double raioKm, String chave, Instant expiraEm) {}
+}
@@ -1,14 +1,22 @@
 package com.fiap.sus.traffic.infrastructure.cache;
 
 import com.fiap.sus.traffic.application.port.CachePort;
+import com.fiap.sus.traffic.shared.context.ContextoConsulta;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,9 +27,19 @@ public class RedisCacheAdapter implements CachePort {
 
     private final RedisTemplate<String, Object> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final BulkheadRegistry bulkheadRegistry;
+
+    /**
+     * Bulkhead do Redis: limita as operações simultâneas para que um Redis lento não prenda as
+     * threads das requisições (ver resilience4j.bulkhead.instances.redis).
+     */
+    static final String BULKHEAD = "redis";
 
     @Override
     public <T> Optional<T> get(String key, Class<T> type) {
+        if (recusada("get", key)) {
+            return Optional.empty();
+        }
         try {
             Object value = redisTemplate.opsForValue().get(key);
             if (value == null) {
@@ -35,16 +53,23 @@ public class RedisCacheAdapter implements CachePort {
         } catch (Exception e) {
             log.error("❌ Erro ao buscar do cache: {}", key, e);
             return Optional.empty();
+        } finally {
+            liberar();
         }
     }
 
     @Override
     public <T> void put(String key, T value, long ttlSeconds) {
+        if (recusada("put", key)) {
+            return;
+        }
         try {
             redisTemplate.opsForValue().set(key, value, Duration.ofSeconds(ttlSeconds));
             log.debug("Valor armazenado no cache: {} (TTL: {}s)", key, ttlSeconds);
         } catch (Exception e) {
             log.error("Erro ao armazenar no cache: {}", key, e);
+        } finally {
+            liberar();
         }
     }
 
@@ -80,8 +105,86 @@ public class RedisCacheAdapter implements CachePort {
         put(key, value, ttlSeconds);
     }
 
+    /**
+     * Lê os indicadores de todas as unidades com um único MGET.
+     * Entradas ausentes ou que não puderem ser convertidas ficam fora do mapa.
+     */
+    @Override
+    public <T> Map<UUID, T> getIndicadoresEmLote(Collection<UUID> unidadeIds, Class<T> type) {
+        if (unidadeIds == null || unidadeIds.isEmpty()) {
+            return Map.of();
+        }
+
+        List<UUID> ids = List.copyOf(unidadeIds);
+        if (recusada("mget", ids.size() + " chaves")) {
+            return Map.of();
+        }
+
+        try {
+            List<Object> values = redisTemplate.opsForValue().multiGet(
+                ids.stream().map(CacheKeyGenerator::indicadoresKey).toList()
+            );
+            if (values == null) {
+                return Map.of();
+            }
+
+            Map<UUID, T> result = new HashMap<>();
+            for (int i = 0; i < ids.size() && i < values.size(); i++) {
+                Object value = values.get(i);
+                if (value == null) {
+                    continue;
+                }
+                try {
+                    result.put(ids.get(i), objectMapper.convertValue(value, type));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Valor de cache inválido para indicadores da unidade {}: {}", ids.get(i), e.getMessage());
+                }
+            }
+
+            log.debug("MGET de indicadores: {} hits de {} chaves", result.size(), ids.size());
+            return result;
+        } catch (Exception e) {
+            log.error("❌ Erro ao buscar indicadores em lote do cache ({} chaves)", ids.size(), e);
+            return Map.of();
+        } finally {
+            liberar();
+        }
+    }
+
+    /**
+     * Grava os indicadores de várias unidades em um único pipeline (SET com TTL por chave).
+     */
+    @Override
+    public <T> void putIndicadoresEmLote(Map<UUID, T> values, long ttlSeconds) {
+        if (values == null || values.isEmpty() || recusada("pipeline", values.size() + " chaves")) {
+            return;
+        }
+
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    values.forEach((unidadeId, value) ->
+                        ops.opsForValue().set(CacheKeyGenerator.indicadoresKey(unidadeId), value, ttl));
+                    return null;
+                }
+            });
+            log.debug("{} indicadores armazenados no cache em pipeline (TTL: {}s)", values.size(), ttlSeconds);
+        } catch (Exception e) {
+            log.error("Erro ao armazenar indicadores em lote no cache ({} chaves)", values.size(), e);
+        } finally {
+            liberar();
+        }
+    }
+
     @Override
     public <T> Optional<List<T>> getUnidades(String key, Class<T> type) {
+        if (recusada("get", key)) {
+            return Optional.empty();
+        }
         try {
             Object value = redisTemplate.opsForValue().get(key);
             if (value == null) {
@@ -96,6 +199,8 @@ public class RedisCacheAdapter implements CachePort {
         } catch (Exception e) {
             log.error("❌ Erro ao buscar lista do cache: {}", key, e);
             return Optional.empty();
+        } finally {
+            liberar();
         }
     }
 
@@ -113,4 +218,39 @@ public class RedisCacheAdapter implements CachePort {
     public <T> void putSugestoes(String key, List<T> value, long ttlSeconds) {
         putUnidades(key, value, ttlSeconds); // Reutiliza a mesma lógica
     }
+
+    /**
+     * Reserva uma vaga no bulkhead do Redis para a operação. O cache é opcional para a consulta:
+     * sem prazo ou sem vaga a operação é pulada (cache miss / escrita ignorada). Quem obtém a vaga
+     * deve chamar {@link #liberar()} ao final.
+     */
+    private boolean recusada(String operacao, String alvo) {
+        if (prazoEsgotado(operacao, alvo)) {
+            return true;
+        }
+        if (!bulkhead().tryAcquirePermission()) {
+            log.warn("Bulkhead do Redis cheio. Operação de cache ignorada: {} {}", operacao, alvo);
+            return true;
+        }
+        return false;
+    }
+
+    private void liberar() {
+        bulkhead().onComplete();
+    }
+
+    private Bulkhead bulkhead() {
+        return bulkheadRegistry.bulkhead(BULKHEAD);
+    }
+
+    /**
+     * Com o prazo esgotado a operação é pulada em vez de arriscar o timeout do Redis.
+     */
+    private boolean prazoEsgotado(String operacao, String alvo) {
+        if (ContextoConsulta.expirado()) {
+            log.debug("Prazo da consulta esgotado. Operação de cache ignorada: {} {}", operacao, alvo);
+            return true;
+        }
+        return false;
+    }
 }
@@ -0,0 +1,121 @@
+package com.fiap.sus.traffic.infrastructure.cache;
+
+import com.fiap.sus.traffic.application.dto.IndicadoresDTO;
+import com.fiap.sus.traffic.domain.model.RiskClassification;
+import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.UUID;
+
+/**
+ * Quanto os indicadores de cada unidade mudam entre duas buscas consecutivas: média móvel
+ * exponencial da maior variação relativa do TMA por risco e da ocupação. Usada para escolher o TTL
+ * do cache de cada unidade (unidades estáveis são rebuscadas com menos frequência).
+ *
+ * Guarda por unidade só os números comparados (TMA por risco e ocupação) e a média, para no máximo
+ * {@code cache.ttl-adaptativo.max-unidades} unidades (LRU); uma unidade descartada volta a usar o
+ * TTL fixo até a segunda busca.
+ */
+@Component
+@RequiredArgsConstructor
+public class VolatilidadeIndicadores {
+
+    /**
+     * Peso da variação mais recente na média móvel.
+     */
+    private static final double PESO_AMOSTRA = 0.3;
+
+    private static final RiskClassification[] RISCOS = RiskClassification.values();
+
+    /**
+     * Marca de TMA não informado para o risco.
+     */
+    private static final int SEM_VALOR = Integer.MIN_VALUE;
+
+    private final TrafficIntelligenceProperties properties;
+
+    private final Map<UUID, Estado> estados = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Estado> maisAntigo) {
+            return size() > properties.getCache().getTtlAdaptativo().getMaxUnidades();
+        }
+    };
+
+    /**
+     * Registra os indicadores recém-buscados da unidade e devolve a volatilidade atualizada,
+     * ou vazio na primeira busca (sem valor anterior para comparar).
+     */
+    public OptionalDouble registrar(IndicadoresDTO indicadores) {
+        if (indicadores == null || indicadores.unidadeId() == null || indicadores.tmaPorRisco() == null) {
+            return OptionalDouble.empty();
+        }
+        Amostra atual = Amostra.de(indicadores);
+        Estado estado;
+        synchronized (estados) {
+            estado = estados.compute(indicadores.unidadeId(), (unidadeId, anterior) -> {
+                if (anterior == null) {
+                    return new Estado(atual, Double.NaN);
+                }
+                double variacao = variacao(anterior.amostra(), atual);
+                double volatilidade = Double.isNaN(anterior.volatilidade())
+                    ? variacao
+                    : PESO_AMOSTRA * variacao + (1 - PESO_AMOSTRA) * anterior.volatilidade();
+                return new Estado(atual, volatilidade);
+            });
+        }
+        return Double.isNaN(estado.volatilidade()) ? OptionalDouble.empty() : OptionalDouble.of(estado.volatilidade());
+    }
+
+    public int tamanho() {
+        synchronized (estados) {
+            return estados.size();
+        }
+    }
+
+    /**
+     * Maior variação relativa (limitada a 1) entre os TMAs por risco e a ocupação atual.
+     */
+    static double variacao(IndicadoresDTO anterior, IndicadoresDTO atual) {
+        return variacao(Amostra.de(anterior), Amostra.de(atual));
+    }
+
+    private static double variacao(Amostra anterior, Amostra atual) {
+        double maior = variacaoRelativa(anterior.ocupacao(), atual.ocupacao());
+        for (int risco = 0; risco < RISCOS.length; risco++) {
+            maior = Math.max(maior, variacaoRelativa(anterior.tmaPorRisco()[risco], atual.tmaPorRisco()[risco]));
+        }
+        return Math.min(1.0, maior);
+    }
+
+    private static double variacaoRelativa(int anterior, int atual) {
+        if (anterior == SEM_VALOR && atual == SEM_VALOR) {
+            return 0.0;
+        }
+        if (anterior == SEM_VALOR || atual == SEM_VALOR) {
+            return 1.0;
+        }
+        return Math.abs(atual - anterior) / (double) Math.max(Math.abs(anterior), 1);
+    }
+
+    /**
+     * Números de uma busca usados na comparação, indexados pelo ordinal do risco.
+     */
+    private record Amostra(int[] tmaPorRisco, int ocupacao) {
+
+        static Amostra de(IndicadoresDTO indicadores) {
+            int[] tma = new int[RISCOS.length];
+            for (RiskClassification risco : RISCOS) {
+                Integer valor = indicadores.tmaPorRisco().get(risco);
+                tma[risco.ordinal()] = valor != null ? valor : SEM_VALOR;
+            }
+            Integer ocupacao = indicadores.ocupacaoAtual();
+            return new Amostra(tma, ocupacao != null ? ocupacao : SEM_VALOR);
+        }
+    }
+
+    private record Estado(Amostra amostra, double volatilidade) {}
+}
@@ -0,0 +1,170 @@
+package com.fiap.sus.traffic.infrastructure.catalogo;
+
+import com.fiap.sus.traffic.application.dto.UnidadeSaudeDTO;
+import com.fiap.sus.traffic.infrastructure.catalogo.IndiceEspacialUnidades.UnidadeCatalogo;
+import com.fiap.sus.traffic.infrastructure.client.NetworkServiceClient;
+import com.fiap.sus.traffic.infrastructure.client.dto.PageResponseDTO;
+import com.fiap.sus.traffic.infrastructure.client.dto.UnidadeCatalogoDTO;
+import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import com.fiap.sus.traffic.shared.util.DistanceUtils;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Réplica local do catálogo de unidades do Network Service em um {@link IndiceEspacialUnidades}.
+ * Com ela a busca por raio e o cálculo das distâncias acontecem no processo; do Network Service
+ * só são necessárias a geocodificação do endereço e a sincronização periódica do catálogo.
+ *
+ * A sincronização lê o catálogo inteiro ({@code GET /units}, página a página) e troca o índice de uma
+ * vez. Se falhar, ou vier vazia, o índice anterior continua em uso.
+ *
+ * Com {@code catalogo-local.snapshot} configurado, cada sincronização grava um
+ * {@link SnapshotCatalogoUnidades} e a inicialização carrega o último snapshot: instâncias novas
+ * respondem buscas por raio antes de qualquer chamada ao Network Service.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogoUnidadesLocal {
+
+    private final NetworkServiceClient client;
+    private final TrafficIntelligenceProperties properties;
+
+    private final AtomicBoolean sincronizando = new AtomicBoolean();
+    private volatile IndiceEspacialUnidades indice = IndiceEspacialUnidades.vazio();
+
+    /**
+     * Carrega o snapshot do catálogo, se configurado. Snapshot ausente ou inválido só adia o catálogo
+     * para a primeira sincronização.
+     */
+    @PostConstruct
+    public void carregarSnapshot() {
+        Optional<Path> arquivo = arquivoSnapshot();
+        if (arquivo.isEmpty() || !Files.exists(arquivo.get())) {
+            return;
+        }
+        try {
+            SnapshotCatalogoUnidades.Snapshot snapshot = SnapshotCatalogoUnidades.ler(arquivo.get());
+            if (snapshot.unidades().isEmpty()) {
+                return;
+            }
+            indice = IndiceEspacialUnidades.construir(snapshot.unidades());
+            log.info("Catálogo local de unidades carregado do snapshot {}: {} unidades (gerado em {})",
+                arquivo.get(), snapshot.unidades().size(), snapshot.geradoEm());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Snapshot do catálogo de unidades ignorado ({}): {}", arquivo.get(), e.getMessage());
+        }
+    }
+
+    /**
+     * Se o catálogo local está habilitado e já foi carregado.
+     */
+    public boolean disponivel() {
+        return properties.getNetworkService().getCatalogoLocal().isHabilitado() && indice.tamanho() > 0;
+    }
+
+    /**
+     * Unidades a até {@code raioKm} das coordenadas, da mais próxima para a mais distante, com a
+     * distância já formatada em km (como a resposta do Network Service) e as coordenadas da unidade.
+     */
+    public List<UnidadeSaudeDTO> buscarProximas(double latitude, double longitude, double raioKm, int limite) {
+        return indice.buscar(latitude, longitude, raioKm, limite).stream()
+            .map(proxima -> new UnidadeSaudeDTO(
+                proxima.unidade().id(),
+                proxima.unidade().nome(),
+                null,
+                null,
+                List.of(),
+                DistanceUtils.formatarDistanciaKm(proxima.distanciaKm()),
+                proxima.unidade().latitude(),
+                proxima.unidade().longitude()))
+            .toList();
+    }
+
+    /**
+     * Dispara a sincronização em uma virtual thread, para não ocupar a thread do agendador
+     * (compartilhada com as outras tarefas) durante a leitura do catálogo inteiro.
+     */
+    @Scheduled(fixedDelayString = "${traffic.intelligence.network-service.catalogo-local.intervalo-sincronizacao:1h}")
+    public void agendarSincronizacao() {
+        if (properties.getNetworkService().getCatalogoLocal().isHabilitado()) {
+            Thread.ofVirtual().name("catalogo-unidades").start(this::sincronizar);
+        }
+    }
+
+    /**
+     * Lê o catálogo completo e substitui o índice. Ignora a chamada se outra sincronização está em andamento.
+     */
+    public void sincronizar() {
+        if (!sincronizando.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int tamanhoPagina = Math.max(1, properties.getNetworkService().getCatalogoLocal().getTamanhoPagina());
+            List<UnidadeCatalogo> unidades = new ArrayList<>();
+            int ignoradas = 0;
+            PageResponseDTO<UnidadeCatalogoDTO> pagina;
+            int numero = 0;
+            do {
+                pagina = client.listarUnidades(numero++, tamanhoPagina);
+                if (pagina == null) {
+                    break;
+                }
+                for (UnidadeCatalogoDTO unidade : pagina.getContent()) {
+                    if (unidade == null || unidade.id() == null || unidade.latitude() == null || unidade.longitude() == null) {
+                        ignoradas++;
+                    } else {
+                        unidades.add(new UnidadeCatalogo(unidade.id(), unidade.name(), unidade.latitude(), unidade.longitude()));
+                    }
+                }
+            } while (!pagina.last() && !pagina.getContent().isEmpty());
+
+            if (unidades.isEmpty()) {
+                log.warn("Catálogo de unidades vazio na sincronização. Mantendo índice atual ({} unidades).", indice.tamanho());
+                return;
+            }
+            indice = IndiceEspacialUnidades.construir(unidades);
+            log.info("Catálogo local de unidades sincronizado: {} unidades ({} sem coordenadas ignoradas)",
+                unidades.size(), ignoradas);
+            gravarSnapshot(unidades);
+        } catch (Exception e) {
+            log.warn("Erro ao sincronizar catálogo local de unidades. Mantendo índice atual ({} unidades): {}",
+                indice.tamanho(), e.getMessage());
+        } finally {
+            sincronizando.set(false);
+        }
+    }
+
+    private void gravarSnapshot(List<UnidadeCatalogo> unidades) {
+        Optional<Path> arquivo = arquivoSnapshot();
+        if (arquivo.isEmpty()) {
+            return;
+        }
+        try {
+            SnapshotCatalogoUnidades.gravar(arquivo.get(), unidades, Instant.now());
+            log.debug("Snapshot do catálogo de unidades gravado em {}", arquivo.get());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Erro ao gravar snapshot do catálogo de unidades em {}: {}", arquivo.get(), e.getMessage());
+        }
+    }
+
+    private Optional<Path> arquivoSnapshot() {
+        var config = properties.getNetworkService().getCatalogoLocal();
+        if (!config.isHabilitado() || config.getSnapshot() == null || config.getSnapshot().isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.of(Path.of(config.getSnapshot()));
+    }
+}
@@ -0,0 +1,123 @@
+package com.fiap.sus.traffic.infrastructure.catalogo;
+
+import com.fiap.sus.traffic.shared.util.DistanceUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Índice espacial imutável das unidades do catálogo: grade regular de latitude/longitude com células
+ * de {@value #TAMANHO_CELULA_GRAUS}°. A busca por raio visita só as células que cobrem o retângulo
+ * envolvente do círculo e filtra pela distância de Haversine
+ * ({@link DistanceUtils#calcularDistanciaKm}).
+ */
+public class IndiceEspacialUnidades {
+
+    /**
+     * Lado da célula (~5,5 km de latitude): um raio de 50 km visita algumas centenas de células.
+     */
+    static final double TAMANHO_CELULA_GRAUS = 0.05;
+
+    private static final double KM_POR_GRAU_LATITUDE = 111.32;
+    private static final int LINHAS = (int) Math.ceil(180 / TAMANHO_CELULA_GRAUS);
+    private static final int COLUNAS = (int) Math.ceil(360 / TAMANHO_CELULA_GRAUS);
+
+    private static final IndiceEspacialUnidades VAZIO = new IndiceEspacialUnidades(Map.of(), 0);
+
+    private final Map<Long, UnidadeCatalogo[]> celulas;
+    private final int tamanho;
+
+    private IndiceEspacialUnidades(Map<Long, UnidadeCatalogo[]> celulas, int tamanho) {
+        this.celulas = celulas;
+        this.tamanho = tamanho;
+    }
+
+    public static IndiceEspacialUnidades vazio() {
+        return VAZIO;
+    }
+
+    public static IndiceEspacialUnidades construir(Collection<UnidadeCatalogo> unidades) {
+        Map<Long, List<UnidadeCatalogo>> agrupadas = new HashMap<>();
+        for (UnidadeCatalogo unidade : unidades) {
+            long celula = celula(linha(unidade.latitude()), coluna(unidade.longitude()));
+            agrupadas.computeIfAbsent(celula, chave -> new ArrayList<>()).add(unidade);
+        }
+        Map<Long, UnidadeCatalogo[]> celulas = new HashMap<>(agrupadas.size() * 4 / 3 + 1);
+        agrupadas.forEach((celula, lista) -> celulas.put(celula, lista.toArray(UnidadeCatalogo[]::new)));
+        return new IndiceEspacialUnidades(celulas, unidades.size());
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Unidades a até {@code raioKm} do ponto, da mais próxima para a mais distante, no máximo {@code limite}.
+     */
+    public List<UnidadeProxima> buscar(double latitude, double longitude, double raioKm, int limite) {
+        if (tamanho == 0 || raioKm < 0 || limite <= 0) {
+            return List.of();
+        }
+        double deltaLatitude = raioKm / KM_POR_GRAU_LATITUDE;
+        double latitudeMinima = Math.max(-90, latitude - deltaLatitude);
+        double latitudeMaxima = Math.min(90, latitude + deltaLatitude);
+
+        // A longitude encolhe com o cosseno da latitude: usa a latitude do retângulo mais próxima do polo
+        double cosseno = Math.cos(Math.toRadians(Math.max(Math.abs(latitudeMinima), Math.abs(latitudeMaxima))));
+        double deltaLongitude = cosseno > 0 ? raioKm / (KM_POR_GRAU_LATITUDE * cosseno) : 360;
+        int colunaInicial;
+        int quantidadeColunas;
+        if (deltaLongitude >= 180) {
+            colunaInicial = 0;
+            quantidadeColunas = COLUNAS;
+        } else {
+            colunaInicial = coluna(longitude - deltaLongitude);
+            int colunaFinal = coluna(longitude + deltaLongitude);
+            // Retângulo que atravessa o antimeridiano dá a volta na grade
+            quantidadeColunas = Math.floorMod(colunaFinal - colunaInicial, COLUNAS) + 1;
+        }
+
+        List<UnidadeProxima> encontradas = new ArrayList<>();
+        for (int linha = linha(latitudeMinima); linha <= linha(latitudeMaxima); linha++) {
+            for (int deslocamento = 0; deslocamento < quantidadeColunas; deslocamento++) {
+                UnidadeCatalogo[] candidatas = celulas.get(celula(linha, (colunaInicial + deslocamento) % COLUNAS));
+                if (candidatas == null) {
+                    continue;
+                }
+                for (UnidadeCatalogo candidata : candidatas) {
+                    double distanciaKm = DistanceUtils.calcularDistanciaKm(
+                        latitude, longitude, candidata.latitude(), candidata.longitude());
+                    if (distanciaKm <= raioKm) {
+                        encontradas.add(new UnidadeProxima(candidata, distanciaKm));
+                    }
+                }
+            }
+        }
+        encontradas.sort(Comparator.comparingDouble(UnidadeProxima::distanciaKm));
+        return encontradas.size() > limite ? List.copyOf(encontradas.subList(0, limite)) : encontradas;
+    }
+
+    private static int linha(double latitude) {
+        return Math.min(LINHAS - 1, (int) Math.floor((latitude + 90) / TAMANHO_CELULA_GRAUS));
+    }
+
+    private static int coluna(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / TAMANHO_CELULA_GRAUS), COLUNAS);
+    }
+
+    private static long celula(int linha, int coluna) {
+        return (long) linha * COLUNAS + coluna;
+    }
+
+    /**
+     * Unidade do catálogo como guardada no índice (coordenadas primitivas).
+     */
+    public record UnidadeCatalogo(UUID id, String nome, double latitude, double longitude) {}
+
+    public record UnidadeProxima(UnidadeCatalogo unidade, double distanciaKm) {}
+}
@@ -0,0 +1,142 @@
+package com.fiap.sus.traffic.infrastructure.catalogo;
+
+import com.fiap.sus.traffic.infrastructure.catalogo.IndiceEspacialUnidades.UnidadeCatalogo;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Snapshot binário do catálogo local de unidades, gravado e lido por arquivo mapeado em memória.
+ * Uma instância nova carrega o catálogo do snapshot na inicialização e já responde buscas por raio
+ * antes da primeira sincronização com o Network Service.
+ *
+ * Formato (big-endian): cabeçalho de {@value #TAMANHO_CABECALHO} bytes (magic, versão, gerado em
+ * epoch millis, quantidade de registros, tamanho da área de nomes), registros de tamanho fixo
+ * ({@value #TAMANHO_REGISTRO} bytes: id, latitude, longitude, offset e tamanho do nome) e a área de
+ * nomes em UTF-8.
+ */
+public final class SnapshotCatalogoUnidades {
+
+    static final int MAGIC = 0x54494355;  // "TICU"
+    static final int VERSAO = 1;
+    static final int TAMANHO_CABECALHO = 24;
+    static final int TAMANHO_REGISTRO = 40;
+
+    private SnapshotCatalogoUnidades() {
+    }
+
+    /**
+     * Grava o snapshot em um arquivo temporário ao lado do destino e o move no lugar, para que
+     * leitores nunca vejam um snapshot pela metade.
+     */
+    public static void gravar(Path arquivo, Collection<UnidadeCatalogo> unidades, Instant geradoEm) throws IOException {
+        List<byte[]> nomes = new ArrayList<>(unidades.size());
+        long tamanhoNomes = 0;
+        for (UnidadeCatalogo unidade : unidades) {
+            byte[] nome = unidade.nome() != null ? unidade.nome().getBytes(StandardCharsets.UTF_8) : null;
+            nomes.add(nome);
+            tamanhoNomes += nome != null ? nome.length : 0;
+        }
+        long tamanho = TAMANHO_CABECALHO + (long) TAMANHO_REGISTRO * unidades.size() + tamanhoNomes;
+        if (tamanho > Integer.MAX_VALUE) {
+            throw new IOException("Catálogo grande demais para um snapshot: " + tamanho + " bytes");
+        }
+
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanho);
+            buffer.putInt(MAGIC)
+                .putInt(VERSAO)
+                .putLong(geradoEm.toEpochMilli())
+                .putInt(unidades.size())
+                .putInt((int) tamanhoNomes);
+
+            int inicioNomes = TAMANHO_CABECALHO + TAMANHO_REGISTRO * unidades.size();
+            int offsetNome = 0;
+            int indice = 0;
+            for (UnidadeCatalogo unidade : unidades) {
+                byte[] nome = nomes.get(indice++);
+                buffer.putLong(unidade.id().getMostSignificantBits())
+                    .putLong(unidade.id().getLeastSignificantBits())
+                    .putDouble(unidade.latitude())
+                    .putDouble(unidade.longitude())
+                    .putInt(offsetNome)
+                    .putInt(nome != null ? nome.length : -1);
+                if (nome != null) {
+                    buffer.put(inicioNomes + offsetNome, nome);
+                    offsetNome += nome.length;
+                }
+            }
+            buffer.force();
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Lê o snapshot mapeando o arquivo em memória (sem cópia para buffers intermediários).
+     *
+     * @throws IOException se o arquivo não for um snapshot válido desta versão
+     */
+    public static Snapshot ler(Path arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            if (tamanho < TAMANHO_CABECALHO || tamanho > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot do catálogo com tamanho inválido: " + tamanho + " bytes");
+            }
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Arquivo não é um snapshot do catálogo de unidades: " + arquivo);
+            }
+            int versao = buffer.getInt();
+            if (versao != VERSAO) {
+                throw new IOException("Versão do snapshot do catálogo não suportada: " + versao);
+            }
+            Instant geradoEm = Instant.ofEpochMilli(buffer.getLong());
+            int quantidade = buffer.getInt();
+            int tamanhoNomes = buffer.getInt();
+            if (quantidade < 0 || tamanhoNomes < 0
+                    || tamanho != TAMANHO_CABECALHO + (long) TAMANHO_REGISTRO * quantidade + tamanhoNomes) {
+                throw new IOException("Snapshot do catálogo truncado ou corrompido: " + arquivo);
+            }
+
+            int inicioNomes = TAMANHO_CABECALHO + TAMANHO_REGISTRO * quantidade;
+            List<UnidadeCatalogo> unidades = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                UUID id = new UUID(buffer.getLong(), buffer.getLong());
+                double latitude = buffer.getDouble();
+                double longitude = buffer.getDouble();
+                int offsetNome = buffer.getInt();
+                int tamanhoNome = buffer.getInt();
+                String nome = null;
+                if (tamanhoNome >= 0) {
+                    if (offsetNome < 0 || (long) offsetNome + tamanhoNome > tamanhoNomes) {
+                        throw new IOException("Snapshot do catálogo com nome fora da área de nomes: " + arquivo);
+                    }
+                    byte[] bytes = new byte[tamanhoNome];
+                    buffer.get(inicioNomes + offsetNome, bytes);
+                    nome = new String(bytes, StandardCharsets.UTF_8);
+                }
+                unidades.add(new UnidadeCatalogo(id, nome, latitude, longitude));
+            }
+            return new Snapshot(geradoEm, unidades);
+        }
+    }
+
+    public record Snapshot(Instant geradoEm, List<UnidadeCatalogo> unidades) {}
+}
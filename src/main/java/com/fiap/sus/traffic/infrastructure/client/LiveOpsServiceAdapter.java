@@ -4,45 +4,176 @@ import com.fiap.sus.traffic.application.dto.IndicadoresDTO;
 import com.fiap.sus.traffic.application.dto.UnitAnalyticsDTO;
 import com.fiap.sus.traffic.application.port.CachePort;
 import com.fiap.sus.traffic.application.port.LiveOpsServicePort;
+import com.fiap.sus.traffic.domain.model.ProcedenciaIndicadores;
+import com.fiap.sus.traffic.infrastructure.cache.IndicadoresCacheEntry;
+import com.fiap.sus.traffic.infrastructure.cache.IndicadoresMaterializados;
+import com.fiap.sus.traffic.infrastructure.cache.VolatilidadeIndicadores;
+import com.fiap.sus.traffic.infrastructure.config.DeadlineAwareRetryPredicate;
 import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
 import com.fiap.sus.traffic.infrastructure.mapper.LiveOpsAnalyticsMapper;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
-import io.github.resilience4j.retry.annotation.Retry;
+import com.fiap.sus.traffic.shared.context.ContextoConsulta;
+import com.fiap.sus.traffic.shared.context.Deadline;
+import com.fiap.sus.traffic.shared.util.JanelaLatencias;
+import com.fiap.sus.traffic.shared.util.OrcamentoProporcional;
+import com.fiap.sus.traffic.shared.util.SingleFlight;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
 import feign.FeignException;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class LiveOpsServiceAdapter implements LiveOpsServicePort {
 
+    /**
+     * Tempo sem tentar o endpoint de lote depois que o LiveOps responde que ele não existe.
+     */
+    private static final Duration PAUSA_ENDPOINT_LOTE = Duration.ofMinutes(5);
+
+    /**
+     * Quantidade de latências recentes usadas para estimar o percentil do hedge.
+     */
+    private static final int JANELA_LATENCIAS = 1000;
+
+    static final String BULKHEAD = "liveOpsService";
+
+    static final String CIRCUIT_BREAKER = "liveOpsService";
+
+    /**
+     * Respostas 4xx que indicam problema da própria requisição ou do serviço (autenticação, rate limit,
+     * timeout) e não da unidade: não geram entrada negativa no cache.
+     */
+    private static final Set<Integer> STATUS_SEM_CACHE_NEGATIVO = Set.of(401, 403, 408, 429);
+
+    /**
+     * Respostas que indicam que o LiveOps não oferece o endpoint de lote.
+     */
+    private static final Set<Integer> STATUS_ENDPOINT_LOTE_INEXISTENTE = Set.of(404, 405, 501);
+
     private final LiveOpsServiceClient client;
     private final CachePort cachePort;
     private final TrafficIntelligenceProperties properties;
     private final LiveOpsAnalyticsMapper mapper;
+    private final IndicadoresMaterializados indicadoresMaterializados;
+    private final VolatilidadeIndicadores volatilidade;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Chamadas ao LiveOps em andamento por unidade: requisições concorrentes para a mesma
+     * unidade compartilham a mesma chamada em vez de multiplicar a carga no upstream.
+     */
+    private final SingleFlight<UUID, IndicadoresDTO> chamadasEmAndamento = new SingleFlight<>();
+
+    private volatile Instant endpointLoteIndisponivelAte = Instant.MIN;
+
+    private final JanelaLatencias latencias = new JanelaLatencias(JANELA_LATENCIAS);
+    private final OrcamentoProporcional orcamentoHedge = new OrcamentoProporcional();
+    private final OrcamentoProporcional orcamentoRetry = new OrcamentoProporcional();
+    private final DeadlineAwareRetryPredicate predicadoRetry = new DeadlineAwareRetryPredicate();
+    private final ExecutorService executorChamadas = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Unidades com revalidação em segundo plano já agendada (stale-while-revalidate).
+     */
+    private final Set<UUID> revalidacoesEmAndamento = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Interrompe as chamadas assíncronas (hedge e revalidações) ainda em andamento ao encerrar a aplicação.
+     */
+    @PreDestroy
+    public void encerrar() {
+        executorChamadas.shutdownNow();
+    }
 
     @Override
-    @CircuitBreaker(name = "liveOpsService")
-    @Retry(name = "liveOpsService")
     public IndicadoresDTO buscarIndicadores(UUID unidadeId) {
-        Optional<IndicadoresDTO> cached = cachePort.getIndicadores(unidadeId, IndicadoresDTO.class);
+        Optional<IndicadoresDTO> materializado = buscarMaterializado(unidadeId);
+        if (materializado.isPresent()) {
+            log.debug("Indicadores da unidade {} servidos pela visão em memória", unidadeId);
+            return materializado.get();
+        }
+
+        Optional<IndicadoresCacheEntry> cached = cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)
+            .filter(IndicadoresCacheEntry::valida);
         if (cached.isPresent()) {
+            if (cached.get().precisaRevalidar(Instant.now())) {
+                log.debug("Indicadores expirados (soft) no cache para unidade {}. Servindo e revalidando em segundo plano.", unidadeId);
+                revalidarEmSegundoPlano(Map.of(unidadeId, cached.get()));
+                return marcarDefasado(cached.get().indicadores());
+            }
             log.debug("Indicadores recuperados do cache para unidade {}", unidadeId);
-            return cached.get();
+            registrarHitNegativo(cached.get());
+            return cached.get().indicadores();
         }
 
+        if (ContextoConsulta.expirado()) {
+            log.debug("Prazo da consulta esgotado. Indicadores padrão para unidade {} sem chamar o LiveOps.", unidadeId);
+            return criarIndicadoresPadrao(unidadeId);
+        }
+
+        IndicadoresDTO indicadores = chamadasEmAndamento.executar(unidadeId, () -> buscarNoLiveOps(unidadeId, null));
+        if (indicadores == null) {
+            // Unidade estava em um lote em andamento que não a resolveu: buscar individualmente
+            indicadores = chamadasEmAndamento.executar(unidadeId, () -> buscarNoLiveOps(unidadeId, null));
+        }
+        return indicadores;
+    }
+
+    /**
+     * Busca os indicadores da unidade no LiveOps e grava no cache. Com uma entrada anterior que tenha
+     * ETag, a requisição é condicional: um 304 só renova a expiração da entrada, sem mapear de novo.
+     */
+    private IndicadoresDTO buscarNoLiveOps(UUID unidadeId, IndicadoresCacheEntry anterior) {
         log.debug("Buscando indicadores para unidade {} do LiveOps Service", unidadeId);
+        String etag = revalidavel(anterior) ? anterior.etag() : null;
         
         try {
+            Instant consultadoEm = Instant.now();
+            RespostaLiveOps resposta = chamarComRetry(unidadeId, etag);
+            if (resposta.naoModificada()) {
+                return renovarSemAlteracao(unidadeId, anterior, consultadoEm);
+            }
+
             // Buscar analytics do LiveOps (retorna UnitAnalyticsDTO)
-            UnitAnalyticsDTO analytics = client.buscarIndicadores(unidadeId.toString());
+            UnitAnalyticsDTO analytics = resposta.analytics();
             
             log.debug("Resposta do LiveOps Service recebida para unidade {}: analytics={}", unidadeId, analytics != null ? "não-nulo" : "nulo");
             
@@ -62,8 +193,11 @@ public class LiveOpsServiceAdapter implements LiveOpsServicePort {
             }
             
             if (indicadores != null) {
-                long ttl = properties.getCache().getTtlIndicadores().getSeconds();
-                cachePort.putIndicadores(unidadeId, indicadores, ttl);
+                alimentarMaterializados(indicadores, consultadoEm);
+                Duration ttlSoft = registrarVolatilidade(indicadores);
+                long ttl = ttlCacheIndicadores(ttlSoft);
+                String etagResposta = indicadores.procedencia() == ProcedenciaIndicadores.LIVE ? resposta.etag() : null;
+                cachePort.putIndicadores(unidadeId, IndicadoresCacheEntry.novo(indicadores, ttlSoft, etagResposta), ttl);
                 log.debug("Indicadores salvos no cache para unidade {} com TTL de {}s", unidadeId, ttl);
             }
             
@@ -72,8 +206,10 @@ public class LiveOpsServiceAdapter implements LiveOpsServicePort {
         } catch (HttpClientErrorException e) {
             log.warn("Erro 4xx ao buscar indicadores do LiveOps Service para unidade {}: Status {} - {}. Retornando indicadores padrão.", 
                 unidadeId, e.getStatusCode(), e.getMessage());
-            // Retornar indicadores padrão em caso de erro do cliente
-            return criarIndicadoresPadrao(unidadeId);
+            // Retornar indicadores padrão em caso de erro do cliente, lembrando a resposta por um TTL curto
+            IndicadoresDTO padrao = criarIndicadoresPadrao(unidadeId);
+            gravarNegativo(unidadeId, padrao, e.getStatusCode().value());
+            return padrao;
         } catch (HttpServerErrorException e) {
             log.warn("Erro 5xx ao buscar indicadores do LiveOps Service para unidade {}: Status {} - {}. Retornando indicadores padrão.", 
                 unidadeId, e.getStatusCode(), e.getMessage());
@@ -91,7 +227,629 @@ public class LiveOpsServiceAdapter implements LiveOpsServicePort {
             return criarIndicadoresPadrao(unidadeId);
         }
     }
+
+    /**
+     * Cache negativo: o LiveOps respondeu 4xx para a unidade (ex.: 404 de unidade que ele não conhece).
+     * Os indicadores padrão ficam no cache por {@code ttl-indicadores-negativo}, sem janela stale, e as
+     * próximas consultas não repetem a chamada que falharia de novo.
+     */
+    private void gravarNegativo(UUID unidadeId, IndicadoresDTO padrao, int status) {
+        Duration ttl = properties.getCache().getTtlIndicadoresNegativo();
+        if (padrao == null || ttl.isZero() || ttl.isNegative() || STATUS_SEM_CACHE_NEGATIVO.contains(status)) {
+            return;
+        }
+        cachePort.putIndicadores(unidadeId, IndicadoresCacheEntry.novo(padrao, ttl), Math.max(1, ttl.getSeconds()));
+        meterRegistry.counter("traffic.intelligence.indicadores.cache_negativo", "resultado", "gravado").increment();
+        log.debug("Resposta {} do LiveOps para unidade {} guardada no cache negativo por {}s", status, unidadeId, ttl.getSeconds());
+    }
+
+    private void registrarHitNegativo(IndicadoresCacheEntry entry) {
+        if (entry.indicadores().procedencia() == ProcedenciaIndicadores.DEFAULT) {
+            meterRegistry.counter("traffic.intelligence.indicadores.cache_negativo", "resultado", "hit").increment();
+        }
+    }
+
+    private static boolean revalidavel(IndicadoresCacheEntry anterior) {
+        return anterior != null && anterior.etag() != null && anterior.valida()
+            && anterior.indicadores().procedencia() == ProcedenciaIndicadores.LIVE;
+    }
+
+    /**
+     * O LiveOps confirmou (304) que os indicadores não mudaram: a entrada anterior volta ao cache
+     * com a expiração renovada e continua alimentando a visão em memória.
+     */
+    private IndicadoresDTO renovarSemAlteracao(UUID unidadeId, IndicadoresCacheEntry anterior, Instant consultadoEm) {
+        IndicadoresDTO indicadores = anterior.indicadores();
+        alimentarMaterializados(indicadores, consultadoEm);
+        Duration ttlSoft = registrarVolatilidade(indicadores);
+        long ttl = ttlCacheIndicadores(ttlSoft);
+        cachePort.putIndicadores(unidadeId, anterior.renovada(ttlSoft), ttl);
+        log.debug("Indicadores da unidade {} não modificados (304). Expiração renovada por {}s", unidadeId, ttl);
+        return indicadores;
+    }
     
+    /**
+     * Chama o LiveOps repetindo falhas transitórias (5xx, timeout, conexão) com backoff exponencial.
+     * Cada retry consome o orçamento da consulta ({@code retry.maximo-por-consulta}, compartilhado por
+     * todas as unidades) e o da instância (no máximo {@code retry.percentual-maximo} das primeiras
+     * tentativas), para que uma indisponibilidade parcial não multiplique a carga sobre o LiveOps.
+     */
+    private RespostaLiveOps chamarComRetry(UUID unidadeId, String etag) {
+        var retry = properties.getLiveopsService().getRetry();
+        orcamentoRetry.registrarChamada(retry.getPercentualMaximo(), retry.getRajadaMaxima());
+        Duration espera = retry.getEspera();
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return chamarLiveOps(unidadeId, etag);
+            } catch (RuntimeException e) {
+                if (tentativa >= retry.getMaxTentativas() || !podeRepetir(e, espera)) {
+                    throw e;
+                }
+                log.debug("Falha transitória do LiveOps para unidade {} (tentativa {}): {}. Repetindo em {}ms.",
+                    unidadeId, tentativa, e.getMessage(), espera.toMillis());
+                aguardarRetry(espera);
+                espera = Duration.ofNanos((long) (espera.toNanos() * retry.getMultiplicador()));
+            }
+        }
+    }
+
+    private boolean podeRepetir(RuntimeException e, Duration espera) {
+        boolean transitoria = e instanceof HttpServerErrorException
+            || (e instanceof FeignException feignException
+                && (feignException.status() == -1 || feignException.status() >= 500));
+        if (!transitoria || !predicadoRetry.test(e)) {
+            return false;
+        }
+        if (ContextoConsulta.tempoRestante().map(restante -> restante.compareTo(espera) <= 0).orElse(false)) {
+            return false;
+        }
+        if (!orcamentoRetry.tentarConsumir()) {
+            log.debug("Orçamento de retries da instância esgotado");
+            return false;
+        }
+        // O retry da consulta só é consumido quando a instância também permite: recusado, devolve a ficha
+        if (!ContextoConsulta.tentarConsumirRetry()) {
+            orcamentoRetry.devolver();
+            log.debug("Orçamento de retries da consulta esgotado");
+            return false;
+        }
+        return true;
+    }
+
+    private void aguardarRetry(Duration espera) {
+        try {
+            Thread.sleep(espera);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando retry do LiveOps", e);
+        }
+    }
+
+    /**
+     * Chama o LiveOps para uma unidade. Com o hedge habilitado, se a resposta não chegar até o
+     * percentil configurado das latências recentes, envia uma segunda requisição idêntica (dentro
+     * do orçamento de hedge) e usa a primeira que responder com sucesso; a outra é cancelada.
+     */
+    private RespostaLiveOps chamarLiveOps(UUID unidadeId, String etag) {
+        var hedge = properties.getLiveopsService().getHedge();
+        if (!hedge.isHabilitado()) {
+            return chamarCliente(unidadeId, etag);
+        }
+
+        orcamentoHedge.registrarChamada(hedge.getPercentualMaximo(), hedge.getRajadaMaxima());
+        Optional<Duration> atrasoHedge = latencias.percentil(hedge.getPercentil(), hedge.getMinimoAmostras());
+        ChamadaAssincrona primaria = chamarAssincrono(unidadeId, etag);
+        ChamadaAssincrona secundaria = null;
+        CompletableFuture<RespostaLiveOps> resposta = primaria.resposta();
+
+        try {
+            if (atrasoHedge.isPresent()) {
+                try {
+                    return aguardarResposta(resposta, atrasoHedge.get());
+                } catch (TimeoutException e) {
+                    if (!ContextoConsulta.expirado() && orcamentoHedge.tentarConsumir()) {
+                        log.debug("LiveOps sem resposta para unidade {} após {}ms. Enviando requisição hedge.",
+                            unidadeId, atrasoHedge.get().toMillis());
+                        secundaria = chamarAssincrono(unidadeId, etag);
+                        resposta = primeiroSucesso(primaria, secundaria);
+                    }
+                }
+            }
+
+            try {
+                return aguardarResposta(resposta, null);
+            } catch (TimeoutException e) {
+                throw new IllegalStateException("Espera sem timeout não deveria expirar", e);
+            }
+        } finally {
+            // Sem efeito nas requisições já concluídas; se o chamador foi interrompido, nenhuma fica ocupando vaga
+            primaria.tarefa().cancel(true);
+            if (secundaria != null) {
+                secundaria.tarefa().cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Chamada HTTP ao LiveOps dentro do bulkhead do serviço: sem vaga, falha na hora com
+     * {@link io.github.resilience4j.bulkhead.BulkheadFullException} em vez de ocupar mais uma thread.
+     * Dentro do bulkhead passa pelo circuit breaker do serviço (sem AOP, a anotação não teria efeito):
+     * aberto, falha com {@link io.github.resilience4j.circuitbreaker.CallNotPermittedException}.
+     * Uma chamada interrompida (hedge que perdeu) só devolve a permissão do circuit breaker, sem contar
+     * como falha do LiveOps, e sai como {@link CancellationException}. Toda tentativa concluída, com
+     * sucesso ou falha (inclusive timeout), alimenta a janela de latências do hedge.
+     */
+    private RespostaLiveOps chamarCliente(UUID unidadeId, String etag) {
+        return bulkhead().executeSupplier(() -> {
+            CircuitBreaker circuitBreaker = circuitBreaker();
+            circuitBreaker.acquirePermission();
+            long inicio = System.nanoTime();
+            try {
+                RespostaLiveOps resposta = buscarNoCliente(unidadeId, etag);
+                long duracao = System.nanoTime() - inicio;
+                latencias.registrar(Duration.ofNanos(duracao));
+                circuitBreaker.onResult(duracao, TimeUnit.NANOSECONDS, resposta);
+                return resposta;
+            } catch (RuntimeException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    circuitBreaker.releasePermission();
+                    CancellationException cancelamento = new CancellationException("Chamada ao LiveOps cancelada");
+                    cancelamento.initCause(e);
+                    throw cancelamento;
+                }
+                long duracao = System.nanoTime() - inicio;
+                latencias.registrar(Duration.ofNanos(duracao));
+                circuitBreaker.onError(duracao, TimeUnit.NANOSECONDS, e);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * O Feign trata qualquer status fora de 2xx como erro, então o 304 do GET condicional chega como
+     * {@link FeignException} e é convertido aqui, ainda dentro do circuit breaker, para não contar como falha.
+     */
+    private RespostaLiveOps buscarNoCliente(UUID unidadeId, String etag) {
+        try {
+            ResponseEntity<UnitAnalyticsDTO> resposta = client.buscarIndicadores(unidadeId.toString(), etag);
+            if (resposta == null) {
+                return new RespostaLiveOps(null, null, false);
+            }
+            if (resposta.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                return new RespostaLiveOps(null, etag, etag != null);
+            }
+            return new RespostaLiveOps(resposta.getBody(), resposta.getHeaders().getETag(), false);
+        } catch (FeignException e) {
+            if (e.status() == HttpStatus.NOT_MODIFIED.value() && etag != null) {
+                return new RespostaLiveOps(null, etag, true);
+            }
+            throw e;
+        }
+    }
+
+    private Bulkhead bulkhead() {
+        return bulkheadRegistry.bulkhead(BULKHEAD);
+    }
+
+    private CircuitBreaker circuitBreaker() {
+        return circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER);
+    }
+
+    /**
+     * Executa a chamada ao LiveOps em uma virtual thread, com o mesmo prazo da consulta.
+     */
+    private ChamadaAssincrona chamarAssincrono(UUID unidadeId, String etag) {
+        Deadline deadline = ContextoConsulta.deadlineAtual().orElse(null);
+        CompletableFuture<RespostaLiveOps> resposta = new CompletableFuture<>();
+        Future<?> tarefa = executorChamadas.submit(() -> {
+            try {
+                RespostaLiveOps recebida = deadline != null
+                    ? ContextoConsulta.executarCom(deadline, () -> chamarCliente(unidadeId, etag))
+                    : chamarCliente(unidadeId, etag);
+                resposta.complete(recebida);
+            } catch (Throwable e) {
+                resposta.completeExceptionally(e);
+            }
+        });
+        return new ChamadaAssincrona(resposta, tarefa);
+    }
+
+    private RespostaLiveOps aguardarResposta(CompletableFuture<RespostaLiveOps> future, Duration espera)
+            throws TimeoutException {
+        try {
+            return espera != null ? future.get(espera.toNanos(), TimeUnit.NANOSECONDS) : future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando resposta do LiveOps", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            while (causa instanceof CompletionException && causa.getCause() != null) {
+                causa = causa.getCause();
+            }
+            if (causa instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(causa);
+        }
+    }
+
+    /**
+     * Completa com a primeira resposta de sucesso e interrompe a outra requisição, que libera na hora
+     * a vaga no bulkhead e no limite de concorrência; falha apenas se as duas requisições falharem.
+     */
+    private static CompletableFuture<RespostaLiveOps> primeiroSucesso(ChamadaAssincrona primeira, ChamadaAssincrona segunda) {
+        CompletableFuture<RespostaLiveOps> resultado = new CompletableFuture<>();
+        AtomicInteger falhas = new AtomicInteger();
+        for (ChamadaAssincrona tentativa : List.of(primeira, segunda)) {
+            ChamadaAssincrona outra = tentativa == primeira ? segunda : primeira;
+            tentativa.resposta().whenComplete((valor, erro) -> {
+                if (erro == null) {
+                    if (resultado.complete(valor)) {
+                        outra.tarefa().cancel(true);
+                    }
+                } else if (falhas.incrementAndGet() == 2) {
+                    resultado.completeExceptionally(erro);
+                }
+            });
+        }
+        return resultado;
+    }
+
+    /**
+     * Resolve os indicadores de várias unidades pela visão em memória (quando habilitada), com um
+     * MGET no Redis para as demais e, para os cache misses,
+     * requisições em lote ao LiveOps de até {@code lote.tamanho} unidades. O resultado é gravado
+     * no cache em um único pipeline. Unidades que não puderam ser resolvidas ficam fora do mapa.
+     */
+    @Override
+    public Map<UUID, IndicadoresDTO> buscarIndicadoresEmLote(Collection<UUID> unidadeIds) {
+        if (unidadeIds == null || unidadeIds.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, IndicadoresDTO> resultado = new HashMap<>();
+        Set<UUID> ids = new LinkedHashSet<>();
+        for (UUID unidadeId : unidadeIds) {
+            buscarMaterializado(unidadeId).ifPresentOrElse(
+                indicadores -> resultado.put(unidadeId, indicadores),
+                () -> ids.add(unidadeId)
+            );
+        }
+        if (ids.isEmpty()) {
+            return resultado;
+        }
+
+        Map<UUID, IndicadoresCacheEntry> aRevalidar = new HashMap<>();
+        Instant agora = Instant.now();
+        cachePort.getIndicadoresEmLote(ids, IndicadoresCacheEntry.class).forEach((unidadeId, entry) -> {
+            if (entry.valida()) {
+                if (entry.precisaRevalidar(agora)) {
+                    resultado.put(unidadeId, marcarDefasado(entry.indicadores()));
+                    aRevalidar.put(unidadeId, entry);
+                } else {
+                    registrarHitNegativo(entry);
+                    resultado.put(unidadeId, entry.indicadores());
+                }
+            }
+        });
+        if (!aRevalidar.isEmpty()) {
+            log.debug("Indicadores em lote: {} expirados (soft) servidos do cache e revalidados em segundo plano", aRevalidar.size());
+            revalidarEmSegundoPlano(aRevalidar);
+        }
+
+        List<UUID> faltantes = ids.stream()
+            .filter(id -> !resultado.containsKey(id))
+            .toList();
+        log.debug("Indicadores em lote: {} do cache, {} faltantes", resultado.size(), faltantes.size());
+
+        if (faltantes.isEmpty() || !endpointLoteDisponivel() || ContextoConsulta.expirado()) {
+            return resultado;
+        }
+
+        // Unidades já em busca por outra requisição aguardam aquela chamada (até o fim do prazo) em vez de entrar no lote
+        resultado.putAll(chamadasEmAndamento.executarEmLote(faltantes, this::buscarFaltantesEmLote,
+            ContextoConsulta.tempoRestante().orElse(null)));
+        return resultado;
+    }
+
+    private Map<UUID, IndicadoresDTO> buscarFaltantesEmLote(List<UUID> faltantes) {
+        int tamanhoLote = Math.max(1, properties.getLiveopsService().getLote().getTamanho());
+        Map<UUID, IndicadoresDTO> buscados = new HashMap<>();
+        Instant consultadoEm = Instant.now();
+        for (int inicio = 0; inicio < faltantes.size() && endpointLoteDisponivel() && !ContextoConsulta.expirado(); inicio += tamanhoLote) {
+            List<UUID> lote = faltantes.subList(inicio, Math.min(inicio + tamanhoLote, faltantes.size()));
+            buscados.putAll(buscarLoteNoLiveOps(lote));
+        }
+
+        if (!buscados.isEmpty()) {
+            buscados.values().forEach(indicadores -> alimentarMaterializados(indicadores, consultadoEm));
+            // O pipeline grava todas as chaves com o mesmo TTL hard: o maior, para nenhuma expirar antes da sua janela stale
+            Map<UUID, IndicadoresCacheEntry> entradas = new HashMap<>();
+            Duration maiorTtlSoft = Duration.ZERO;
+            for (Map.Entry<UUID, IndicadoresDTO> buscado : buscados.entrySet()) {
+                Duration ttlSoft = registrarVolatilidade(buscado.getValue());
+                maiorTtlSoft = ttlSoft.compareTo(maiorTtlSoft) > 0 ? ttlSoft : maiorTtlSoft;
+                entradas.put(buscado.getKey(), IndicadoresCacheEntry.novo(buscado.getValue(), ttlSoft));
+            }
+            cachePort.putIndicadoresEmLote(entradas, ttlCacheIndicadores(maiorTtlSoft));
+        }
+        return buscados;
+    }
+
+    @Override
+    public int renovarIndicadores(Collection<UUID> unidadeIds, Duration antecedencia) {
+        if (unidadeIds == null || unidadeIds.isEmpty()) {
+            return 0;
+        }
+
+        Instant limite = Instant.now().plus(antecedencia);
+        Map<UUID, IndicadoresCacheEntry> emCache = cachePort.getIndicadoresEmLote(unidadeIds, IndicadoresCacheEntry.class);
+        List<UUID> aRenovar = unidadeIds.stream()
+            .distinct()
+            .filter(unidadeId -> {
+                IndicadoresCacheEntry entry = emCache.get(unidadeId);
+                if (entry != null && entry.valida() && entry.indicadores().procedencia() == ProcedenciaIndicadores.DEFAULT) {
+                    // Entrada negativa: a unidade volta a ser buscada só depois que a chave expirar
+                    return false;
+                }
+                return entry == null || !entry.valida() || entry.precisaRevalidar(limite);
+            })
+            .toList();
+        if (aRenovar.isEmpty()) {
+            return 0;
+        }
+
+        Map<UUID, IndicadoresDTO> renovados = endpointLoteDisponivel()
+            ? chamadasEmAndamento.executarEmLote(aRenovar, this::buscarFaltantesEmLote)
+            : Map.of();
+        List<UUID> individuais = aRenovar.stream()
+            .filter(unidadeId -> !renovados.containsKey(unidadeId))
+            .toList();
+        renovarIndividualmente(individuais, emCache);
+        return renovados.size() + individuais.size();
+    }
+
+    /**
+     * Busca uma a uma, em virtual threads, as unidades que o lote não resolveu, com no máximo
+     * {@code fan-out.max-concorrencia} chamadas simultâneas (o mesmo limite do fan-out das consultas).
+     * Retorna quando todas terminam, para que o próximo ciclo não se sobreponha a este.
+     */
+    private void renovarIndividualmente(List<UUID> unidadeIds, Map<UUID, IndicadoresCacheEntry> emCache) {
+        if (unidadeIds.isEmpty()) {
+            return;
+        }
+        Semaphore permissoes = new Semaphore(Math.max(1, properties.getLiveopsService().getFanOut().getMaxConcorrencia()));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (UUID unidadeId : unidadeIds) {
+                executor.submit(() -> {
+                    permissoes.acquire();
+                    try {
+                        return chamadasEmAndamento.executar(unidadeId, () -> buscarNoLiveOps(unidadeId, emCache.get(unidadeId)));
+                    } finally {
+                        permissoes.release();
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Busca de novo, fora da requisição, os indicadores que passaram da expiração soft.
+     * Cada unidade tem no máximo uma revalidação agendada por vez; falhas mantêm o valor em cache
+     * até a expiração hard. As revalidadas uma a uma usam o ETag da entrada expirada.
+     */
+    private void revalidarEmSegundoPlano(Map<UUID, IndicadoresCacheEntry> expiradas) {
+        List<UUID> agendadas = expiradas.keySet().stream()
+            .filter(revalidacoesEmAndamento::add)
+            .toList();
+        if (agendadas.isEmpty()) {
+            return;
+        }
+
+        executorChamadas.execute(() -> {
+            try {
+                Map<UUID, IndicadoresDTO> revalidados = agendadas.size() > 1 && endpointLoteDisponivel()
+                    ? chamadasEmAndamento.executarEmLote(agendadas, this::buscarFaltantesEmLote)
+                    : Map.of();
+                agendadas.stream()
+                    .filter(unidadeId -> !revalidados.containsKey(unidadeId))
+                    .forEach(unidadeId -> chamadasEmAndamento.executar(unidadeId,
+                        () -> buscarNoLiveOps(unidadeId, expiradas.get(unidadeId))));
+            } catch (Exception e) {
+                log.warn("Erro ao revalidar indicadores de {} unidades: {}", agendadas.size(), e.getMessage());
+            } finally {
+                agendadas.forEach(revalidacoesEmAndamento::remove);
+            }
+        });
+    }
+
+    /**
+     * Leitura da visão em memória alimentada pelo stream do LiveOps (quando habilitado).
+     */
+    private Optional<IndicadoresDTO> buscarMaterializado(UUID unidadeId) {
+        var stream = properties.getLiveopsService().getStream();
+        if (!stream.isHabilitado()) {
+            return Optional.empty();
+        }
+        return indicadoresMaterializados.buscar(unidadeId, stream.getIdadeMaxima());
+    }
+
+    /**
+     * Respostas das buscas HTTP também alimentam a visão, cobrindo unidades ainda sem eventos.
+     * Mesmo com o stream desabilitado a visão guarda os últimos indicadores conhecidos de cada unidade.
+     * A versão é o início da busca: um evento publicado durante a chamada prevalece sobre a resposta.
+     */
+    private void alimentarMaterializados(IndicadoresDTO indicadores, Instant consultadoEm) {
+        if (indicadores.procedencia() == ProcedenciaIndicadores.LIVE) {
+            indicadoresMaterializados.atualizar(indicadores, consultadoEm);
+        }
+    }
+
+    /**
+     * Últimos indicadores conhecidos (cache ou visão em memória), sem chamar o LiveOps. A leitura do
+     * Redis ignora o prazo da consulta: este fallback roda justamente depois de o prazo esgotar, e só
+     * o cache tem os indicadores buscados por outras instâncias. A leitura continua limitada pelo
+     * timeout e pelo bulkhead do Redis.
+     */
+    @Override
+    public Optional<IndicadoresDTO> buscarUltimosIndicadoresConhecidos(UUID unidadeId) {
+        Optional<IndicadoresCacheEntry> emCache = ContextoConsulta.executarSemPrazo(
+            () -> cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class));
+        return ultimoConhecido(unidadeId, emCache.orElse(null));
+    }
+
+    /**
+     * Como {@link #buscarUltimosIndicadoresConhecidos(UUID)}, com um único MGET para todas as unidades.
+     */
+    @Override
+    public Map<UUID, IndicadoresDTO> buscarUltimosIndicadoresConhecidos(Collection<UUID> unidadeIds) {
+        if (unidadeIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<UUID, IndicadoresCacheEntry> emCache = ContextoConsulta.executarSemPrazo(
+            () -> cachePort.getIndicadoresEmLote(unidadeIds, IndicadoresCacheEntry.class));
+        Map<UUID, IndicadoresDTO> resultado = new HashMap<>();
+        for (UUID unidadeId : unidadeIds) {
+            ultimoConhecido(unidadeId, emCache.get(unidadeId)).ifPresent(dto -> resultado.put(unidadeId, dto));
+        }
+        return resultado;
+    }
+
+    private Optional<IndicadoresDTO> ultimoConhecido(UUID unidadeId, IndicadoresCacheEntry emCache) {
+        Optional<IndicadoresDTO> cached = Optional.ofNullable(emCache)
+            .filter(IndicadoresCacheEntry::valida)
+            .map(IndicadoresCacheEntry::indicadores)
+            .filter(indicadores -> indicadores.procedencia() != ProcedenciaIndicadores.DEFAULT);
+        if (cached.isPresent()) {
+            return cached.map(this::marcarDefasado);
+        }
+        return indicadoresMaterializados.buscarUltimo(unidadeId).map(this::marcarDefasado);
+    }
+
+    private IndicadoresDTO marcarDefasado(IndicadoresDTO indicadores) {
+        return indicadores.procedencia() == ProcedenciaIndicadores.LIVE
+            ? indicadores.comProcedencia(ProcedenciaIndicadores.STALE)
+            : indicadores;
+    }
+
+    /**
+     * TTL da chave no Redis (expiração hard): TTL soft dos indicadores mais a janela em que o valor
+     * expirado ainda pode ser servido enquanto é revalidado.
+     */
+    private long ttlCacheIndicadores(Duration ttlSoft) {
+        return ttlSoft.plus(properties.getCache().getTtlIndicadoresStale()).getSeconds();
+    }
+
+    /**
+     * Registra a variação dos indicadores recém-buscados e devolve o TTL soft da unidade: entre
+     * {@code ttl-adaptativo.maximo} (indicadores estáveis) e {@code ttl-adaptativo.minimo} (variação
+     * média igual ou acima da referência). Indicadores padrão e unidades sem histórico usam o TTL fixo.
+     */
+    private Duration registrarVolatilidade(IndicadoresDTO indicadores) {
+        var cache = properties.getCache();
+        var adaptativo = cache.getTtlAdaptativo();
+        if (!adaptativo.isHabilitado() || indicadores.procedencia() != ProcedenciaIndicadores.LIVE) {
+            return cache.getTtlIndicadores();
+        }
+        OptionalDouble observada = volatilidade.registrar(indicadores);
+        if (observada.isEmpty()) {
+            return cache.getTtlIndicadores();
+        }
+        double fracao = Math.min(1.0, observada.getAsDouble() / Math.max(adaptativo.getVariacaoReferencia(), 1e-9));
+        long maximoMs = adaptativo.getMaximo().toMillis();
+        long minimoMs = Math.min(adaptativo.getMinimo().toMillis(), maximoMs);
+        return Duration.ofMillis(Math.round(maximoMs - (maximoMs - minimoMs) * fracao));
+    }
+
+    private Map<UUID, IndicadoresDTO> buscarLoteNoLiveOps(List<UUID> lote) {
+        try {
+            List<UnitAnalyticsDTO> respostas = chamarLote(lote);
+            if (respostas == null) {
+                return Map.of();
+            }
+
+            Map<UUID, IndicadoresDTO> indicadores = new HashMap<>();
+            for (UnitAnalyticsDTO analytics : respostas) {
+                IndicadoresDTO dto = mapper.toIndicadoresDTO(analytics);
+                // Ignorar respostas inválidas ou de unidades que não foram pedidas (o mapper gera ID aleatório para IDs inválidos)
+                if (dto != null && dto.tmaPorRisco() != null && lote.contains(dto.unidadeId())) {
+                    indicadores.put(dto.unidadeId(), dto);
+                }
+            }
+
+            log.debug("Lote do LiveOps Service: {} de {} unidades resolvidas", indicadores.size(), lote.size());
+            return indicadores;
+
+        } catch (RuntimeException e) {
+            int status = statusHttp(e);
+            if (STATUS_ENDPOINT_LOTE_INEXISTENTE.contains(status)) {
+                endpointLoteIndisponivelAte = Instant.now().plus(PAUSA_ENDPOINT_LOTE);
+                log.warn("Endpoint de lote do LiveOps Service indisponível (Status {}). Usando busca por unidade pelos próximos {}s.",
+                    status, PAUSA_ENDPOINT_LOTE.toSeconds());
+            } else if (status > 0) {
+                log.warn("Erro ao buscar lote de {} unidades do LiveOps Service: Status {} - {}",
+                    lote.size(), status, e.getMessage());
+            } else {
+                log.warn("Erro ao buscar lote de {} unidades do LiveOps Service: {}", lote.size(), e.getMessage());
+            }
+            return Map.of();
+        }
+    }
+
+    /**
+     * Chama o endpoint de lote com o circuit breaker controlado manualmente: a resposta de que o
+     * endpoint não existe (404/405/501) vem de um LiveOps saudável, então libera a permissão sem
+     * registrar falha nem sucesso.
+     */
+    private List<UnitAnalyticsDTO> chamarLote(List<UUID> lote) {
+        return bulkhead().executeSupplier(() -> {
+            CircuitBreaker circuitBreaker = circuitBreaker();
+            circuitBreaker.acquirePermission();
+            long inicio = System.nanoTime();
+            try {
+                List<UnitAnalyticsDTO> respostas = client.buscarIndicadoresEmLote(lote.stream().map(UUID::toString).toList());
+                circuitBreaker.onResult(System.nanoTime() - inicio, TimeUnit.NANOSECONDS, respostas);
+                return respostas;
+            } catch (RuntimeException e) {
+                if (STATUS_ENDPOINT_LOTE_INEXISTENTE.contains(statusHttp(e))) {
+                    circuitBreaker.releasePermission();
+                } else {
+                    circuitBreaker.onError(System.nanoTime() - inicio, TimeUnit.NANOSECONDS, e);
+                }
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Status HTTP da resposta de erro, ou -1 quando a falha não veio de uma resposta.
+     */
+    private static int statusHttp(RuntimeException e) {
+        if (e instanceof HttpStatusCodeException http) {
+            return http.getStatusCode().value();
+        }
+        if (e instanceof FeignException feign && feign.status() > 0) {
+            return feign.status();
+        }
+        return -1;
+    }
+
+    private boolean endpointLoteDisponivel() {
+        return properties.getLiveopsService().getLote().isHabilitado()
+            && Instant.now().isAfter(endpointLoteIndisponivelAte);
+    }
+
+    /**
+     * Resposta da busca individual no LiveOps: os analytics com o ETag recebido, ou apenas a
+     * confirmação (304) de que a versão do ETag enviado continua atual.
+     */
+    private record RespostaLiveOps(UnitAnalyticsDTO analytics, String etag, boolean naoModificada) {}
+
+    /**
+     * Chamada em andamento em uma virtual thread: a resposta e a tarefa, para interromper a chamada.
+     */
+    private record ChamadaAssincrona(CompletableFuture<RespostaLiveOps> resposta, Future<?> tarefa) {}
+
     /**
      * Cria IndicadoresDTO com valores padrão quando o LiveOps Service está indisponível.
      * Usa o método do mapper que já tem a lógica de valores padrão.
@@ -2,8 +2,14 @@ package com.fiap.sus.traffic.infrastructure.client;
 
 import com.fiap.sus.traffic.application.dto.UnitAnalyticsDTO;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
 
 @FeignClient(
     name = "liveOpsService",
@@ -17,9 +23,26 @@ public interface LiveOpsServiceClient {
      * Busca analytics avançados de uma unidade de saúde.
      * Endpoint: GET /analytics/units/{id}/advanced
      * 
+     * Com {@code etag} informado a requisição é condicional (If-None-Match): se os indicadores
+     * não mudaram, o LiveOps responde 304 sem corpo.
+     * 
      * @param healthUnitId ID da unidade de saúde (String)
-     * @return UnitAnalyticsDTO com indicadores operacionais
+     * @param etag ETag da última resposta conhecida, ou null
+     * @return resposta com UnitAnalyticsDTO e header ETag
      */
     @GetMapping("/analytics/units/{id}/advanced")
-    UnitAnalyticsDTO buscarIndicadores(@PathVariable("id") String healthUnitId);
+    ResponseEntity<UnitAnalyticsDTO> buscarIndicadores(
+        @PathVariable("id") String healthUnitId,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String etag
+    );
+
+    /**
+     * Busca analytics avançados de várias unidades de saúde em uma única requisição.
+     * Endpoint: GET /analytics/units/advanced?ids={id1}&ids={id2}...
+     * 
+     * @param healthUnitIds IDs das unidades de saúde (String)
+     * @return Lista de UnitAnalyticsDTO das unidades encontradas
+     */
+    @GetMapping("/analytics/units/advanced")
+    List<UnitAnalyticsDTO> buscarIndicadoresEmLote(@RequestParam("ids") List<String> healthUnitIds);
 }
@@ -2,6 +2,7 @@ package com.fiap.sus.traffic.infrastructure.client;
 
 import com.fiap.sus.traffic.application.dto.UnitAnalyticsDTO;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -9,7 +10,11 @@ import org.springframework.stereotype.Component;
 public class LiveOpsServiceClientFallback implements LiveOpsServiceClient {
 
     @Override
-    public UnitAnalyticsDTO buscarIndicadores(String healthUnitId) {
+    public ResponseEntity<UnitAnalyticsDTO> buscarIndicadores(String healthUnitId, String etag) {
+        return ResponseEntity.ok(analyticsPadrao(healthUnitId));
+    }
+
+    private UnitAnalyticsDTO analyticsPadrao(String healthUnitId) {
         log.warn("Fallback: LiveOps Service indisponível. Retornando analytics padrão conservadores para unidade {}", healthUnitId);
         
         // Retornar UnitAnalyticsDTO com valores padrão conservadores
@@ -27,4 +32,12 @@ public class LiveOpsServiceClientFallback implements LiveOpsServiceClient {
             )
         );
     }
+
+    @Override
+    public java.util.List<UnitAnalyticsDTO> buscarIndicadoresEmLote(java.util.List<String> healthUnitIds) {
+        log.warn("Fallback: LiveOps Service indisponível. Retornando analytics padrão conservadores para {} unidades", healthUnitIds.size());
+        return healthUnitIds.stream()
+            .map(this::analyticsPadrao)
+            .toList();
+    }
 }
@@ -3,15 +3,28 @@ package com.fiap.sus.traffic.infrastructure.client;
 import com.fiap.sus.traffic.application.dto.UnidadeSaudeDTO;
 import com.fiap.sus.traffic.application.port.CachePort;
 import com.fiap.sus.traffic.application.port.NetworkServicePort;
+import com.fiap.sus.traffic.core.exception.DeadlineExceededException;
+import com.fiap.sus.traffic.core.exception.LimiteConcorrenciaExcedidoException;
 import com.fiap.sus.traffic.core.exception.ExternalServiceException;
 import com.fiap.sus.traffic.core.exception.ValidationException;
+import com.fiap.sus.traffic.infrastructure.cache.CacheGeocodificacao;
 import com.fiap.sus.traffic.infrastructure.cache.CacheKeyGenerator;
+import com.fiap.sus.traffic.infrastructure.cache.IndiceRaiosUnidades;
+import com.fiap.sus.traffic.infrastructure.catalogo.CatalogoUnidadesLocal;
 import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
-import com.fiap.sus.traffic.infrastructure.client.dto.HealthUnitResponseDTO;
+import com.fiap.sus.traffic.infrastructure.client.dto.CoordenadasDTO;
 import com.fiap.sus.traffic.infrastructure.client.dto.PageResponseDTO;
+import com.fiap.sus.traffic.infrastructure.client.dto.UnidadeProximaResumoDTO;
 import com.fiap.sus.traffic.infrastructure.mapper.NetworkServiceMapper;
+import com.fiap.sus.traffic.shared.context.ContextoConsulta;
+import com.fiap.sus.traffic.shared.util.DistanceUtils;
+import com.fiap.sus.traffic.shared.util.Geohash;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -19,9 +32,20 @@ import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import feign.FeignException;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 
 @Component
 @RequiredArgsConstructor
@@ -32,11 +56,62 @@ public class NetworkServiceAdapter implements NetworkServicePort {
     private final CachePort cachePort;
     private final TrafficIntelligenceProperties properties;
     private final NetworkServiceMapper mapper;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final CatalogoUnidadesLocal catalogoLocal;
+    private final CacheGeocodificacao cacheGeocodificacao;
+    private final IndiceRaiosUnidades indiceRaios;
+
+    static final String BULKHEAD = "networkService";
+
+    /**
+     * Tamanho da página da busca em página única (todas as unidades em uma resposta).
+     */
+    private static final int TAMANHO_PAGINA_UNICA = 1000;
+
+    /**
+     * Com a chave por geocélula a busca parte do centro da célula, o que só o catálogo local faz (o
+     * Network Service busca pelo endereço): sem ele a chave por geocélula nunca seria usada. Falha na
+     * inicialização em vez de geocodificar todo endereço sem ganho.
+     */
+    @PostConstruct
+    void validarChaveGeocelula() {
+        if (properties.getCache().getChaveGeocelula().isHabilitado()
+                && !properties.getNetworkService().getCatalogoLocal().isHabilitado()) {
+            throw new IllegalStateException("traffic.intelligence.cache.chave-geocelula.habilitado exige "
+                + "traffic.intelligence.network-service.catalogo-local.habilitado (fonte das coordenadas das unidades)");
+        }
+    }
+
+    @Override
+    public List<UnidadeSaudeDTO> buscarUnidadesProximas(String baseAddress, Double radius, String distanceUnit) {
+        return buscarUnidadesProximas(baseAddress, radius, distanceUnit, pagina -> { });
+    }
+
+    /**
+     * Célula geohash do endereço geocodificado (ver {@code cache.chave-geocelula}). Vazio com a chave
+     * por geocélula desabilitada, sem o catálogo local disponível ou quando o endereço não é geocodificado.
+     */
+    @Override
+    public Optional<String> regiaoDoEndereco(String baseAddress) {
+        if (!properties.getCache().getChaveGeocelula().isHabilitado() || !catalogoLocal.disponivel()
+                || baseAddress == null || baseAddress.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            int precisao = properties.getCache().getChaveGeocelula().getPrecisao();
+            return geocodificar(normalizeAddressForNetworkService(baseAddress))
+                .map(ponto -> Geohash.codificar(ponto.latitude(), ponto.longitude(), precisao));
+        } catch (RuntimeException e) {
+            log.debug("Sem célula para o endereço, usando chave por endereço: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
 
     @Override
     @CircuitBreaker(name = "networkService")
     @Retry(name = "networkService")
-    public List<UnidadeSaudeDTO> buscarUnidadesProximas(String baseAddress, Double radius, String distanceUnit) {
+    public List<UnidadeSaudeDTO> buscarUnidadesProximas(String baseAddress, Double radius, String distanceUnit,
+                                                        Consumer<List<UnidadeSaudeDTO>> aoReceberPagina) {
         if (baseAddress == null || baseAddress.isBlank()) {
             throw new ValidationException("baseAddress", "Endereço de referência não pode ser nulo ou vazio");
         }
@@ -54,30 +129,45 @@ public class NetworkServiceAdapter implements NetworkServicePort {
         Optional<List<UnidadeSaudeDTO>> cached = cachePort.getUnidades(cacheKey, UnidadeSaudeDTO.class);
         if (cached.isPresent()) {
             log.debug("Unidades recuperadas do cache para endereço: {}", baseAddress);
+            if (!cached.get().isEmpty()) {
+                aoReceberPagina.accept(cached.get());
+            }
             return cached.get();
         }
 
+        double raioKm = raioEmKm(radius, distanceUnit);
+        Optional<List<UnidadeSaudeDTO>> deRaioMaior = buscarEmRaioMaior(baseAddress, raioKm, cacheKey);
+        if (deRaioMaior.isPresent()) {
+            if (!deRaioMaior.get().isEmpty()) {
+                aoReceberPagina.accept(deRaioMaior.get());
+            }
+            return deRaioMaior.get();
+        }
+
+        // Sem prazo restante a chamada (de até 3 minutos) não tem como ser útil à consulta
+        if (ContextoConsulta.expirado()) {
+            throw new DeadlineExceededException("Network Service");
+        }
+
                 String normalizedAddress = normalizeAddressForNetworkService(baseAddress);
         
         log.info("🔍 Buscando unidades próximas: address='{}' → normalizado='{}', radius={}, unit={}", 
             baseAddress, normalizedAddress, radius, distanceUnit);
         
         try {
-            // Network Service retorna Page<HealthUnitResponseDTO>, precisamos extrair o content
-            PageResponseDTO<HealthUnitResponseDTO> pageResponse = client.buscarUnidadesProximas(
-                normalizedAddress, radius, distanceUnit, 0, 1000 // Buscar todas as unidades (até 1000)
-            );
-            
-            // Converter HealthUnitResponseDTO para UnidadeSaudeDTO
-            List<UnidadeSaudeDTO> unidades = mapper.toUnidadeSaudeDTOList(
-                pageResponse != null ? pageResponse.getContent() : List.of()
-            );
+            Optional<CoordenadasDTO> ponto = catalogoLocal.disponivel()
+                ? geocodificar(normalizedAddress)
+                : Optional.empty();
+            if (properties.getCache().getChaveGeocelula().isHabilitado()) {
+                ponto = ponto.map(this::centroDaCelula);
+            }
+
+            BuscaUnidades busca = buscar(normalizedAddress, ponto, radius, distanceUnit, aoReceberPagina);
+            List<UnidadeSaudeDTO> unidades = busca.unidades();
             
             log.debug("Encontradas {} unidades do Network Service", unidades.size());
             
-            long ttl = properties.getCache().getTtlUnidades().getSeconds();
-            cachePort.putUnidades(cacheKey, unidades, ttl);
-            
+            guardar(busca, unidades, baseAddress, raioKm, cacheKey);
             return unidades;
             
         } catch (HttpClientErrorException e) {
@@ -94,7 +184,17 @@ public class NetworkServiceAdapter implements NetworkServicePort {
                 String.format("Erro ao comunicar com Network Service (Status %d): %s", 
                     e.getStatusCode().value(), e.getMessage()), 
                 e.getStatusCode().value());
+        } catch (DeadlineExceededException | LimiteConcorrenciaExcedidoException e) {
+            throw e;
+        } catch (BulkheadFullException e) {
+            log.warn("Bulkhead do Network Service cheio: {}", e.getMessage());
+            throw new ExternalServiceException("Network Service",
+                "Muitas chamadas simultâneas ao Network Service. Tente novamente.", 503);
         } catch (FeignException e) {
+            if (ContextoConsulta.expirado()) {
+                log.warn("Timeout do Network Service por prazo da consulta esgotado: {}", e.getMessage());
+                throw new DeadlineExceededException("Network Service");
+            }
             log.error("Erro Feign ao buscar unidades do Network Service: Status {} - {}", 
                 e.status(), e.getMessage(), e);
             int statusCode = e.status() > 0 ? e.status() : 502;
@@ -109,12 +209,251 @@ public class NetworkServiceAdapter implements NetworkServicePort {
         }
     }
 
+    /**
+     * Busca as unidades a até {@code raio}: no catálogo local quando há coordenadas do endereço e o
+     * catálogo está disponível; senão no Network Service, paginado ou em página única.
+     */
+    private BuscaUnidades buscar(String endereco, Optional<CoordenadasDTO> ponto, Double raio, String unidadeDistancia,
+                                 Consumer<List<UnidadeSaudeDTO>> aoReceberPagina) {
+        if (ponto.isPresent() && catalogoLocal.disponivel()) {
+            return buscarNoCatalogoLocal(ponto.get(), raio, unidadeDistancia, aoReceberPagina);
+        }
+        if (properties.getNetworkService().getPaginacao().isHabilitado()) {
+            return buscarPaginado(endereco, raio, unidadeDistancia, aoReceberPagina);
+        }
+        return buscarPaginaUnica(endereco, raio, unidadeDistancia, aoReceberPagina);
+    }
+
+    /**
+     * Guarda a lista no cache do endereço e registra o raio no índice. Resultado parcial (página que
+     * falhou ou prazo esgotado) serve à consulta, mas não vai para o cache.
+     */
+    private void guardar(BuscaUnidades busca, List<UnidadeSaudeDTO> unidades, String baseAddress, double raioKm,
+                         String cacheKey) {
+        if (!busca.completa()) {
+            return;
+        }
+        long ttl = properties.getCache().getTtlUnidades().getSeconds();
+        cachePort.putUnidades(cacheKey, unidades, ttl);
+        if (!busca.truncada()) {
+            indiceRaios.registrar(baseAddress, raioKm, cacheKey);
+        }
+    }
+
+    /**
+     * Coordenadas do endereço, do {@link CacheGeocodificacao} ou geocodificadas pelo Network Service.
+     * Vazio quando a geocodificação falha ou não traz coordenadas; a busca então segue pelo endereço.
+     */
+    private Optional<CoordenadasDTO> geocodificar(String endereco) {
+        Optional<CoordenadasDTO> emCache = cacheGeocodificacao.buscar(endereco);
+        if (emCache.isPresent()) {
+            return emCache;
+        }
+        CoordenadasDTO coordenadas;
+        try {
+            coordenadas = bulkhead().executeSupplier(() -> client.geocodificar(endereco));
+        } catch (BulkheadFullException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (ContextoConsulta.expirado()) {
+                throw new DeadlineExceededException("Network Service");
+            }
+            log.warn("Geocodificação do endereço falhou, buscando unidades pelo endereço: {}", e.getMessage());
+            return Optional.empty();
+        }
+        if (coordenadas == null || coordenadas.latitude() == null || coordenadas.longitude() == null) {
+            log.debug("Endereço sem coordenadas na geocodificação, buscando unidades pelo endereço: {}", endereco);
+            return Optional.empty();
+        }
+        cacheGeocodificacao.guardar(endereco, coordenadas);
+        return Optional.of(coordenadas);
+    }
+
+    /**
+     * Busca por raio no catálogo local (ver {@link CatalogoUnidadesLocal}): do Network Service só é
+     * usada a geocodificação do endereço.
+     */
+    private BuscaUnidades buscarNoCatalogoLocal(CoordenadasDTO ponto, Double raio, String unidadeDistancia,
+                                                Consumer<List<UnidadeSaudeDTO>> aoReceberPagina) {
+        List<UnidadeSaudeDTO> unidades = catalogoLocal.buscarProximas(ponto.latitude(), ponto.longitude(),
+            raioEmKm(raio, unidadeDistancia), TAMANHO_PAGINA_UNICA);
+        log.debug("Catálogo local: {} unidades a até {} {} de ({}, {})", unidades.size(), raio, unidadeDistancia,
+            ponto.latitude(), ponto.longitude());
+        if (!unidades.isEmpty()) {
+            aoReceberPagina.accept(unidades);
+        }
+        return new BuscaUnidades(unidades, true, unidades.size() >= TAMANHO_PAGINA_UNICA);
+    }
+
+    /**
+     * Centro da célula geohash do ponto: com a chave por geocélula todos os endereços da célula buscam
+     * a partir do mesmo ponto e compartilham as sugestões em cache (distâncias com erro de até meia
+     * diagonal da célula, ~110 m na precisão 7).
+     */
+    private CoordenadasDTO centroDaCelula(CoordenadasDTO ponto) {
+        int precisao = properties.getCache().getChaveGeocelula().getPrecisao();
+        double[] centro = Geohash.centro(Geohash.codificar(ponto.latitude(), ponto.longitude(), precisao));
+        return new CoordenadasDTO(centro[0], centro[1]);
+    }
+
+    static double raioEmKm(double raio, String unidadeDistancia) {
+        return switch (unidadeDistancia.toUpperCase(Locale.ROOT)) {
+            case "METERS" -> raio / 1000.0;
+            case "MILES" -> raio * 1.609344;
+            default -> raio;
+        };
+    }
+
+    /**
+     * Atende a busca filtrando uma lista em cache do mesmo endereço com raio maior (ver
+     * {@link IndiceRaiosUnidades}). Vazio quando não há lista que sirva ou alguma distância da lista
+     * não pode ser interpretada.
+     */
+    private Optional<List<UnidadeSaudeDTO>> buscarEmRaioMaior(String baseAddress, double raioKm, String cacheKey) {
+        for (String chave : indiceRaios.chavesComRaioMaior(baseAddress, raioKm)) {
+            if (chave.equals(cacheKey)) {
+                continue;
+            }
+            Optional<List<UnidadeSaudeDTO>> filtradas = cachePort.getUnidades(chave, UnidadeSaudeDTO.class)
+                .flatMap(unidades -> filtrarPorRaio(unidades, raioKm));
+            if (filtradas.isPresent()) {
+                log.debug("Unidades de {} km filtradas da lista em cache {}", raioKm, chave);
+                return filtradas;
+            }
+        }
+        return Optional.empty();
+    }
+
+    static Optional<List<UnidadeSaudeDTO>> filtrarPorRaio(List<UnidadeSaudeDTO> unidades, double raioKm) {
+        List<UnidadeSaudeDTO> dentroDoRaio = new ArrayList<>();
+        for (UnidadeSaudeDTO unidade : unidades) {
+            double distanciaKm;
+            try {
+                distanciaKm = DistanceUtils.parseDistanceToKm(unidade.distance());
+            } catch (IllegalArgumentException e) {
+                return Optional.empty();
+            }
+            if (distanciaKm <= raioKm) {
+                dentroDoRaio.add(unidade);
+            }
+        }
+        return Optional.of(dentroDoRaio);
+    }
+
+    private BuscaUnidades buscarPaginaUnica(String endereco, Double raio, String unidadeDistancia,
+                                            Consumer<List<UnidadeSaudeDTO>> aoReceberPagina) {
+        // Network Service retorna uma Page; o decoder lê só id, nome e distância (UnidadeProximaResumoDTO) de cada unidade
+        List<UnidadeSaudeDTO> unidades = buscarPagina(endereco, raio, unidadeDistancia, 0, TAMANHO_PAGINA_UNICA).unidades();
+        if (!unidades.isEmpty()) {
+            aoReceberPagina.accept(unidades);
+        }
+        return new BuscaUnidades(unidades, true, unidades.size() >= TAMANHO_PAGINA_UNICA);
+    }
+
+    /**
+     * Busca paginada: a primeira página informa o total de páginas; as demais (até
+     * {@code paginacao.max-unidades}) são buscadas em paralelo, no máximo
+     * {@code paginacao.max-paginas-simultaneas} por vez, e entregues a {@code aoReceberPagina} na
+     * ordem em que chegam. O resultado final mantém a ordem das páginas. Falha ou prazo esgotado em
+     * uma página depois da primeira deixam o resultado parcial em vez de derrubar a consulta.
+     */
+    private BuscaUnidades buscarPaginado(String endereco, Double raio, String unidadeDistancia,
+                                         Consumer<List<UnidadeSaudeDTO>> aoReceberPagina) {
+        var paginacao = properties.getNetworkService().getPaginacao();
+        int tamanhoPagina = Math.max(1, paginacao.getTamanhoPagina());
+        int maxPaginas = Math.max(1, (paginacao.getMaxUnidades() + tamanhoPagina - 1) / tamanhoPagina);
+
+        PaginaUnidades primeira = buscarPagina(endereco, raio, unidadeDistancia, 0, tamanhoPagina);
+        if (!primeira.unidades().isEmpty()) {
+            aoReceberPagina.accept(primeira.unidades());
+        }
+        int totalPaginas = primeira.ultima() ? 1 : Math.min(Math.max(primeira.totalPaginas(), 1), maxPaginas);
+        boolean truncada = !primeira.ultima() && primeira.totalPaginas() > maxPaginas;
+        if (totalPaginas == 1) {
+            return new BuscaUnidades(primeira.unidades(), true, truncada);
+        }
+
+        List<List<UnidadeSaudeDTO>> paginas = new ArrayList<>(Collections.nCopies(totalPaginas, List.of()));
+        paginas.set(0, primeira.unidades());
+        boolean completa = true;
+        Semaphore permissoes = new Semaphore(Math.max(1, paginacao.getMaxPaginasSimultaneas()));
+        List<Future<PaginaUnidades>> pendentes = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<PaginaUnidades> conclusoes = new ExecutorCompletionService<>(executor);
+            try {
+                for (int numero = 1; numero < totalPaginas; numero++) {
+                    int pagina = numero;
+                    pendentes.add(conclusoes.submit(ContextoConsulta.propagar(() -> {
+                        permissoes.acquire();
+                        try {
+                            if (ContextoConsulta.expirado()) {
+                                throw new DeadlineExceededException("Network Service");
+                            }
+                            return buscarPagina(endereco, raio, unidadeDistancia, pagina, tamanhoPagina);
+                        } finally {
+                            permissoes.release();
+                        }
+                    })));
+                }
+
+                for (int recebidas = 1; recebidas < totalPaginas; recebidas++) {
+                    try {
+                        PaginaUnidades recebida = conclusoes.take().get();
+                        paginas.set(recebida.numero(), recebida.unidades());
+                        if (!recebida.unidades().isEmpty()) {
+                            aoReceberPagina.accept(recebida.unidades());
+                        }
+                    } catch (ExecutionException e) {
+                        completa = false;
+                        log.warn("Página de unidades do Network Service não obtida: {}",
+                            e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExternalServiceException("Network Service", "Busca paginada de unidades interrompida", e);
+            } finally {
+                pendentes.forEach(future -> future.cancel(true));
+            }
+        }
+
+        List<UnidadeSaudeDTO> unidades = new ArrayList<>();
+        paginas.forEach(unidades::addAll);
+        log.debug("Busca paginada: {} páginas de {} unidades, completa={}", totalPaginas, tamanhoPagina, completa);
+        return new BuscaUnidades(unidades, completa, truncada);
+    }
+
+    private PaginaUnidades buscarPagina(String endereco, Double raio, String unidadeDistancia, int pagina, int tamanho) {
+        PageResponseDTO<UnidadeProximaResumoDTO> pageResponse = bulkhead().executeSupplier(() -> client.buscarUnidadesProximas(
+            endereco, raio, unidadeDistancia, pagina, tamanho
+        ));
+        // Converter a projeção (id, nome e distância) para UnidadeSaudeDTO
+        List<UnidadeSaudeDTO> unidades = mapper.resumosToUnidadeSaudeDTOList(
+            pageResponse != null ? pageResponse.getContent() : List.of()
+        );
+        return new PaginaUnidades(
+            pagina,
+            unidades != null ? unidades : List.of(),
+            pageResponse == null || pageResponse.last(),
+            pageResponse != null ? pageResponse.totalPages() : 1
+        );
+    }
+
     @Override
     @CircuitBreaker(name = "networkService")
     @Retry(name = "networkService")
     public UnidadeSaudeDTO buscarUnidadePorId(UUID id) {
         log.debug("Buscando unidade por ID: {}", id);
-        return client.buscarUnidadePorId(id);
+        return bulkhead().executeSupplier(() -> client.buscarUnidadePorId(id));
+    }
+
+    /**
+     * Bulkhead do Network Service: limita as threads presas em chamadas lentas (read timeout de
+     * até 3 minutos), para que requisições atendidas pelo cache não fiquem sem threads.
+     */
+    private Bulkhead bulkhead() {
+        return bulkheadRegistry.bulkhead(BULKHEAD);
     }
 
     /**
@@ -152,4 +491,11 @@ public class NetworkServiceAdapter implements NetworkServicePort {
         
         return normalized;
     }
+
+    private record PaginaUnidades(int numero, List<UnidadeSaudeDTO> unidades, boolean ultima, int totalPaginas) {}
+
+    /**
+     * @param truncada se a busca parou no limite de unidades (pode haver mais unidades dentro do raio)
+     */
+    private record BuscaUnidades(List<UnidadeSaudeDTO> unidades, boolean completa, boolean truncada) {}
 }
@@ -1,8 +1,11 @@
 package com.fiap.sus.traffic.infrastructure.client;
 
 import com.fiap.sus.traffic.application.dto.UnidadeSaudeDTO;
-import com.fiap.sus.traffic.infrastructure.client.dto.HealthUnitResponseDTO;
+import com.fiap.sus.traffic.infrastructure.client.dto.CoordenadasDTO;
 import com.fiap.sus.traffic.infrastructure.client.dto.PageResponseDTO;
+import com.fiap.sus.traffic.infrastructure.client.dto.UnidadeCatalogoDTO;
+import com.fiap.sus.traffic.infrastructure.client.dto.UnidadeProximaResumoDTO;
+import com.fiap.sus.traffic.infrastructure.config.NetworkServiceFeignConfig;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,7 +16,8 @@ import java.util.UUID;
 @FeignClient(
     name = "networkService",
     url = "${traffic.intelligence.network-service.url}",
-    fallback = NetworkServiceClientFallback.class
+    fallback = NetworkServiceClientFallback.class,
+    configuration = NetworkServiceFeignConfig.class
 )
 public interface NetworkServiceClient {
 
@@ -22,6 +26,7 @@ public interface NetworkServiceClient {
      * O Network Service faz geocodificação do endereço e busca unidades dentro do raio especificado.
      * 
      * O Network Service retorna uma Page, então recebemos como PageResponseDTO e extraímos o content.
+     * De cada unidade são lidos apenas id, nome e distância (ver {@link UnidadeProximaResumoDTO}).
      * 
      * @param baseAddress Endereço de referência (ex: "Av. Paulista, 1000, São Paulo, SP")
      * @param radius Raio de busca
@@ -29,7 +34,7 @@ public interface NetworkServiceClient {
      * @return Page contendo lista de unidades de saúde próximas com distância calculada
      */
     @GetMapping("/units/nearby")
-    PageResponseDTO<HealthUnitResponseDTO> buscarUnidadesProximas(
+    PageResponseDTO<UnidadeProximaResumoDTO> buscarUnidadesProximas(
         @RequestParam("baseAddress") String baseAddress,
         @RequestParam(value = "radius", required = false, defaultValue = "50.0") Double radius,
         @RequestParam(value = "distanceUnit", required = false, defaultValue = "KM") String distanceUnit,
@@ -39,4 +44,20 @@ public interface NetworkServiceClient {
 
     @GetMapping("/units/{id}")
     UnidadeSaudeDTO buscarUnidadePorId(@PathVariable UUID id);
+
+    /**
+     * Lista o catálogo de unidades com as coordenadas, página a página.
+     * Usado apenas na sincronização do catálogo local.
+     */
+    @GetMapping("/units")
+    PageResponseDTO<UnidadeCatalogoDTO> listarUnidades(
+        @RequestParam("page") int page,
+        @RequestParam("size") int size
+    );
+
+    /**
+     * Geocodifica o endereço de referência (usado com o catálogo local, que faz a busca por raio).
+     */
+    @GetMapping("/geocoding")
+    CoordenadasDTO geocodificar(@RequestParam("address") String address);
 }
@@ -1,8 +1,10 @@
 package com.fiap.sus.traffic.infrastructure.client;
 
 import com.fiap.sus.traffic.application.dto.UnidadeSaudeDTO;
-import com.fiap.sus.traffic.infrastructure.client.dto.HealthUnitResponseDTO;
+import com.fiap.sus.traffic.infrastructure.client.dto.CoordenadasDTO;
 import com.fiap.sus.traffic.infrastructure.client.dto.PageResponseDTO;
+import com.fiap.sus.traffic.infrastructure.client.dto.UnidadeCatalogoDTO;
+import com.fiap.sus.traffic.infrastructure.client.dto.UnidadeProximaResumoDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -14,7 +16,7 @@ import java.util.UUID;
 public class NetworkServiceClientFallback implements NetworkServiceClient {
 
     @Override
-    public PageResponseDTO<HealthUnitResponseDTO> buscarUnidadesProximas(String baseAddress, Double radius, String distanceUnit, int page, int size) {
+    public PageResponseDTO<UnidadeProximaResumoDTO> buscarUnidadesProximas(String baseAddress, Double radius, String distanceUnit, int page, int size) {
         log.warn("Fallback: Network Service indisponível. Retornando página vazia para busca por endereço: {}, raio: {} {}", baseAddress, radius, distanceUnit);
         return new PageResponseDTO<>(Collections.emptyList(), 0, 0, size, page, true, true, 0);
     }
@@ -24,4 +26,16 @@ public class NetworkServiceClientFallback implements NetworkServiceClient {
         log.warn("Fallback: Network Service indisponível. Não foi possível buscar unidade {}", id);
         return null;
     }
+
+    @Override
+    public PageResponseDTO<UnidadeCatalogoDTO> listarUnidades(int page, int size) {
+        log.warn("Fallback: Network Service indisponível. Retornando página vazia do catálogo (página {})", page);
+        return new PageResponseDTO<>(Collections.emptyList(), 0, 0, size, page, true, true, 0);
+    }
+
+    @Override
+    public CoordenadasDTO geocodificar(String address) {
+        log.warn("Fallback: Network Service indisponível. Não foi possível geocodificar endereço: {}", address);
+        return null;
+    }
 }
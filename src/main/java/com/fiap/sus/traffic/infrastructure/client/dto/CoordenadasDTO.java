@@ -0,0 +1,13 @@
+package com.fiap.sus.traffic.infrastructure.client.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Resultado da geocodificação de um endereço pelo Network Service ({@code GET /geocoding}).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CoordenadasDTO(
+    @JsonProperty("latitude") Double latitude,
+    @JsonProperty("longitude") Double longitude
+) {}
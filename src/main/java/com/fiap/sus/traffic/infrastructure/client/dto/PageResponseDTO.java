@@ -7,7 +7,7 @@ import java.util.List;
 
 /**
  * DTO intermediário para receber respostas paginadas do Network Service.
- * Usado para deserializar Page<HealthUnitResponse> antes de converter para List<UnidadeSaudeDTO>.
+ * Usado para deserializar a Page de unidades próximas (projeção UnidadeProximaResumoDTO) e do catálogo.
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public record PageResponseDTO<T>(
@@ -0,0 +1,18 @@
+package com.fiap.sus.traffic.infrastructure.client.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.UUID;
+
+/**
+ * Unidade do catálogo do Network Service ({@code GET /units}), com as coordenadas usadas pela
+ * réplica local (ver {@link com.fiap.sus.traffic.infrastructure.catalogo.CatalogoUnidadesLocal}).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record UnidadeCatalogoDTO(
+    @JsonProperty("id") UUID id,
+    @JsonProperty("name") String name,
+    @JsonProperty("latitude") Double latitude,
+    @JsonProperty("longitude") Double longitude
+) {}
@@ -0,0 +1,25 @@
+package com.fiap.sus.traffic.infrastructure.client.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.UUID;
+
+/**
+ * Projeção de HealthUnitResponse com apenas os campos usados no ranqueamento (id, nome e distância),
+ * mais as coordenadas quando o Network Service as informa (opcionais).
+ * Endereço, contatos e CNPJ da resposta do Network Service são descartados na leitura
+ * (ver {@link com.fiap.sus.traffic.infrastructure.config.UnidadesProximasDecoder}).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record UnidadeProximaResumoDTO(
+    @JsonProperty("id") UUID id,
+    @JsonProperty("name") String name,
+    @JsonProperty("distance") String distance,
+    @JsonProperty("latitude") Double latitude,
+    @JsonProperty("longitude") Double longitude
+) {
+    public UnidadeProximaResumoDTO(UUID id, String name, String distance) {
+        this(id, name, distance, null, null);
+    }
+}
@@ -34,6 +34,7 @@ public class CorsConfig {
             "Accept",
             "Authorization",
             "X-Requested-With",
+            "X-Deadline-Ms",
             "Access-Control-Request-Method",
             "Access-Control-Request-Headers"
         ));
@@ -0,0 +1,55 @@
+package com.fiap.sus.traffic.infrastructure.config;
+
+import com.fiap.sus.traffic.core.exception.DeadlineExceededException;
+import com.fiap.sus.traffic.shared.context.ContextoConsulta;
+import com.fiap.sus.traffic.shared.context.Deadline;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client Feign que limita connect/read timeout ao tempo restante do prazo da consulta.
+ * Chamadas feitas fora de uma consulta (sem prazo) usam os timeouts configurados normalmente.
+ */
+@Slf4j
+public class DeadlineAwareFeignClient implements Client {
+
+    private final Client delegate;
+
+    public DeadlineAwareFeignClient(Client delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Optional<Deadline> deadline = ContextoConsulta.deadlineAtual();
+        if (deadline.isEmpty()) {
+            return delegate.execute(request, options);
+        }
+
+        Duration restante = deadline.get().tempoRestante();
+        if (restante.isZero()) {
+            throw new DeadlineExceededException(request.httpMethod() + " " + request.url());
+        }
+
+        Duration connectTimeout = deadline.get().limitar(
+            Duration.ofMillis(options.connectTimeoutUnit().toMillis(options.connectTimeout())));
+        Duration readTimeout = deadline.get().limitar(
+            Duration.ofMillis(options.readTimeoutUnit().toMillis(options.readTimeout())));
+
+        log.debug("Feign Request com prazo: {} {} (connect={}ms, read={}ms)",
+            request.httpMethod(), request.url(), connectTimeout.toMillis(), readTimeout.toMillis());
+
+        return delegate.execute(request, new Request.Options(
+            Math.max(1, connectTimeout.toMillis()), TimeUnit.MILLISECONDS,
+            Math.max(1, readTimeout.toMillis()), TimeUnit.MILLISECONDS,
+            options.isFollowRedirects()
+        ));
+    }
+}
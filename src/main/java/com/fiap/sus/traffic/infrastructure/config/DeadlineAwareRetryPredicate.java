@@ -0,0 +1,31 @@
+package com.fiap.sus.traffic.infrastructure.config;
+
+import com.fiap.sus.traffic.core.exception.DeadlineExceededException;
+import com.fiap.sus.traffic.core.exception.LimiteConcorrenciaExcedidoException;
+import com.fiap.sus.traffic.shared.context.ContextoConsulta;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+/**
+ * Predicado dos retries programáticos do LiveOps ({@code LiveOpsServiceAdapter}) que não tenta de novo
+ * quando o prazo da consulta já se esgotou ou não comporta a espera até a próxima tentativa.
+ */
+public class DeadlineAwareRetryPredicate implements Predicate<Throwable> {
+
+    /**
+     * Menor tempo restante que justifica uma nova tentativa (espera mais uma resposta típica do LiveOps).
+     */
+    static final Duration ORCAMENTO_MINIMO_RETRY = Duration.ofMillis(500);
+
+    @Override
+    public boolean test(Throwable throwable) {
+        // Recusas do limite de concorrência indicam upstream sobrecarregado: repetir só aumentaria a carga
+        if (throwable instanceof DeadlineExceededException || throwable instanceof LimiteConcorrenciaExcedidoException) {
+            return false;
+        }
+        return ContextoConsulta.tempoRestante()
+            .map(restante -> restante.compareTo(ORCAMENTO_MINIMO_RETRY) > 0)
+            .orElse(true);
+    }
+}
@@ -1,5 +1,8 @@
 package com.fiap.sus.traffic.infrastructure.config;
 
+import com.fiap.sus.traffic.infrastructure.resilience.ConcurrencyLimitingFeignClient;
+import com.fiap.sus.traffic.infrastructure.resilience.LimitadoresConcorrencia;
+import feign.Client;
 import feign.Logger;
 import feign.Request;
 import feign.RequestInterceptor;
@@ -9,12 +12,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 @Configuration
 @Slf4j
 public class FeignConfig {
 
+    static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    static final Duration READ_TIMEOUT = Duration.ofMinutes(3);
+
     @Bean
     public Logger.Level feignLoggerLevel() {
         return Logger.Level.BASIC;
@@ -43,6 +50,16 @@ public class FeignConfig {
         };
     }
 
+    /**
+     * Client HTTP que respeita o prazo da consulta em andamento (ver {@link DeadlineAwareFeignClient})
+     * e o limite adaptativo de chamadas simultâneas por serviço (ver {@link ConcurrencyLimitingFeignClient}).
+     */
+    @Bean
+    public Client feignClient(LimitadoresConcorrencia limitadoresConcorrencia) {
+        return new DeadlineAwareFeignClient(
+            new ConcurrencyLimitingFeignClient(new Client.Default(null, null), limitadoresConcorrencia));
+    }
+
     /**
      * Configuração de timeout para o Feign Client.
      * Timeout de 3 minutos para processar grandes volumes de dados.
@@ -50,9 +67,9 @@ public class FeignConfig {
     @Bean
     public Request.Options requestOptions() {
         return new Request.Options(
-            5, TimeUnit.SECONDS,      // connectTimeout: 5 segundos
-            180, TimeUnit.SECONDS,    // readTimeout: 3 minutos
-            true                      // followRedirects
+            CONNECT_TIMEOUT.toSeconds(), TimeUnit.SECONDS,  // connectTimeout: 5 segundos
+            READ_TIMEOUT.toSeconds(), TimeUnit.SECONDS,     // readTimeout: 3 minutos
+            true                                            // followRedirects
         );
     }
 }
@@ -22,6 +22,12 @@ public class FeignErrorDecoder implements ErrorDecoder {
 
     @Override
     public Exception decode(String methodKey, Response response) {
+        // 304 é a resposta esperada de um GET condicional (If-None-Match), não um erro:
+        // o chamador trata o status e reaproveita o valor que já tem
+        if (response.status() == 304) {
+            return defaultErrorDecoder.decode(methodKey, response);
+        }
+
         log.error("Erro na chamada Feign: {} - Status: {}", methodKey, response.status());
         
         // Para erros 4xx, usar HttpClientErrorException (reconhecida pelo Circuit Breaker)
@@ -0,0 +1,57 @@
+package com.fiap.sus.traffic.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.sus.traffic.infrastructure.cache.IndicadoresMaterializados;
+import com.fiap.sus.traffic.infrastructure.mapper.LiveOpsAnalyticsMapper;
+import com.fiap.sus.traffic.infrastructure.stream.IndicadoresStreamListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+
+import java.time.Duration;
+
+/**
+ * Consumo do Redis Stream de mudanças de indicadores do LiveOps.
+ * Cada instância lê o stream inteiro a partir do fim (sem consumer group), pois todas mantêm
+ * a própria visão em memória.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "traffic.intelligence.liveops-service.stream", name = "habilitado", havingValue = "true")
+@Slf4j
+public class IndicadoresStreamConfig {
+
+    @Bean
+    public IndicadoresStreamListener indicadoresStreamListener(IndicadoresMaterializados indicadoresMaterializados,
+                                                               LiveOpsAnalyticsMapper mapper,
+                                                               ObjectMapper objectMapper) {
+        return new IndicadoresStreamListener(indicadoresMaterializados, mapper, objectMapper);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public StreamMessageListenerContainer<String, MapRecord<String, String, String>> indicadoresStreamContainer(
+            RedisConnectionFactory connectionFactory,
+            IndicadoresStreamListener listener,
+            TrafficIntelligenceProperties properties) {
+        String chave = properties.getLiveopsService().getStream().getChave();
+
+        StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
+            StreamMessageListenerContainerOptions.builder()
+                .pollTimeout(Duration.ofSeconds(1))
+                .errorHandler(e -> log.warn("Erro ao ler stream de indicadores: {}", e.getMessage()))
+                .build();
+
+        StreamMessageListenerContainer<String, MapRecord<String, String, String>> container =
+            StreamMessageListenerContainer.create(connectionFactory, options);
+        container.receive(StreamOffset.create(chave, ReadOffset.latest()), listener);
+
+        log.info("Consumindo eventos de indicadores do stream '{}'", chave);
+        return container;
+    }
+}
@@ -21,7 +21,8 @@ public class LiveOpsServiceFeignConfig {
 
     /**
      * Interceptor que adiciona o token JWT no header Authorization
-     * para todas as requisições ao LiveOps Service.
+     * para todas as requisições ao LiveOps Service. O token vem do cache do {@link JwtService}:
+     * a assinatura RSA não acontece a cada requisição.
      */
     @Bean
     public RequestInterceptor liveOpsServiceRequestInterceptor() {
@@ -31,7 +32,7 @@ public class LiveOpsServiceFeignConfig {
                 String token = jwtService.generateToken();
                 if (token != null) {
                     template.header("Authorization", "Bearer " + token);
-                    log.info("✅ Token JWT gerado e adicionado ao header Authorization para LiveOps Service (tamanho: {} caracteres)", token.length());
+                    log.debug("Token JWT adicionado ao header Authorization para LiveOps Service (tamanho: {} caracteres)", token.length());
                 } else {
                     log.error("❌ Não foi possível gerar token JWT. Requisição ao LiveOps Service vai falhar com 401.");
                 }
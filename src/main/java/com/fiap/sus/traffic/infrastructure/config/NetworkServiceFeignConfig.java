@@ -0,0 +1,29 @@
+package com.fiap.sus.traffic.infrastructure.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Configuração específica para o Feign Client do Network Service.
+ * Sem {@code @Configuration}: registrada apenas em {@code @FeignClient(configuration = ...)}, para que o
+ * decoder de streaming não substitua o decoder do LiveOps Service.
+ */
+public class NetworkServiceFeignConfig {
+
+    /**
+     * Decoder que lê a busca de unidades próximas em streaming (ver {@link UnidadesProximasDecoder});
+     * as demais respostas usam o decoder padrão do Spring Cloud OpenFeign.
+     */
+    @Bean
+    public Decoder networkServiceDecoder(ObjectFactory<HttpMessageConverters> messageConverters,
+                                         ObjectMapper objectMapper) {
+        return new UnidadesProximasDecoder(objectMapper.getFactory(),
+            new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(messageConverters))));
+    }
+}
@@ -17,6 +17,8 @@ public class TrafficIntelligenceProperties {
     private LiveOpsService liveopsService = new LiveOpsService();
     private Cache cache = new Cache();
     private Algoritmo algoritmo = new Algoritmo();
+    private Deadline deadline = new Deadline();
+    private LimiteConcorrencia limiteConcorrencia = new LimiteConcorrencia();
 
     @Getter
     @Setter
@@ -24,6 +26,36 @@ public class TrafficIntelligenceProperties {
         private String url;
         private int timeout = 180000;  // 3 minutos - necessário para processar grandes volumes (596k+ unidades)
         private int connectTimeout = 5000;
+        private Paginacao paginacao = new Paginacao();
+        private CatalogoLocal catalogoLocal = new CatalogoLocal();
+
+        /**
+         * Busca das unidades próximas em páginas menores, várias em paralelo, entregues à consulta à
+         * medida que chegam (os indicadores de cada página começam a ser buscados antes da última).
+         */
+        @Getter
+        @Setter
+        public static class Paginacao {
+            private boolean habilitado = false;
+            private int tamanhoPagina = 100;
+            private int maxPaginasSimultaneas = 4;
+            private int maxUnidades = 1000;  // mesmo limite da busca em página única
+        }
+
+        /**
+         * Réplica local do catálogo de unidades (id, nome e coordenadas) em um índice espacial: a busca
+         * por raio e as distâncias são calculadas no processo, e o Network Service só geocodifica o
+         * endereço. Exige os endpoints {@code GET /units} (catálogo paginado com latitude/longitude) e
+         * {@code GET /geocoding} no Network Service.
+         */
+        @Getter
+        @Setter
+        public static class CatalogoLocal {
+            private boolean habilitado = false;
+            private Duration intervaloSincronizacao = Duration.ofHours(1);
+            private int tamanhoPagina = 1000;
+            private String snapshot;  // arquivo do snapshot binário (vazio desativa); em Cloud Run, em um volume compartilhado
+        }
     }
 
     @Getter
@@ -33,15 +65,153 @@ public class TrafficIntelligenceProperties {
         private String privateKey; // Chave privada para autenticação JWT
         private int timeout = 2000;
         private int connectTimeout = 1000;
+        private FanOut fanOut = new FanOut();
+        private Lote lote = new Lote();
+        private Hedge hedge = new Hedge();
+        private Retry retry = new Retry();
+        private Stream stream = new Stream();
+        private AtualizacaoPopulares atualizacaoPopulares = new AtualizacaoPopulares();
+
+        /**
+         * Busca concorrente (virtual threads) dos indicadores das unidades candidatas.
+         */
+        @Getter
+        @Setter
+        public static class FanOut {
+            private boolean habilitado = true;
+            private int maxConcorrencia = 32;  // chamadas simultâneas ao LiveOps por consulta
+        }
+
+        /**
+         * Busca em lote: cache misses enviados ao endpoint de lote do LiveOps.
+         */
+        @Getter
+        @Setter
+        public static class Lote {
+            private boolean habilitado = true;
+            private int tamanho = 100;  // unidades por requisição ao LiveOps
+        }
+
+        /**
+         * Hedging: segunda requisição idêntica quando a primeira não responde até o percentil observado.
+         */
+        @Getter
+        @Setter
+        public static class Hedge {
+            private boolean habilitado = false;
+            private double percentil = 0.95;  // atraso antes do hedge (p95 das latências recentes)
+            private double percentualMaximo = 0.05;  // no máximo 5% de requisições extras
+            private int rajadaMaxima = 10;  // hedges acumulados disponíveis para picos
+            private int minimoAmostras = 100;  // latências observadas antes de começar a fazer hedge
+        }
+
+        /**
+         * Retries das falhas transitórias de cada unidade. Com o read timeout de 2s do LiveOps, uma unidade
+         * leva no pior caso 2s + 200ms + 2s, dentro de um prazo de 10s com folga para o Network Service;
+         * as unidades são buscadas em paralelo e o orçamento por consulta limita as chamadas extras.
+         */
+        @Getter
+        @Setter
+        public static class Retry {
+            private int maxTentativas = 2;
+            private Duration espera = Duration.ofMillis(200);
+            private double multiplicador = 2.0;
+            private int maximoPorConsulta = 3;  // retries somando todas as unidades de uma consulta
+            private double percentualMaximo = 0.1;  // retries da instância limitados a 10% das primeiras tentativas
+            private int rajadaMaxima = 20;
+        }
+
+        /**
+         * Visão em memória alimentada pelo Redis Stream de mudanças de indicadores do LiveOps.
+         */
+        @Getter
+        @Setter
+        public static class Stream {
+            private boolean habilitado = false;
+            private String chave = "liveops:indicadores";
+            private Duration idadeMaxima = Duration.ofSeconds(60);  // stream sem eventos há mais tempo: registros mais antigos voltam ao HTTP
+            private int maxUnidades = 50000;  // unidades na visão em memória (LRU)
+        }
+
+        /**
+         * Renovação em segundo plano dos indicadores das unidades mais consultadas.
+         */
+        @Getter
+        @Setter
+        public static class AtualizacaoPopulares {
+            private boolean habilitado = true;
+            private Duration intervalo = Duration.ofSeconds(20);  // menor que o ttl-indicadores
+            private int topN = 200;  // unidades renovadas por ciclo (limita a carga no LiveOps)
+        }
     }
 
     @Getter
     @Setter
     public static class Cache {
         private Duration ttlIndicadores = Duration.ofSeconds(30);
+        private Duration ttlIndicadoresStale = Duration.ofSeconds(270);  // servidos expirados enquanto revalidam (0 desativa)
+        private Duration ttlIndicadoresNegativo = Duration.ofSeconds(30);  // unidades que o LiveOps respondeu com 4xx (0 desativa)
         private Duration ttlUnidades = Duration.ofSeconds(60);
         private Duration ttlPesos = Duration.ofSeconds(300);
         private Duration ttlSugestoes = Duration.ofSeconds(300);  // 5 minutos
+        private Duration ttlSugestoesParciais = Duration.ofSeconds(10);  // sugestões com indicadores defasados ou padrão
+        private Duration ttlGeocodificacao = Duration.ofDays(7);  // coordenadas de um endereço praticamente não mudam
+        private int maxGeocodificacoesLocais = 10000;  // entradas do nível em memória (LRU) antes do Redis
+        private TtlAdaptativo ttlAdaptativo = new TtlAdaptativo();
+        private ChaveGeocelula chaveGeocelula = new ChaveGeocelula();
+
+        /**
+         * TTL dos indicadores por unidade conforme a volatilidade observada entre buscas:
+         * sem variação usa {@code maximo}; variação média a partir de {@code variacaoReferencia}
+         * usa {@code minimo}. Antes da segunda busca vale {@code ttlIndicadores}. A volatilidade é
+         * guardada para no máximo {@code maxUnidades} unidades (as menos acessadas são descartadas).
+         */
+        @Getter
+        @Setter
+        public static class TtlAdaptativo {
+            private boolean habilitado = true;
+            private Duration minimo = Duration.ofSeconds(10);
+            private Duration maximo = Duration.ofSeconds(120);
+            private double variacaoReferencia = 0.2;  // 20% de variação relativa entre buscas
+            private int maxUnidades = 50000;
+        }
+
+        /**
+         * Sugestões em cache por célula geohash do endereço geocodificado, em vez de por endereço: a
+         * busca no catálogo local parte do centro da célula, então endereços vizinhos têm o mesmo
+         * resultado e compartilham a entrada (e o processamento em andamento). As distâncias têm erro de
+         * até meia diagonal da célula. Exige a geocodificação no Network Service ({@code GET /geocoding})
+         * e o {@code network-service.catalogo-local} habilitado (a aplicação não sobe sem ele).
+         */
+        @Getter
+        @Setter
+        public static class ChaveGeocelula {
+            private boolean habilitado = false;
+            private int precisao = 7;  // células de ~153 m x 153 m
+        }
+    }
+
+    /**
+     * Orçamento de tempo de cada consulta de direcionamento (header X-Deadline-Ms).
+     * Sem o header, o padrão é o connect + read timeout do Feign: a consulta não termina em 504
+     * antes de a busca no Network Service esgotar o próprio timeout.
+     */
+    @Getter
+    @Setter
+    public static class Deadline {
+        private Duration padrao = FeignConfig.CONNECT_TIMEOUT.plus(FeignConfig.READ_TIMEOUT);  // usado quando o cliente não informa o header
+        private Duration maximo = Duration.ofSeconds(60);  // limite para o valor informado pelo cliente
+    }
+
+    @Getter
+    @Setter
+    public static class LimiteConcorrencia {
+        private boolean habilitado = true;
+        private int limiteInicial = 20;  // chamadas simultâneas por serviço externo antes de qualquer ajuste
+        private int limiteMinimo = 2;
+        private int limiteMaximo = 200;
+        private double toleranciaLatencia = 2.0;  // reduz o limite quando a latência passa de 2x a referência
+        private double fatorReducao = 0.9;
     }
 
     @Getter
@@ -52,6 +222,7 @@ public class TrafficIntelligenceProperties {
         private double raioDefaultKm = 50.0;
         private double raioMinimoKm = 1.0;
         private double raioMaximoKm = 100.0;
+        private BuscaLimitada buscaLimitada = new BuscaLimitada();
 
         @Getter
         @Setter
@@ -61,5 +232,16 @@ public class TrafficIntelligenceProperties {
             private double ocupacao = 0.2;
             private double especialidade = 0.1;
         }
+
+        /**
+         * Busca de indicadores por ordem de distância (branch-and-bound), parando quando nenhuma
+         * unidade restante consegue entrar entre as {@code maxSugestoes} melhores.
+         */
+        @Getter
+        @Setter
+        public static class BuscaLimitada {
+            private boolean habilitado = false;
+            private int tamanhoLote = 10;  // unidades cujos indicadores são buscados a cada rodada
+        }
     }
 }
@@ -0,0 +1,130 @@
+package com.fiap.sus.traffic.infrastructure.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fiap.sus.traffic.infrastructure.client.dto.PageResponseDTO;
+import com.fiap.sus.traffic.infrastructure.client.dto.UnidadeProximaResumoDTO;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Decoder da busca de unidades próximas: lê a página do Network Service com o parser de streaming
+ * do Jackson e guarda de cada unidade só id, nome, distância e, se houver, coordenadas
+ * ({@link UnidadeProximaResumoDTO}).
+ * Endereço, contatos e demais campos são pulados sem criar objetos, o que reduz a alocação em
+ * páginas de até 1000 unidades. Outros tipos de retorno vão para o decoder padrão.
+ */
+public class UnidadesProximasDecoder implements Decoder {
+
+    private final JsonFactory jsonFactory;
+    private final Decoder delegate;
+
+    public UnidadesProximasDecoder(JsonFactory jsonFactory, Decoder delegate) {
+        this.jsonFactory = jsonFactory;
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (!paginaDeUnidades(type) || response.body() == null) {
+            return delegate.decode(response, type);
+        }
+        try (InputStream corpo = response.body().asInputStream();
+             JsonParser parser = jsonFactory.createParser(corpo)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new DecodeException(response.status(),
+                    "Resposta do Network Service não é uma página de unidades", response.request());
+            }
+            return lerPagina(parser, response);
+        } catch (IllegalArgumentException e) {
+            throw new DecodeException(response.status(),
+                "Id de unidade inválido na resposta do Network Service: " + e.getMessage(), response.request(), e);
+        }
+    }
+
+    static boolean paginaDeUnidades(Type type) {
+        return type instanceof ParameterizedType parametrizado
+            && parametrizado.getRawType() == PageResponseDTO.class
+            && parametrizado.getActualTypeArguments()[0] == UnidadeProximaResumoDTO.class;
+    }
+
+    private PageResponseDTO<UnidadeProximaResumoDTO> lerPagina(JsonParser parser, Response response) throws IOException {
+        List<UnidadeProximaResumoDTO> unidades = List.of();
+        long totalElements = 0;
+        int totalPages = 0;
+        int size = 0;
+        int number = 0;
+        boolean first = false;
+        boolean last = false;
+        int numberOfElements = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.currentName();
+            parser.nextToken();
+            switch (campo) {
+                case "content" -> unidades = lerUnidades(parser, response);
+                case "totalElements" -> totalElements = parser.getValueAsLong();
+                case "totalPages" -> totalPages = parser.getValueAsInt();
+                case "size" -> size = parser.getValueAsInt();
+                case "number" -> number = parser.getValueAsInt();
+                case "first" -> first = parser.getValueAsBoolean();
+                case "last" -> last = parser.getValueAsBoolean();
+                case "numberOfElements" -> numberOfElements = parser.getValueAsInt();
+                default -> parser.skipChildren();
+            }
+        }
+        return new PageResponseDTO<>(unidades, totalElements, totalPages, size, number, first, last, numberOfElements);
+    }
+
+    private List<UnidadeProximaResumoDTO> lerUnidades(JsonParser parser, Response response) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return List.of();
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new DecodeException(response.status(),
+                "Campo content da resposta do Network Service não é uma lista", response.request());
+        }
+        List<UnidadeProximaResumoDTO> unidades = new ArrayList<>();
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                unidades.add(lerUnidade(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return unidades;
+    }
+
+    private UnidadeProximaResumoDTO lerUnidade(JsonParser parser) throws IOException {
+        UUID id = null;
+        String nome = null;
+        String distancia = null;
+        Double latitude = null;
+        Double longitude = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.currentName();
+            JsonToken valor = parser.nextToken();
+            switch (campo) {
+                case "id" -> id = valor == JsonToken.VALUE_NULL ? null : UUID.fromString(parser.getText());
+                case "name" -> nome = parser.getValueAsString();
+                // Distância numérica vira texto, como no binding do Jackson para String
+                case "distance" -> distancia = parser.getValueAsString();
+                case "latitude" -> latitude = valor.isNumeric() ? parser.getDoubleValue() : null;
+                case "longitude" -> longitude = valor.isNumeric() ? parser.getDoubleValue() : null;
+                default -> parser.skipChildren();
+            }
+        }
+        return new UnidadeProximaResumoDTO(id, nome, distancia, latitude, longitude);
+    }
+}
@@ -2,6 +2,7 @@ package com.fiap.sus.traffic.infrastructure.mapper;
 
 import com.fiap.sus.traffic.application.dto.IndicadoresDTO;
 import com.fiap.sus.traffic.application.dto.UnitAnalyticsDTO;
+import com.fiap.sus.traffic.domain.model.ProcedenciaIndicadores;
 import com.fiap.sus.traffic.domain.model.RiskClassification;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -91,7 +92,8 @@ public class LiveOpsAnalyticsMapper {
             tmaPadrao,
             0,
             0,
-            20
+            20,
+            ProcedenciaIndicadores.DEFAULT
         );
     }
 }
@@ -1,63 +1,41 @@
 package com.fiap.sus.traffic.infrastructure.mapper;
 
 import com.fiap.sus.traffic.application.dto.UnidadeSaudeDTO;
-import com.fiap.sus.traffic.infrastructure.client.dto.HealthUnitResponseDTO;
+import com.fiap.sus.traffic.infrastructure.client.dto.UnidadeProximaResumoDTO;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * Mapper para converter HealthUnitResponseDTO (formato do Network Service) em UnidadeSaudeDTO (formato interno).
+ * Mapper para converter UnidadeProximaResumoDTO (projeção da resposta do Network Service) em UnidadeSaudeDTO (formato interno).
  */
 @Component
 public class NetworkServiceMapper {
 
     /**
-     * Converte HealthUnitResponseDTO do Network Service para UnidadeSaudeDTO usado internamente.
+     * Converte a projeção lida na busca de unidades próximas para UnidadeSaudeDTO.
+     * Endereço e contatos não são lidos do Network Service, então ficam vazios.
      */
-    public UnidadeSaudeDTO toUnidadeSaudeDTO(HealthUnitResponseDTO response) {
-        if (response == null) {
+    public UnidadeSaudeDTO resumoToUnidadeSaudeDTO(UnidadeProximaResumoDTO resumo) {
+        if (resumo == null) {
             return null;
         }
 
-        return new UnidadeSaudeDTO(
-            response.id(),
-            response.name(),
-            response.cnpj(),
-            response.address() != null ? new UnidadeSaudeDTO.AddressDTO(
-                null, // AddressResponse do Network Service não tem id
-                response.address().street(),
-                response.address().number(),
-                response.address().complement(),
-                response.address().neighborhood(),
-                response.address().city(),
-                response.address().state(),
-                response.address().zipCode()
-            ) : null,
-            response.contacts() != null 
-                ? response.contacts().stream()
-                    .map(contact -> new UnidadeSaudeDTO.ContactDTO(
-                        contact.id(),
-                        contact.value(),
-                        contact.getTypeAsString() // Converte enum ou String para String
-                    ))
-                    .collect(Collectors.toList())
-                : List.of(),
-            response.distance()
-        );
+        return new UnidadeSaudeDTO(resumo.id(), resumo.name(), null, null, List.of(), resumo.distance(),
+            resumo.latitude(), resumo.longitude());
     }
 
     /**
-     * Converte lista de HealthUnitResponseDTO para lista de UnidadeSaudeDTO.
+     * Converte lista de UnidadeProximaResumoDTO para lista de UnidadeSaudeDTO.
      */
-    public List<UnidadeSaudeDTO> toUnidadeSaudeDTOList(List<HealthUnitResponseDTO> responses) {
-        if (responses == null || responses.isEmpty()) {
+    public List<UnidadeSaudeDTO> resumosToUnidadeSaudeDTOList(List<UnidadeProximaResumoDTO> resumos) {
+        if (resumos == null || resumos.isEmpty()) {
             return List.of();
         }
 
-        return responses.stream()
-            .map(this::toUnidadeSaudeDTO)
+        return resumos.stream()
+            .map(this::resumoToUnidadeSaudeDTO)
             .filter(dto -> dto != null)
             .collect(Collectors.toList());
     }
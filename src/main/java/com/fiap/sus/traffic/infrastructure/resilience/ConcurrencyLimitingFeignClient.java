@@ -0,0 +1,111 @@
+package com.fiap.sus.traffic.infrastructure.resilience;
+
+import com.fiap.sus.traffic.core.exception.LimiteConcorrenciaExcedidoException;
+import com.fiap.sus.traffic.shared.context.ContextoConsulta;
+import com.fiap.sus.traffic.shared.util.LimitadorAdaptativo;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Client Feign que limita as chamadas simultâneas a cada serviço externo (nome do Feign Client)
+ * com um limite adaptativo. Chamadas acima do limite esperam uma vaga dentro do prazo restante da
+ * consulta (sem prazo, até o timeout de conexão da requisição) e só então são recusadas, sem chegar
+ * ao upstream: um fan-out maior que o limite entra em fila em vez de perder as chamadas excedentes.
+ * A latência considerada é o tempo até a resposta (cabeçalhos); erros de I/O e respostas 429/503
+ * contam como sobrecarga, exceto o timeout de uma chamada encurtada pelo prazo da
+ * consulta ({@link com.fiap.sus.traffic.infrastructure.config.DeadlineAwareFeignClient}, que envolve este
+ * client): o prazo curto de quem chamou não indica sobrecarga do upstream e só libera a vaga.
+ * O mesmo vale para a chamada interrompida por quem chamou (ex.: requisição hedge que perdeu).
+ */
+@Slf4j
+public class ConcurrencyLimitingFeignClient implements Client {
+
+    private static final Duration TOLERANCIA_PRAZO = Duration.ofMillis(20);
+
+    private final Client delegate;
+    private final LimitadoresConcorrencia limitadores;
+
+    public ConcurrencyLimitingFeignClient(Client delegate, LimitadoresConcorrencia limitadores) {
+        this.delegate = delegate;
+        this.limitadores = limitadores;
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (!limitadores.habilitado()) {
+            return delegate.execute(request, options);
+        }
+
+        String upstream = upstream(request);
+        LimitadorAdaptativo limitador = limitadores.doUpstream(upstream);
+        if (!adquirir(limitador, options)) {
+            log.warn("Chamada a {} recusada: limite de {} chamadas simultâneas atingido", upstream, limitador.limite());
+            throw new LimiteConcorrenciaExcedidoException(upstream, limitador.limite());
+        }
+
+        long inicio = System.nanoTime();
+        Response response;
+        try {
+            response = delegate.execute(request, options);
+        } catch (SocketTimeoutException e) {
+            if (prazoDaConsultaEsgotado()) {
+                log.debug("Timeout de {} causado pelo prazo da consulta: limite mantido", upstream);
+                limitador.liberarSemAmostra();
+            } else {
+                limitador.liberarComSobrecarga();
+            }
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                log.debug("Chamada a {} cancelada por quem chamou: limite mantido", upstream);
+                limitador.liberarSemAmostra();
+            } else {
+                limitador.liberarComSobrecarga();
+            }
+            throw e;
+        }
+
+        if (response.status() == 429 || response.status() == 503) {
+            limitador.liberarComSobrecarga();
+        } else {
+            limitador.liberar(Duration.ofNanos(System.nanoTime() - inicio));
+        }
+        return response;
+    }
+
+    private static boolean adquirir(LimitadorAdaptativo limitador, Request.Options options) throws IOException {
+        Duration espera = ContextoConsulta.tempoRestante()
+            .orElseGet(() -> Duration.ofMillis(options.connectTimeoutMillis()));
+        try {
+            return limitador.tentarAdquirir(espera);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrompida aguardando vaga no limite de concorrência");
+        }
+    }
+
+    /**
+     * O timeout encurtado pelo prazo expira junto com a consulta; a tolerância cobre o arredondamento
+     * do timeout para milissegundos. Sem prazo na thread, todo timeout é do próprio upstream.
+     */
+    private static boolean prazoDaConsultaEsgotado() {
+        return ContextoConsulta.tempoRestante()
+            .map(restante -> restante.compareTo(TOLERANCIA_PRAZO) <= 0)
+            .orElse(false);
+    }
+
+    private static String upstream(Request request) {
+        if (request.requestTemplate() != null && request.requestTemplate().feignTarget() != null) {
+            return request.requestTemplate().feignTarget().name();
+        }
+        return URI.create(request.url()).getHost();
+    }
+}
@@ -0,0 +1,53 @@
+package com.fiap.sus.traffic.infrastructure.resilience;
+
+import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import com.fiap.sus.traffic.shared.util.LimitadorAdaptativo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Um {@link LimitadorAdaptativo} por serviço externo, com o limite atual e as chamadas em andamento
+ * exportados como métricas ({@code traffic.intelligence.upstream.limite} e
+ * {@code traffic.intelligence.upstream.em_uso}, tag {@code upstream}).
+ */
+@Component
+@RequiredArgsConstructor
+public class LimitadoresConcorrencia {
+
+    private final TrafficIntelligenceProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, LimitadorAdaptativo> limitadores = new ConcurrentHashMap<>();
+
+    public boolean habilitado() {
+        return properties.getLimiteConcorrencia().isHabilitado();
+    }
+
+    public LimitadorAdaptativo doUpstream(String upstream) {
+        return limitadores.computeIfAbsent(upstream, this::criar);
+    }
+
+    private LimitadorAdaptativo criar(String upstream) {
+        var config = properties.getLimiteConcorrencia();
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(
+            config.getLimiteInicial(),
+            config.getLimiteMinimo(),
+            config.getLimiteMaximo(),
+            config.getToleranciaLatencia(),
+            config.getFatorReducao()
+        );
+        Gauge.builder("traffic.intelligence.upstream.limite", limitador, LimitadorAdaptativo::limite)
+            .description("Limite adaptativo de chamadas simultâneas ao serviço externo")
+            .tag("upstream", upstream)
+            .register(meterRegistry);
+        Gauge.builder("traffic.intelligence.upstream.em_uso", limitador, LimitadorAdaptativo::emUso)
+            .description("Chamadas em andamento ao serviço externo")
+            .tag("upstream", upstream)
+            .register(meterRegistry);
+        return limitador;
+    }
+}
@@ -0,0 +1,90 @@
+package com.fiap.sus.traffic.infrastructure.scheduler;
+
+import com.fiap.sus.traffic.application.port.LiveOpsServicePort;
+import com.fiap.sus.traffic.application.port.PopularidadeUnidadesPort;
+import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conta quantas vezes cada unidade aparece como candidata nas consultas e, periodicamente,
+ * renova os indicadores das N mais populares antes que expirem no cache. Assim as consultas
+ * a hospitais muito procurados quase nunca pagam uma chamada ao LiveOps.
+ *
+ * As contagens caem pela metade a cada ciclo, para que a popularidade reflita o uso recente.
+ * O ciclo é pulado quando o circuit breaker do LiveOps não está fechado, e cada ciclo renova
+ * no máximo {@code top-n} unidades (taxa limitada a top-n por intervalo), buscadas em paralelo
+ * com o limite de concorrência do fan-out.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AtualizadorUnidadesPopulares implements PopularidadeUnidadesPort {
+
+    static final String CIRCUIT_BREAKER_LIVEOPS = "liveOpsService";
+
+    private final LiveOpsServicePort liveOpsServicePort;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final TrafficIntelligenceProperties properties;
+
+    private final ConcurrentHashMap<UUID, Long> aparicoes = new ConcurrentHashMap<>();
+
+    @Override
+    public void registrarCandidatas(Collection<UUID> unidadeIds) {
+        if (!properties.getLiveopsService().getAtualizacaoPopulares().isHabilitado()) {
+            return;
+        }
+        unidadeIds.forEach(unidadeId -> aparicoes.merge(unidadeId, 1L, Long::sum));
+    }
+
+    @Scheduled(
+        initialDelayString = "${traffic.intelligence.liveops-service.atualizacao-populares.intervalo:20s}",
+        fixedDelayString = "${traffic.intelligence.liveops-service.atualizacao-populares.intervalo:20s}"
+    )
+    public void atualizar() {
+        var config = properties.getLiveopsService().getAtualizacaoPopulares();
+        if (!config.isHabilitado() || aparicoes.isEmpty()) {
+            return;
+        }
+
+        List<UUID> populares = maisPopulares(config.getTopN());
+        envelhecerContagens();
+
+        CircuitBreaker.State estado = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_LIVEOPS).getState();
+        if (estado != CircuitBreaker.State.CLOSED) {
+            log.debug("Circuit breaker do LiveOps {}. Atualização de unidades populares adiada.", estado);
+            return;
+        }
+
+        try {
+            // Renova tudo que expiraria antes do próximo ciclo
+            int renovadas = liveOpsServicePort.renovarIndicadores(populares, config.getIntervalo());
+            log.debug("Atualização de unidades populares: {} de {} renovadas", renovadas, populares.size());
+        } catch (Exception e) {
+            log.warn("Erro ao atualizar indicadores das unidades populares: {}", e.getMessage());
+        }
+    }
+
+    List<UUID> maisPopulares(int limite) {
+        return aparicoes.entrySet().stream()
+            .sorted(Map.Entry.<UUID, Long>comparingByValue().reversed())
+            .limit(limite)
+            .map(Map.Entry::getKey)
+            .toList();
+    }
+
+    private void envelhecerContagens() {
+        aparicoes.replaceAll((unidadeId, contagem) -> contagem / 2);
+        aparicoes.values().removeIf(contagem -> contagem == 0);
+    }
+}
@@ -2,7 +2,10 @@ package com.fiap.sus.traffic.infrastructure.security;
 
 import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
 import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -10,20 +13,39 @@ import org.springframework.stereotype.Service;
 import java.security.KeyFactory;
 import java.security.PrivateKey;
 import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.Date;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Gera o JWT (RS256) enviado ao LiveOps. O token assinado é reutilizado por todas as requisições até
+ * perto da expiração: a partir de {@link #ANTECEDENCIA_RENOVACAO} antes de expirar, um novo token é
+ * assinado em segundo plano enquanto o atual continua em uso; só quando faltam menos de
+ * {@link #MARGEM_MINIMA} a requisição espera a assinatura.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class JwtService {
 
     private final TrafficIntelligenceProperties properties;
+    private final MeterRegistry meterRegistry;
     private PrivateKey privateKey;
     private static final String ISSUER = "sus-connect-traffic-api";
     private static final String AUDIENCE = "sus-connect-liveops-api";
     private static final long TOKEN_VALIDITY_MS = 300000;
+    static final Duration ANTECEDENCIA_RENOVACAO = Duration.ofSeconds(60);
+    static final Duration MARGEM_MINIMA = Duration.ofSeconds(10);
+
+    private final AtomicReference<TokenAssinado> tokenAtual = new AtomicReference<>();
+    private final AtomicBoolean renovacaoEmAndamento = new AtomicBoolean();
+    private final ExecutorService executorRenovacao = Executors.newVirtualThreadPerTaskExecutor();
 
     @PostConstruct
     public void init() {
@@ -40,7 +62,65 @@ public class JwtService {
         }
     }
 
+    /**
+     * Interrompe a assinatura em segundo plano ainda em andamento ao encerrar a aplicação.
+     */
+    @PreDestroy
+    public void encerrar() {
+        executorRenovacao.shutdownNow();
+    }
+
+    /**
+     * Token vigente, assinando um novo apenas quando não há token ou ele está perto de expirar.
+     *
+     * @return o JWT, ou null se a chave privada não estiver configurada ou a assinatura falhar
+     */
     public String generateToken() {
+        Instant agora = Instant.now();
+        TokenAssinado atual = tokenAtual.get();
+        if (atual != null && agora.isBefore(atual.expiraEm().minus(MARGEM_MINIMA))) {
+            if (!agora.isBefore(atual.expiraEm().minus(ANTECEDENCIA_RENOVACAO))) {
+                renovarEmSegundoPlano();
+            }
+            meterRegistry.counter("traffic.intelligence.jwt.tokens", "origem", "cache").increment();
+            return atual.token();
+        }
+
+        TokenAssinado novo = assinar();
+        if (novo == null) {
+            return null;
+        }
+        // Entre duas assinaturas concorrentes, fica a que expira mais tarde
+        TokenAssinado vigente = tokenAtual.accumulateAndGet(novo, JwtService::maisDuradouro);
+        meterRegistry.counter("traffic.intelligence.jwt.tokens", "origem", "assinado").increment();
+        return vigente.token();
+    }
+
+    private void renovarEmSegundoPlano() {
+        if (!renovacaoEmAndamento.compareAndSet(false, true)) {
+            return;
+        }
+        executorRenovacao.execute(() -> {
+            try {
+                TokenAssinado novo = assinar();
+                if (novo != null) {
+                    tokenAtual.accumulateAndGet(novo, JwtService::maisDuradouro);
+                    log.debug("Token JWT renovado em segundo plano. Expira em {}", novo.expiraEm());
+                }
+            } finally {
+                renovacaoEmAndamento.set(false);
+            }
+        });
+    }
+
+    private static TokenAssinado maisDuradouro(TokenAssinado atual, TokenAssinado novo) {
+        return atual != null && atual.expiraEm().isAfter(novo.expiraEm()) ? atual : novo;
+    }
+
+    /**
+     * Assina um novo token, registrando o tempo da assinatura em {@code traffic.intelligence.jwt.assinatura}.
+     */
+    private TokenAssinado assinar() {
         if (privateKey == null) {
             init();
             if (privateKey == null) {
@@ -48,11 +128,13 @@ public class JwtService {
             }
         }
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String resultado = "sucesso";
         try {
             Date now = new Date();
             Date expiration = new Date(now.getTime() + TOKEN_VALIDITY_MS);
 
-            return Jwts.builder()
+            String token = Jwts.builder()
                     .issuer(ISSUER)
                     .audience().add(AUDIENCE).and()
                     .subject("traffic-intelligence-service")
@@ -62,10 +144,17 @@ public class JwtService {
                     .claim("service", "traffic-intelligence")
                     .signWith(privateKey)
                     .compact();
+            return new TokenAssinado(token, expiration.toInstant());
             
         } catch (Exception e) {
+            resultado = "erro";
             log.error("Error generating JWT: {}", e.getMessage(), e);
             return null;
+        } finally {
+            sample.stop(Timer.builder("traffic.intelligence.jwt.assinatura")
+                .description("Tempo de assinatura do JWT enviado ao LiveOps")
+                .tag("resultado", resultado)
+                .register(meterRegistry));
         }
     }
 
@@ -99,4 +188,6 @@ public class JwtService {
             return null;
         }
     }
+
+    private record TokenAssinado(String token, Instant expiraEm) {}
 }
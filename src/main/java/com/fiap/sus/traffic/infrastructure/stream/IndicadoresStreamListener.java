@@ -0,0 +1,64 @@
+package com.fiap.sus.traffic.infrastructure.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.sus.traffic.application.dto.IndicadoresDTO;
+import com.fiap.sus.traffic.application.dto.UnitAnalyticsDTO;
+import com.fiap.sus.traffic.infrastructure.cache.IndicadoresMaterializados;
+import com.fiap.sus.traffic.infrastructure.mapper.LiveOpsAnalyticsMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.stream.StreamListener;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Consome os eventos de mudança de indicadores publicados pelo LiveOps em um Redis Stream.
+ * Cada evento traz no campo {@code payload} o mesmo JSON do endpoint
+ * {@code /analytics/units/{id}/advanced}; eventos inválidos são descartados.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class IndicadoresStreamListener implements StreamListener<String, MapRecord<String, String, String>> {
+
+    static final String CAMPO_PAYLOAD = "payload";
+
+    private final IndicadoresMaterializados indicadoresMaterializados;
+    private final LiveOpsAnalyticsMapper mapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void onMessage(MapRecord<String, String, String> message) {
+        String payload = message.getValue().get(CAMPO_PAYLOAD);
+        if (payload == null || payload.isBlank()) {
+            log.warn("Evento de indicadores {} sem payload. Ignorando.", message.getId());
+            return;
+        }
+
+        try {
+            UnitAnalyticsDTO analytics = objectMapper.readValue(payload, UnitAnalyticsDTO.class);
+            // O mapper gera ID aleatório para IDs inválidos; aqui o evento é simplesmente descartado
+            UUID.fromString(analytics.healthUnitId());
+
+            IndicadoresDTO indicadores = mapper.toIndicadoresDTO(analytics);
+            indicadoresMaterializados.registrarEvento(indicadores, versao(message));
+            log.debug("Indicadores da unidade {} atualizados pelo evento {}", indicadores.unidadeId(), message.getId());
+        } catch (Exception e) {
+            log.warn("Evento de indicadores {} inválido: {}. Ignorando.", message.getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Versão do evento: o timestamp do ID gerado pelo Redis na publicação. Eventos entregues fora de
+     * ordem, ou depois de uma busca HTTP mais recente, não sobrescrevem dados mais novos.
+     */
+    private static Instant versao(MapRecord<String, String, String> message) {
+        try {
+            return Instant.ofEpochMilli(message.getId().getTimestamp());
+        } catch (RuntimeException e) {
+            // ID sem o formato <millis>-<sequência>: sem como ordenar, vale a chegada
+            return Instant.now();
+        }
+    }
+}
@@ -22,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -84,6 +85,11 @@ public class DirecionamentoController {
             description = "Requisição inválida - parâmetros incorretos ou faltando",
             content = @Content(mediaType = "application/json")
         ),
+        @ApiResponse(
+            responseCode = "504",
+            description = "Prazo da consulta (X-Deadline-Ms) esgotado antes da conclusão",
+            content = @Content(mediaType = "application/json")
+        ),
         @ApiResponse(
             responseCode = "500",
             description = "Erro interno do servidor",
@@ -97,7 +103,9 @@ public class DirecionamentoController {
                 required = true,
                 schema = @Schema(implementation = DirecionamentoRequest.class)
             )
-            @Valid DirecionamentoRequest request) {
+            @Valid DirecionamentoRequest request,
+            @Parameter(description = "Orçamento de tempo da consulta em milissegundos (opcional)")
+            @RequestHeader(value = "X-Deadline-Ms", required = false) Long deadlineMs) {
         long inicio = System.currentTimeMillis();
         
         Timer.Sample sample = Timer.start(meterRegistry);
@@ -111,13 +119,17 @@ public class DirecionamentoController {
         if (request.radius() != null && request.radius() <= 0) {
             throw new com.fiap.sus.traffic.core.exception.ValidationException("radius", "Raio deve ser maior que zero");
         }
+        if (deadlineMs != null && deadlineMs <= 0) {
+            throw new com.fiap.sus.traffic.core.exception.ValidationException("X-Deadline-Ms", "Prazo deve ser maior que zero");
+        }
         
         List<SugestaoOrdenada> sugestoes = consultarDirecionamentoUseCase.executar(
             request.baseAddress(),
             request.getRiskClassificationEnum(),
             request.especialidade(),
             request.radius(),
-            request.distanceUnit()
+            request.distanceUnit(),
+            deadlineMs != null ? Duration.ofMillis(deadlineMs) : null
         );
 
         long tempoProcessamento = System.currentTimeMillis() - inicio;
@@ -1,5 +1,6 @@
 package com.fiap.sus.traffic.presentation.dto;
 
+import com.fiap.sus.traffic.domain.model.ProcedenciaIndicadores;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.util.UUID;
@@ -22,5 +23,17 @@ public record SugestaoResponse(
     int tempoEstimadoMinutos,
     
     @Schema(description = "Justificativa da sugestão", example = "Unidade próxima com baixa ocupação e TMA reduzido")
-    String razao
-) {}
+    String razao,
+
+    @Schema(description = "Procedência dos indicadores usados no score: LIVE (atuais), STALE (últimos conhecidos) ou DEFAULT (valores padrão)", example = "LIVE")
+    ProcedenciaIndicadores procedenciaIndicadores
+) {
+    public SugestaoResponse(UUID unidadeId,
+                            String nome,
+                            double scoreFinal,
+                            double distanciaKm,
+                            int tempoEstimadoMinutos,
+                            String razao) {
+        this(unidadeId, nome, scoreFinal, distanciaKm, tempoEstimadoMinutos, razao, ProcedenciaIndicadores.LIVE);
+    }
+}
@@ -16,7 +16,8 @@ public class DirecionamentoMapper {
             sugestao.scoreFinal(),
             sugestao.distanciaKm(),
             sugestao.tempoEstimadoMinutos(),
-            sugestao.razao()
+            sugestao.razao(),
+            sugestao.procedenciaIndicadores()
         );
     }
 
@@ -0,0 +1,112 @@
+package com.fiap.sus.traffic.shared.context;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Contexto da consulta em andamento na thread atual: o seu {@link Deadline} e o orçamento de
+ * retries compartilhado por todas as chamadas da consulta.
+ * Permite que os adaptadores respeitem o prazo e o orçamento da consulta sem alterar as portas.
+ * Tarefas submetidas a outras threads devem ser embrulhadas com {@link #propagar(Callable)}.
+ */
+public final class ContextoConsulta {
+
+    private static final ThreadLocal<Estado> ESTADO = new ThreadLocal<>();
+
+    private ContextoConsulta() {
+    }
+
+    /**
+     * Executa a ação com o prazo informado associado à thread atual, sem limite de retries.
+     */
+    public static <T> T executarCom(Deadline deadline, Supplier<T> acao) {
+        return executarCom(new Estado(deadline, null), acao);
+    }
+
+    /**
+     * Executa a ação com o prazo informado e no máximo {@code retriesPorConsulta} retries
+     * somando todas as chamadas feitas pela consulta (inclusive em outras threads).
+     */
+    public static <T> T executarCom(Deadline deadline, int retriesPorConsulta, Supplier<T> acao) {
+        return executarCom(new Estado(deadline, new AtomicInteger(retriesPorConsulta)), acao);
+    }
+
+    /**
+     * Executa a ação sem o prazo da consulta atual, mantendo o orçamento de retries. Para leituras de
+     * fallback que só acontecem depois de o prazo esgotar e que, com prazo, seriam sempre puladas.
+     */
+    public static <T> T executarSemPrazo(Supplier<T> acao) {
+        Estado atual = ESTADO.get();
+        return executarCom(new Estado(null, atual != null ? atual.retriesDisponiveis() : null), acao);
+    }
+
+    private static <T> T executarCom(Estado estado, Supplier<T> acao) {
+        Estado anterior = ESTADO.get();
+        ESTADO.set(estado);
+        try {
+            return acao.get();
+        } finally {
+            restaurar(anterior);
+        }
+    }
+
+    public static Optional<Deadline> deadlineAtual() {
+        Estado estado = ESTADO.get();
+        return estado == null ? Optional.empty() : Optional.ofNullable(estado.deadline());
+    }
+
+    /**
+     * Indica se a consulta atual tem prazo e ele já expirou.
+     */
+    public static boolean expirado() {
+        return deadlineAtual().map(Deadline::expirado).orElse(false);
+    }
+
+    /**
+     * Tempo restante da consulta atual, ou vazio quando não há prazo.
+     */
+    public static Optional<Duration> tempoRestante() {
+        return deadlineAtual().map(Deadline::tempoRestante);
+    }
+
+    /**
+     * Consome um retry do orçamento da consulta atual. Fora de uma consulta, ou em consultas
+     * sem orçamento definido, retries são sempre permitidos.
+     */
+    public static boolean tentarConsumirRetry() {
+        Estado estado = ESTADO.get();
+        if (estado == null || estado.retriesDisponiveis() == null) {
+            return true;
+        }
+        return estado.retriesDisponiveis().getAndUpdate(restantes -> Math.max(0, restantes - 1)) > 0;
+    }
+
+    /**
+     * Embrulha a tarefa para que ela rode, em outra thread, com o mesmo contexto da thread atual.
+     */
+    public static <T> Callable<T> propagar(Callable<T> tarefa) {
+        Estado capturado = ESTADO.get();
+        return () -> {
+            Estado anterior = ESTADO.get();
+            ESTADO.set(capturado);
+            try {
+                return tarefa.call();
+            } finally {
+                restaurar(anterior);
+            }
+        };
+    }
+
+    private static void restaurar(Estado anterior) {
+        if (anterior == null) {
+            ESTADO.remove();
+        } else {
+            ESTADO.set(anterior);
+        }
+    }
+
+    private record Estado(Deadline deadline, AtomicInteger retriesDisponiveis) {}
+}
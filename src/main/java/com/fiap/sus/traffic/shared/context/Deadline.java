@@ -0,0 +1,57 @@
+package com.fiap.sus.traffic.shared.context;
+
+import java.time.Duration;
+
+/**
+ * Prazo absoluto de uma consulta.
+ * Cada etapa do pipeline usa apenas o tempo que ainda resta até ele, em vez de um timeout fixo próprio.
+ */
+public final class Deadline {
+
+    private final long expiraEmNanos;
+
+    private Deadline(long expiraEmNanos) {
+        this.expiraEmNanos = expiraEmNanos;
+    }
+
+    /**
+     * Cria um prazo que expira depois do orçamento informado, a partir de agora.
+     */
+    public static Deadline em(Duration orcamento) {
+        if (orcamento == null || orcamento.isNegative()) {
+            throw new IllegalArgumentException("orcamento não pode ser nulo ou negativo");
+        }
+        return new Deadline(System.nanoTime() + orcamento.toNanos());
+    }
+
+    /**
+     * Tempo restante até o prazo (zero quando já expirou).
+     */
+    public Duration tempoRestante() {
+        return Duration.ofNanos(Math.max(0, expiraEmNanos - System.nanoTime()));
+    }
+
+    public boolean expirado() {
+        return expiraEmNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Indica se este prazo termina depois do outro, ou seja, se ainda dará mais tempo às chamadas.
+     */
+    public boolean terminaDepoisDe(Deadline outro) {
+        return expiraEmNanos - outro.expiraEmNanos > 0;
+    }
+
+    /**
+     * Limita um timeout ao tempo restante do prazo.
+     */
+    public Duration limitar(Duration timeout) {
+        Duration restante = tempoRestante();
+        return timeout == null || restante.compareTo(timeout) < 0 ? restante : timeout;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline[restante=" + tempoRestante().toMillis() + "ms]";
+    }
+}
@@ -2,6 +2,8 @@ package com.fiap.sus.traffic.shared.util;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Locale;
+
 @Slf4j
 public class DistanceUtils {
 
@@ -28,6 +30,14 @@ public class DistanceUtils {
         return EARTH_RADIUS_KM * c;
     }
 
+    /**
+     * Formata a distância em quilômetros no formato aceito por {@link #parseDistanceToKm(String)}.
+     * Exemplo: 1.5 -> "1.500 km"
+     */
+    public static String formatarDistanciaKm(double distanciaKm) {
+        return String.format(Locale.ROOT, "%.3f km", distanciaKm);
+    }
+
     /**
      * Converte a distância formatada (String) para quilômetros (Double)
      * Exemplos: "1.5 km" -> 1.5, "500 m" -> 0.5
@@ -0,0 +1,116 @@
+package com.fiap.sus.traffic.shared.util;
+
+/**
+ * Codificação geohash (base32) de coordenadas. Cada caractere a mais divide a célula em 32: a precisão 6
+ * tem células de ~1,2 km x 0,6 km e a precisão 7 de ~153 m x 153 m.
+ */
+public final class Geohash {
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double KM_POR_GRAU = 111.32;
+    public static final int PRECISAO_MAXIMA = 12;
+
+    private Geohash() {
+    }
+
+    /**
+     * Geohash da célula que contém o ponto, com {@code precisao} caracteres.
+     */
+    public static String codificar(double latitude, double longitude, int precisao) {
+        validarPrecisao(precisao);
+        double latitudeMinima = -90;
+        double latitudeMaxima = 90;
+        double longitudeMinima = -180;
+        double longitudeMaxima = 180;
+        StringBuilder hash = new StringBuilder(precisao);
+        boolean longitudeDaVez = true;
+        int bits = 0;
+        int valor = 0;
+        while (hash.length() < precisao) {
+            if (longitudeDaVez) {
+                double meio = (longitudeMinima + longitudeMaxima) / 2;
+                if (longitude >= meio) {
+                    valor = (valor << 1) | 1;
+                    longitudeMinima = meio;
+                } else {
+                    valor <<= 1;
+                    longitudeMaxima = meio;
+                }
+            } else {
+                double meio = (latitudeMinima + latitudeMaxima) / 2;
+                if (latitude >= meio) {
+                    valor = (valor << 1) | 1;
+                    latitudeMinima = meio;
+                } else {
+                    valor <<= 1;
+                    latitudeMaxima = meio;
+                }
+            }
+            longitudeDaVez = !longitudeDaVez;
+            if (++bits == 5) {
+                hash.append(BASE32.charAt(valor));
+                bits = 0;
+                valor = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Centro da célula do geohash, como {@code {latitude, longitude}}.
+     */
+    public static double[] centro(String geohash) {
+        validarPrecisao(geohash.length());
+        double latitudeMinima = -90;
+        double latitudeMaxima = 90;
+        double longitudeMinima = -180;
+        double longitudeMaxima = 180;
+        boolean longitudeDaVez = true;
+        for (char caractere : geohash.toCharArray()) {
+            int valor = BASE32.indexOf(caractere);
+            if (valor < 0) {
+                throw new IllegalArgumentException("Caractere inválido no geohash: " + caractere);
+            }
+            for (int bit = 4; bit >= 0; bit--) {
+                boolean alto = ((valor >> bit) & 1) == 1;
+                if (longitudeDaVez) {
+                    double meio = (longitudeMinima + longitudeMaxima) / 2;
+                    if (alto) {
+                        longitudeMinima = meio;
+                    } else {
+                        longitudeMaxima = meio;
+                    }
+                } else {
+                    double meio = (latitudeMinima + latitudeMaxima) / 2;
+                    if (alto) {
+                        latitudeMinima = meio;
+                    } else {
+                        latitudeMaxima = meio;
+                    }
+                }
+                longitudeDaVez = !longitudeDaVez;
+            }
+        }
+        return new double[] {(latitudeMinima + latitudeMaxima) / 2, (longitudeMinima + longitudeMaxima) / 2};
+    }
+
+    /**
+     * Diagonal de uma célula na precisão informada, em km, medida no equador (onde a célula é maior):
+     * limite superior da distância entre dois pontos da mesma célula.
+     */
+    public static double diagonalKm(int precisao) {
+        validarPrecisao(precisao);
+        int bitsTotais = 5 * precisao;
+        int bitsLongitude = (bitsTotais + 1) / 2;
+        int bitsLatitude = bitsTotais / 2;
+        double alturaKm = 180 / Math.pow(2, bitsLatitude) * KM_POR_GRAU;
+        double larguraKm = 360 / Math.pow(2, bitsLongitude) * KM_POR_GRAU;
+        return Math.hypot(alturaKm, larguraKm);
+    }
+
+    private static void validarPrecisao(int precisao) {
+        if (precisao < 1 || precisao > PRECISAO_MAXIMA) {
+            throw new IllegalArgumentException("Precisão do geohash deve estar entre 1 e " + PRECISAO_MAXIMA);
+        }
+    }
+}
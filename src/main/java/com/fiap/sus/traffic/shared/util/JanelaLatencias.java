@@ -0,0 +1,59 @@
+package com.fiap.sus.traffic.shared.util;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Janela deslizante com as últimas N latências observadas, para estimar percentis (p95, p99...).
+ * O percentil é recalculado a cada {@code tamanho / 10} novas amostras, não a cada leitura.
+ */
+public class JanelaLatencias {
+
+    private final long[] amostrasNanos;
+    private final int intervaloRecalculo;
+    private int proxima;
+    private int total;
+    private int desdeUltimoCalculo;
+    private double percentilCalculado = Double.NaN;
+    private long valorCalculadoNanos;
+
+    public JanelaLatencias(int tamanho) {
+        if (tamanho <= 0) {
+            throw new IllegalArgumentException("tamanho deve ser maior que zero");
+        }
+        this.amostrasNanos = new long[tamanho];
+        this.intervaloRecalculo = Math.max(1, tamanho / 10);
+    }
+
+    public synchronized void registrar(Duration latencia) {
+        amostrasNanos[proxima] = latencia.toNanos();
+        proxima = (proxima + 1) % amostrasNanos.length;
+        total = Math.min(total + 1, amostrasNanos.length);
+        desdeUltimoCalculo++;
+    }
+
+    /**
+     * Percentil das latências da janela, ou vazio enquanto houver menos que {@code minimoAmostras}.
+     *
+     * @param percentil entre 0 e 1 (ex.: 0.95)
+     */
+    public synchronized Optional<Duration> percentil(double percentil, int minimoAmostras) {
+        if (total == 0 || total < minimoAmostras) {
+            return Optional.empty();
+        }
+        if (percentil != percentilCalculado || desdeUltimoCalculo >= intervaloRecalculo) {
+            long[] ordenadas = Arrays.copyOf(amostrasNanos, total);
+            Arrays.sort(ordenadas);
+            int indice = (int) Math.ceil(percentil * total) - 1;
+            valorCalculadoNanos = ordenadas[Math.max(0, Math.min(indice, total - 1))];
+            percentilCalculado = percentil;
+            desdeUltimoCalculo = 0;
+        }
+        return Optional.of(Duration.ofNanos(valorCalculadoNanos));
+    }
+
+    public synchronized int amostras() {
+        return total;
+    }
+}
@@ -0,0 +1,161 @@
+package com.fiap.sus.traffic.shared.util;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de chamadas simultâneas ajustado por AIMD (aumento aditivo, redução multiplicativa).
+ * O limite sobe uma unidade a cada chamada concluída com latência estável (enquanto o limite está
+ * sendo de fato usado) e é multiplicado por {@code fatorReducao} quando a latência passa de
+ * {@code toleranciaLatencia} vezes a latência de referência ou quando o upstream sinaliza sobrecarga.
+ * Usa {@link ReentrantLock} em vez de {@code synchronized} porque quem espera por vaga costuma ser
+ * uma virtual thread, que não deve ficar presa à thread carrier durante a espera.
+ */
+public class LimitadorAdaptativo {
+
+    /**
+     * Peso de cada amostra na latência de referência (média móvel exponencial de longo prazo).
+     */
+    private static final double PESO_AMOSTRA = 0.05;
+
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final double toleranciaLatencia;
+    private final double fatorReducao;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition vagaLiberada = lock.newCondition();
+
+    private double limite;
+    private int emUso;
+    private double latenciaReferenciaNanos;
+
+    public LimitadorAdaptativo(int limiteInicial, int limiteMinimo, int limiteMaximo,
+                               double toleranciaLatencia, double fatorReducao) {
+        if (limiteMinimo < 1 || limiteMaximo < limiteMinimo) {
+            throw new IllegalArgumentException("limites inválidos: mínimo=" + limiteMinimo + ", máximo=" + limiteMaximo);
+        }
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.toleranciaLatencia = toleranciaLatencia;
+        this.fatorReducao = fatorReducao;
+        this.limite = Math.max(limiteMinimo, Math.min(limiteMaximo, limiteInicial));
+    }
+
+    /**
+     * Reserva uma vaga se houver chamadas disponíveis dentro do limite atual.
+     */
+    public boolean tentarAdquirir() {
+        lock.lock();
+        try {
+            return reservar();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reserva uma vaga, esperando no máximo {@code espera} que uma chamada em andamento termine.
+     */
+    public boolean tentarAdquirir(Duration espera) throws InterruptedException {
+        long restanteNanos = espera.toNanos();
+        lock.lockInterruptibly();
+        try {
+            while (!reservar()) {
+                if (restanteNanos <= 0) {
+                    return false;
+                }
+                restanteNanos = vagaLiberada.awaitNanos(restanteNanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean reservar() {
+        if (emUso >= (int) limite) {
+            return false;
+        }
+        emUso++;
+        return true;
+    }
+
+    /**
+     * Libera a vaga de uma chamada concluída e ajusta o limite pela latência observada.
+     */
+    public void liberar(Duration latencia) {
+        lock.lock();
+        try {
+            boolean limiteEmUso = emUso * 2 >= (int) limite;
+            liberarVaga();
+
+            double amostra = latencia.toNanos();
+            if (latenciaReferenciaNanos == 0) {
+                latenciaReferenciaNanos = amostra;
+            }
+            if (amostra > latenciaReferenciaNanos * toleranciaLatencia) {
+                reduzir();
+            } else if (limiteEmUso) {
+                limite = Math.min(limiteMaximo, limite + 1);
+            }
+            latenciaReferenciaNanos += PESO_AMOSTRA * (amostra - latenciaReferenciaNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libera a vaga de uma chamada que falhou por sobrecarga (timeout, 429, 503) e reduz o limite.
+     */
+    public void liberarComSobrecarga() {
+        lock.lock();
+        try {
+            liberarVaga();
+            reduzir();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libera a vaga de uma chamada interrompida pelo prazo de quem chamou, sem amostra de latência
+     * e sem alterar o limite: o timeout não diz nada sobre a carga do upstream.
+     */
+    public void liberarSemAmostra() {
+        lock.lock();
+        try {
+            liberarVaga();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void liberarVaga() {
+        emUso--;
+        vagaLiberada.signalAll();
+    }
+
+    private void reduzir() {
+        limite = Math.max(limiteMinimo, limite * fatorReducao);
+    }
+
+    public int limite() {
+        lock.lock();
+        try {
+            return (int) limite;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int emUso() {
+        lock.lock();
+        try {
+            return emUso;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
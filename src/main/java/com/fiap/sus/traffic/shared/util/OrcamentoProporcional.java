@@ -0,0 +1,43 @@
+package com.fiap.sus.traffic.shared.util;
+
+/**
+ * Orçamento de requisições extras (hedges, retries) proporcional ao tráfego: cada chamada primária
+ * credita {@code percentual} de uma ficha e cada requisição extra consome uma ficha inteira, de modo
+ * que as extras nunca passam de {@code percentual} das chamadas (mais uma rajada limitada).
+ */
+public class OrcamentoProporcional {
+
+    private double fichas;
+
+    /**
+     * Registra uma chamada primária.
+     *
+     * @param percentual fração de carga extra permitida (ex.: 0.05 para 5%)
+     * @param rajadaMaxima máximo de fichas acumuladas
+     */
+    public synchronized void registrarChamada(double percentual, int rajadaMaxima) {
+        fichas = Math.min(rajadaMaxima, fichas + percentual);
+    }
+
+    /**
+     * Consome uma ficha se houver orçamento para uma requisição extra.
+     */
+    public synchronized boolean tentarConsumir() {
+        if (fichas >= 1.0) {
+            fichas -= 1.0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Devolve uma ficha consumida por uma requisição extra que acabou não sendo feita.
+     */
+    public synchronized void devolver() {
+        fichas += 1.0;
+    }
+
+    public synchronized double disponivel() {
+        return fichas;
+    }
+}
@@ -0,0 +1,159 @@
+package com.fiap.sus.traffic.shared.util;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Coalescência de chamadas concorrentes por chave ("single-flight").
+ * Enquanto uma carga para a chave estiver em andamento, os demais chamadores aguardam o mesmo
+ * resultado em vez de disparar uma nova carga. Nada é mantido depois que a carga termina.
+ *
+ * @param <K> tipo da chave
+ * @param <V> tipo do valor carregado
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> emAndamento = new ConcurrentHashMap<>();
+
+    /**
+     * Executa o carregador para a chave, ou aguarda a execução já em andamento para ela.
+     * Exceções do carregador são propagadas para todos os chamadores que aguardavam.
+     */
+    public V executar(K chave, Supplier<V> carregador) {
+        return executar(chave, carregador, null);
+    }
+
+    /**
+     * Como {@link #executar(Object, Supplier)}, mas quem aguarda uma carga já em andamento espera
+     * no máximo {@code esperaMaxima}; ao esgotar, lança {@link CompletionException} com causa
+     * {@link TimeoutException}. A carga em si não é interrompida.
+     */
+    public V executar(K chave, Supplier<V> carregador, Duration esperaMaxima) {
+        CompletableFuture<V> propria = new CompletableFuture<>();
+        CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, propria);
+        if (existente != null) {
+            return aguardar(existente, esperaMaxima);
+        }
+
+        try {
+            V valor = carregador.get();
+            propria.complete(valor);
+            return valor;
+        } catch (RuntimeException | Error e) {
+            propria.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, propria);
+        }
+    }
+
+    /**
+     * Versão em lote: o carregador recebe apenas as chaves que não estavam em andamento;
+     * as demais aguardam as cargas já iniciadas. Chaves que o carregador não resolver
+     * (ou cuja carga falhar) ficam fora do mapa retornado.
+     */
+    public Map<K, V> executarEmLote(Collection<K> chaves, Function<List<K>, Map<K, V>> carregador) {
+        return executarEmLote(chaves, carregador, null);
+    }
+
+    /**
+     * Como {@link #executarEmLote(Collection, Function)}, mas as chaves que aguardam cargas já em
+     * andamento esperam, somadas, no máximo {@code esperaMaxima}; as que não terminarem nesse tempo
+     * ficam fora do mapa retornado. As cargas em si não são interrompidas.
+     */
+    public Map<K, V> executarEmLote(Collection<K> chaves, Function<List<K>, Map<K, V>> carregador, Duration esperaMaxima) {
+        Map<K, CompletableFuture<V>> proprias = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> existentes = new LinkedHashMap<>();
+
+        for (K chave : chaves) {
+            if (proprias.containsKey(chave) || existentes.containsKey(chave)) {
+                continue;
+            }
+            CompletableFuture<V> propria = new CompletableFuture<>();
+            CompletableFuture<V> existente = emAndamento.putIfAbsent(chave, propria);
+            if (existente != null) {
+                existentes.put(chave, existente);
+            } else {
+                proprias.put(chave, propria);
+            }
+        }
+
+        Map<K, V> resultado = new HashMap<>();
+        if (!proprias.isEmpty()) {
+            try {
+                Map<K, V> carregados = carregador.apply(new ArrayList<>(proprias.keySet()));
+                proprias.forEach((chave, future) -> {
+                    V valor = carregados != null ? carregados.get(chave) : null;
+                    future.complete(valor);
+                    if (valor != null) {
+                        resultado.put(chave, valor);
+                    }
+                });
+            } catch (RuntimeException | Error e) {
+                proprias.values().forEach(future -> future.completeExceptionally(e));
+                throw e;
+            } finally {
+                proprias.forEach(emAndamento::remove);
+            }
+        }
+
+        long limiteNanos = esperaMaxima != null ? System.nanoTime() + esperaMaxima.toNanos() : 0;
+        existentes.forEach((chave, future) -> {
+            try {
+                Duration espera = esperaMaxima != null
+                    ? Duration.ofNanos(Math.max(0, limiteNanos - System.nanoTime()))
+                    : null;
+                V valor = aguardar(future, espera);
+                if (valor != null) {
+                    resultado.put(chave, valor);
+                }
+            } catch (RuntimeException e) {
+                // A carga compartilhada falhou ou não terminou a tempo; a chave fica sem valor para o chamador decidir o fallback
+            }
+        });
+
+        return resultado;
+    }
+
+    /**
+     * Quantidade de chaves com carga em andamento.
+     */
+    public int emAndamento() {
+        return emAndamento.size();
+    }
+
+    private V aguardar(CompletableFuture<V> future, Duration esperaMaxima) {
+        try {
+            return esperaMaxima != null
+                ? future.get(esperaMaxima.toNanos(), TimeUnit.NANOSECONDS)
+                : future.get();
+        } catch (TimeoutException e) {
+            throw new CompletionException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando carga em andamento", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(causa);
+        }
+    }
+}
@@ -5,20 +5,52 @@ import com.fiap.sus.traffic.application.dto.UnidadeSaudeDTO;
 import com.fiap.sus.traffic.application.port.CachePort;
 import com.fiap.sus.traffic.application.port.LiveOpsServicePort;
 import com.fiap.sus.traffic.application.port.NetworkServicePort;
+import com.fiap.sus.traffic.application.port.PopularidadeUnidadesPort;
 import com.fiap.sus.traffic.core.exception.BusinessException;
+import com.fiap.sus.traffic.core.exception.DeadlineExceededException;
 import com.fiap.sus.traffic.core.exception.ValidationException;
 import com.fiap.sus.traffic.domain.model.*;
 import com.fiap.sus.traffic.domain.repository.CriterioPesoRepository;
 import com.fiap.sus.traffic.domain.service.AlgoritmoDirecionamentoService;
+import com.fiap.sus.traffic.infrastructure.cache.CacheKeyGenerator;
+import com.fiap.sus.traffic.infrastructure.cache.IndicadoresCacheEntry;
+import com.fiap.sus.traffic.infrastructure.cache.IndicadoresMaterializados;
+import com.fiap.sus.traffic.infrastructure.cache.VolatilidadeIndicadores;
+import com.fiap.sus.traffic.infrastructure.cache.RedisCacheAdapter;
+import com.fiap.sus.traffic.infrastructure.client.LiveOpsServiceAdapter;
+import com.fiap.sus.traffic.infrastructure.client.LiveOpsServiceClient;
 import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import com.fiap.sus.traffic.infrastructure.mapper.LiveOpsAnalyticsMapper;
+import com.fiap.sus.traffic.infrastructure.resilience.ConcurrencyLimitingFeignClient;
+import com.fiap.sus.traffic.infrastructure.resilience.LimitadoresConcorrencia;
+import com.fiap.sus.traffic.shared.context.ContextoConsulta;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
 
+import java.io.InterruptedIOException;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -46,11 +78,17 @@ class ConsultarDirecionamentoUseCaseTest {
     @Mock
     private CachePort cachePort;
 
+    @Mock
+    private PopularidadeUnidadesPort popularidadeUnidadesPort;
+
     @InjectMocks
     private ConsultarDirecionamentoUseCase useCase;
 
     private TrafficIntelligenceProperties.Algoritmo algoritmoConfig;
     private TrafficIntelligenceProperties.Cache cacheConfig;
+    private TrafficIntelligenceProperties.LiveOpsService liveOpsConfig;
+    private TrafficIntelligenceProperties.Deadline deadlineConfig;
+    private TrafficIntelligenceProperties.NetworkService networkServiceConfig;
 
     @BeforeEach
     void setUp() {
@@ -63,8 +101,16 @@ class ConsultarDirecionamentoUseCaseTest {
         cacheConfig = new TrafficIntelligenceProperties.Cache();
         cacheConfig.setTtlSugestoes(java.time.Duration.ofSeconds(300));
 
+        lenient().when(properties.getAlgoritmo()).thenReturn(algoritmoConfig);
+        liveOpsConfig = new TrafficIntelligenceProperties.LiveOpsService();
+
         lenient().when(properties.getAlgoritmo()).thenReturn(algoritmoConfig);
         lenient().when(properties.getCache()).thenReturn(cacheConfig);
+        lenient().when(properties.getLiveopsService()).thenReturn(liveOpsConfig);
+        deadlineConfig = new TrafficIntelligenceProperties.Deadline();
+        lenient().when(properties.getDeadline()).thenReturn(deadlineConfig);
+        networkServiceConfig = new TrafficIntelligenceProperties.NetworkService();
+        lenient().when(properties.getNetworkService()).thenReturn(networkServiceConfig);
     }
 
     @Test
@@ -149,6 +195,19 @@ class ConsultarDirecionamentoUseCaseTest {
         verify(cachePort, never()).putSugestoes(anyString(), anyList(), anyLong());
     }
 
+    @Test
+    void deveCompartilharSugestoesEmCacheEntreEnderecosDaMesmaRegiao() {
+        List<SugestaoOrdenada> sugestoesCache = criarSugestoes();
+        when(networkServicePort.regiaoDoEndereco(anyString())).thenReturn(Optional.of("6gycfqu"));
+        when(cachePort.getSugestoes(
+            CacheKeyGenerator.sugestoesGeocelulaKey("6gycfqu", "RED", null, 10.0, "KM"), SugestaoOrdenada.class))
+            .thenReturn(Optional.of(sugestoesCache));
+
+        assertEquals(sugestoesCache, useCase.executar("Avenida Paulista, 1000", RiskClassification.RED, null, 10.0, "KM"));
+        assertEquals(sugestoesCache, useCase.executar("Avenida Paulista, 1010", RiskClassification.RED, null, 10.0, "KM"));
+        verify(networkServicePort, never()).buscarUnidadesProximas(anyString(), anyDouble(), anyString());
+    }
+
     @Test
     void deveLancarExcecaoQuandoNetworkServiceFalha() {
         when(cachePort.getSugestoes(anyString(), eq(SugestaoOrdenada.class))).thenReturn(Optional.empty());
@@ -233,6 +292,181 @@ class ConsultarDirecionamentoUseCaseTest {
         assertNotNull(resultado);
     }
 
+    @Test
+    void deveBuscarIndicadoresDeTodasAsUnidadesEmParalelo() {
+        List<UnidadeSaudeDTO> unidades = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            unidades.add(criarUnidadeDTO());
+        }
+        liveOpsConfig.getFanOut().setMaxConcorrencia(4);
+
+        when(cachePort.getSugestoes(anyString(), eq(SugestaoOrdenada.class))).thenReturn(Optional.empty());
+        when(networkServicePort.buscarUnidadesProximas(anyString(), anyDouble(), anyString()))
+            .thenReturn(unidades);
+        when(liveOpsServicePort.buscarIndicadores(any())).thenReturn(criarIndicadoresDTO());
+        when(pesosRepository.buscar()).thenReturn(Optional.of(CriterioPeso.padrao()));
+        when(algoritmoService.calcularSugestoes(anyList(), any(), any(), any(), anyInt()))
+            .thenReturn(criarSugestoes());
+
+        useCase.executar("Rua Teste, 123", RiskClassification.RED, null, 10.0, "KM");
+
+        unidades.forEach(u -> verify(liveOpsServicePort).buscarIndicadores(u.id()));
+        verify(popularidadeUnidadesPort).registrarCandidatas(unidades.stream().map(UnidadeSaudeDTO::id).toList());
+        verify(algoritmoService).calcularSugestoes(
+            argThat(contextos -> contextos.size() == 20), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void deveObterIndicadoresAtuaisDeTodasAsUnidadesQuandoFanOutPassaDoLimiteDeConcorrencia() {
+        List<UnidadeSaudeDTO> unidades = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            unidades.add(criarUnidadeDTO());
+        }
+        liveOpsConfig.getFanOut().setMaxConcorrencia(32);
+
+        // Chamadas ao LiveOps passam pelo client Feign com limite de concorrência real (4 simultâneas)
+        TrafficIntelligenceProperties limiteProperties = new TrafficIntelligenceProperties();
+        limiteProperties.getLimiteConcorrencia().setLimiteInicial(4);
+        limiteProperties.getLimiteConcorrencia().setLimiteMinimo(1);
+        LimitadoresConcorrencia limitadores = new LimitadoresConcorrencia(limiteProperties, new SimpleMeterRegistry());
+        Client liveOps = (request, options) -> {
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            return Response.builder().status(200).headers(Map.of()).request(request).build();
+        };
+        ConcurrencyLimitingFeignClient clienteLimitado = new ConcurrencyLimitingFeignClient(liveOps, limitadores);
+        Request.Options options = new Request.Options(1, TimeUnit.SECONDS, 2, TimeUnit.SECONDS, true);
+
+        when(cachePort.getSugestoes(anyString(), eq(SugestaoOrdenada.class))).thenReturn(Optional.empty());
+        when(networkServicePort.buscarUnidadesProximas(anyString(), anyDouble(), anyString()))
+            .thenReturn(unidades);
+        when(liveOpsServicePort.buscarIndicadores(any())).thenAnswer(invocation -> {
+            Request request = Request.create(Request.HttpMethod.GET,
+                "http://liveops.local/units/" + invocation.getArgument(0), Map.of(), null, null, null);
+            clienteLimitado.execute(request, options);
+            return criarIndicadoresDTO();
+        });
+        when(pesosRepository.buscar()).thenReturn(Optional.of(CriterioPeso.padrao()));
+        when(algoritmoService.calcularSugestoes(anyList(), any(), any(), any(), anyInt()))
+            .thenReturn(criarSugestoes());
+
+        useCase.executar("Rua Teste, 123", RiskClassification.RED, null, 10.0, "KM", Duration.ofSeconds(10));
+
+        verify(algoritmoService).calcularSugestoes(argThat(contextos -> contextos.size() == 24
+                && contextos.stream().allMatch(c -> c.procedencia() == ProcedenciaIndicadores.LIVE)),
+            any(), any(), any(), anyInt());
+        assertEquals(0, limitadores.doUpstream("liveops.local").emUso());
+    }
+
+    @Test
+    void deveUsarIndicadoresPadraoApenasParaUnidadeQueFalhaNoFanOut() {
+        UnidadeSaudeDTO unidadeOk = criarUnidadeDTO();
+        UnidadeSaudeDTO unidadeFalha = criarUnidadeDTO();
+
+        when(cachePort.getSugestoes(anyString(), eq(SugestaoOrdenada.class))).thenReturn(Optional.empty());
+        when(networkServicePort.buscarUnidadesProximas(anyString(), anyDouble(), anyString()))
+            .thenReturn(List.of(unidadeOk, unidadeFalha));
+        when(liveOpsServicePort.buscarIndicadores(unidadeOk.id())).thenReturn(criarIndicadoresDTO());
+        when(liveOpsServicePort.buscarIndicadores(unidadeFalha.id()))
+            .thenThrow(new RuntimeException("Erro ao buscar indicadores"));
+        when(pesosRepository.buscar()).thenReturn(Optional.of(CriterioPeso.padrao()));
+        when(algoritmoService.calcularSugestoes(anyList(), any(), any(), any(), anyInt()))
+            .thenReturn(criarSugestoes());
+
+        useCase.executar("Rua Teste, 123", RiskClassification.RED, null, 10.0, "KM");
+
+        verify(algoritmoService).calcularSugestoes(argThat(contextos -> contextos.stream()
+                .filter(c -> c.unidadeId().equals(unidadeFalha.id()))
+                .allMatch(c -> c.indicadores().equals(IndicadoresOperacionais.padrao()))
+                && contextos.size() == 2),
+            any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void deveBuscarPorUnidadeApenasAsNaoResolvidasEmLote() {
+        UnidadeSaudeDTO resolvidaEmLote = criarUnidadeDTO();
+        UnidadeSaudeDTO pendente = criarUnidadeDTO();
+
+        when(cachePort.getSugestoes(anyString(), eq(SugestaoOrdenada.class))).thenReturn(Optional.empty());
+        when(networkServicePort.buscarUnidadesProximas(anyString(), anyDouble(), anyString()))
+            .thenReturn(List.of(resolvidaEmLote, pendente));
+        when(liveOpsServicePort.buscarIndicadoresEmLote(List.of(resolvidaEmLote.id(), pendente.id())))
+            .thenReturn(Map.of(resolvidaEmLote.id(), criarIndicadoresDTO()));
+        when(liveOpsServicePort.buscarIndicadores(pendente.id())).thenReturn(criarIndicadoresDTO());
+        when(pesosRepository.buscar()).thenReturn(Optional.of(CriterioPeso.padrao()));
+        when(algoritmoService.calcularSugestoes(anyList(), any(), any(), any(), anyInt()))
+            .thenReturn(criarSugestoes());
+
+        useCase.executar("Rua Teste, 123", RiskClassification.RED, null, 10.0, "KM");
+
+        verify(liveOpsServicePort, never()).buscarIndicadores(resolvidaEmLote.id());
+        verify(liveOpsServicePort).buscarIndicadores(pendente.id());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveBuscarIndicadoresDeCadaPaginaAssimQueElaChega() {
+        networkServiceConfig.getPaginacao().setHabilitado(true);
+        UnidadeSaudeDTO primeira = criarUnidadeDTO();
+        UnidadeSaudeDTO segunda = criarUnidadeDTO();
+        UnidadeSaudeDTO terceira = criarUnidadeDTO();
+
+        when(cachePort.getSugestoes(anyString(), eq(SugestaoOrdenada.class))).thenReturn(Optional.empty());
+        when(networkServicePort.buscarUnidadesProximas(anyString(), anyDouble(), anyString(), any()))
+            .thenAnswer(invocation -> {
+                Consumer<List<UnidadeSaudeDTO>> aoReceberPagina = invocation.getArgument(3);
+                aoReceberPagina.accept(List.of(primeira, segunda));
+                // Indicadores da primeira página já estão sendo buscados antes da próxima chegar
+                verify(liveOpsServicePort, timeout(2000)).buscarIndicadoresEmLote(List.of(primeira.id(), segunda.id()));
+                aoReceberPagina.accept(List.of(terceira));
+                return List.of(primeira, segunda, terceira);
+            });
+        when(liveOpsServicePort.buscarIndicadoresEmLote(anyList())).thenAnswer(invocation -> {
+            Map<UUID, IndicadoresDTO> resultado = new HashMap<>();
+            invocation.<List<UUID>>getArgument(0).forEach(id -> resultado.put(id, criarIndicadoresDTO()));
+            return resultado;
+        });
+        when(liveOpsServicePort.buscarIndicadores(terceira.id())).thenReturn(criarIndicadoresDTO());
+        when(pesosRepository.buscar()).thenReturn(Optional.of(CriterioPeso.padrao()));
+        when(algoritmoService.calcularSugestoes(anyList(), any(), any(), any(), anyInt()))
+            .thenReturn(criarSugestoes());
+
+        useCase.executar("Rua Teste, 123", RiskClassification.RED, null, 10.0, "KM");
+
+        verify(networkServicePort, never()).buscarUnidadesProximas(anyString(), anyDouble(), anyString());
+        // Cada unidade é buscada uma única vez: a página de uma unidade só vai pelo caminho individual
+        verify(liveOpsServicePort, times(1)).buscarIndicadoresEmLote(anyList());
+        verify(liveOpsServicePort, times(1)).buscarIndicadores(any());
+        verify(algoritmoService).calcularSugestoes(argThat(contextos -> contextos.size() == 3
+            && contextos.stream().allMatch(contexto -> contexto.procedencia() == ProcedenciaIndicadores.LIVE)),
+            any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void deveBuscarIndicadoresSequencialmenteQuandoFanOutDesabilitado() {
+        UnidadeSaudeDTO primeira = criarUnidadeDTO();
+        UnidadeSaudeDTO segunda = criarUnidadeDTO();
+        liveOpsConfig.getFanOut().setHabilitado(false);
+
+        when(cachePort.getSugestoes(anyString(), eq(SugestaoOrdenada.class))).thenReturn(Optional.empty());
+        when(networkServicePort.buscarUnidadesProximas(anyString(), anyDouble(), anyString()))
+            .thenReturn(List.of(primeira, segunda));
+        when(liveOpsServicePort.buscarIndicadores(any())).thenReturn(criarIndicadoresDTO());
+        when(pesosRepository.buscar()).thenReturn(Optional.of(CriterioPeso.padrao()));
+        when(algoritmoService.calcularSugestoes(anyList(), any(), any(), any(), anyInt()))
+            .thenReturn(criarSugestoes());
+
+        useCase.executar("Rua Teste, 123", RiskClassification.RED, null, 10.0, "KM");
+
+        var ordem = inOrder(liveOpsServicePort);
+        ordem.verify(liveOpsServicePort).buscarIndicadores(primeira.id());
+        ordem.verify(liveOpsServicePort).buscarIndicadores(segunda.id());
+    }
+
     @Test
     void deveUsarPesosPadraoQuandoNaoEncontrados() {
         UnidadeSaudeDTO unidadeDTO = criarUnidadeDTO();
@@ -275,6 +509,72 @@ class ConsultarDirecionamentoUseCaseTest {
         verify(cachePort).putSugestoes(anyString(), eq(sugestoes), eq(300L));
     }
 
+    @Test
+    void deveProcessarUmaUnicaVezConsultasIdenticasSimultaneas() throws Exception {
+        UnidadeSaudeDTO unidadeDTO = criarUnidadeDTO();
+        List<SugestaoOrdenada> sugestoes = criarSugestoes();
+        CountDownLatch buscaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarBusca = new CountDownLatch(1);
+
+        when(cachePort.getSugestoes(anyString(), eq(SugestaoOrdenada.class))).thenReturn(Optional.empty());
+        when(networkServicePort.buscarUnidadesProximas(anyString(), anyDouble(), anyString())).thenAnswer(invocation -> {
+            buscaIniciada.countDown();
+            liberarBusca.await(5, TimeUnit.SECONDS);
+            return List.of(unidadeDTO);
+        });
+        when(liveOpsServicePort.buscarIndicadores(any())).thenReturn(criarIndicadoresDTO());
+        when(pesosRepository.buscar()).thenReturn(Optional.of(CriterioPeso.padrao()));
+        when(algoritmoService.calcularSugestoes(anyList(), any(), any(), any(), anyInt())).thenReturn(sugestoes);
+
+        CompletableFuture<List<SugestaoOrdenada>> primeira = CompletableFuture.supplyAsync(() ->
+            useCase.executar("Rua Teste, 123", RiskClassification.RED, null, 10.0, "KM"));
+        assertTrue(buscaIniciada.await(5, TimeUnit.SECONDS));
+        CompletableFuture<List<SugestaoOrdenada>> segunda = CompletableFuture.supplyAsync(() ->
+            useCase.executar("Rua Teste, 123", RiskClassification.RED, null, 10.0, "KM"));
+        verify(cachePort, timeout(1000).times(2)).getSugestoes(anyString(), eq(SugestaoOrdenada.class));
+        Thread.sleep(50);
+        liberarBusca.countDown();
+
+        assertEquals(sugestoes, primeira.get(5, TimeUnit.SECONDS));
+        assertEquals(sugestoes, segunda.get(5, TimeUnit.SECONDS));
+        verify(networkServicePort, times(1)).buscarUnidadesProximas(anyString(), anyDouble(), anyString());
+        verify(cachePort, times(1)).putSugestoes(anyString(), eq(sugestoes), anyLong());
+    }
+
+    @Test
+    void deveProcessarDeNovoQuandoConsultaIdenticaEsgotaOProprioPrazo() throws Exception {
+        List<SugestaoOrdenada> sugestoes = criarSugestoes();
+        CountDownLatch buscaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarBusca = new CountDownLatch(1);
+        AtomicInteger buscas = new AtomicInteger();
+
+        when(cachePort.getSugestoes(anyString(), eq(SugestaoOrdenada.class))).thenReturn(Optional.empty());
+        when(networkServicePort.buscarUnidadesProximas(anyString(), anyDouble(), anyString())).thenAnswer(invocation -> {
+            if (buscas.incrementAndGet() == 1) {
+                buscaIniciada.countDown();
+                liberarBusca.await(5, TimeUnit.SECONDS);
+            }
+            return List.of(criarUnidadeDTO());
+        });
+        when(liveOpsServicePort.buscarIndicadores(any())).thenReturn(criarIndicadoresDTO());
+        when(pesosRepository.buscar()).thenReturn(Optional.of(CriterioPeso.padrao()));
+        when(algoritmoService.calcularSugestoes(anyList(), any(), any(), any(), anyInt())).thenReturn(sugestoes);
+
+        CompletableFuture<List<SugestaoOrdenada>> comPrazoCurto = CompletableFuture.supplyAsync(() ->
+            useCase.executar("Rua Teste, 123", RiskClassification.RED, null, 10.0, "KM", Duration.ofMillis(100)));
+        assertTrue(buscaIniciada.await(5, TimeUnit.SECONDS));
+        CompletableFuture<List<SugestaoOrdenada>> comPrazoLongo = CompletableFuture.supplyAsync(() ->
+            useCase.executar("Rua Teste, 123", RiskClassification.RED, null, 10.0, "KM", Duration.ofSeconds(5)));
+        verify(cachePort, timeout(1000).times(2)).getSugestoes(anyString(), eq(SugestaoOrdenada.class));
+        Thread.sleep(150);
+        liberarBusca.countDown();
+
+        ExecutionException erro = assertThrows(ExecutionException.class, () -> comPrazoCurto.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DeadlineExceededException.class, erro.getCause());
+        assertEquals(sugestoes, comPrazoLongo.get(5, TimeUnit.SECONDS));
+        verify(networkServicePort, times(2)).buscarUnidadesProximas(anyString(), anyDouble(), anyString());
+    }
+
     @Test
     void deveLancarExcecaoQuandoAlgoritmoFalha() {
         UnidadeSaudeDTO unidadeDTO = criarUnidadeDTO();
@@ -312,6 +612,199 @@ class ConsultarDirecionamentoUseCaseTest {
         });
     }
 
+    @Test
+    void deveUsarIndicadoresPadraoParaUnidadeQueNaoRespondeNoPrazo() {
+        UnidadeSaudeDTO unidadeRapida = criarUnidadeDTO();
+        UnidadeSaudeDTO unidadeLenta = criarUnidadeDTO();
+
+        when(cachePort.getSugestoes(anyString(), eq(SugestaoOrdenada.class))).thenReturn(Optional.empty());
+        when(networkServicePort.buscarUnidadesProximas(anyString(), anyDouble(), anyString()))
+            .thenReturn(List.of(unidadeRapida, unidadeLenta));
+        when(liveOpsServicePort.buscarIndicadores(unidadeRapida.id())).thenReturn(criarIndicadoresDTO());
+        when(liveOpsServicePort.buscarIndicadores(unidadeLenta.id())).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return criarIndicadoresDTO();
+        });
+        when(pesosRepository.buscar()).thenReturn(Optional.of(CriterioPeso.padrao()));
+        when(algoritmoService.calcularSugestoes(anyList(), any(), any(), any(), anyInt()))
+            .thenReturn(criarSugestoes());
+
+        long inicio = System.nanoTime();
+        useCase.executar("Rua Teste, 123", RiskClassification.RED, null, 10.0, "KM", Duration.ofMillis(300));
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertTrue(duracaoMs < 2_000, "consulta deveria respeitar o prazo, levou " + duracaoMs + "ms");
+        verify(algoritmoService).calcularSugestoes(argThat(contextos -> contextos.size() == 2
+                && contextos.stream()
+                    .filter(c -> c.unidadeId().equals(unidadeLenta.id()))
+                    .allMatch(c -> c.indicadores().equals(IndicadoresOperacionais.padrao()))),
+            any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void deveUsarUltimosIndicadoresConhecidosQuandoUnidadeNaoRespondeNoPrazo() {
+        UnidadeSaudeDTO unidadeRapida = criarUnidadeDTO();
+        UnidadeSaudeDTO unidadeLenta = criarUnidadeDTO();
+        IndicadoresDTO conhecidos = new IndicadoresDTO(unidadeLenta.id(), Map.of(RiskClassification.RED, 42), 8, 3, 10)
+            .comProcedencia(ProcedenciaIndicadores.STALE);
+
+        when(cachePort.getSugestoes(anyString(), eq(SugestaoOrdenada.class))).thenReturn(Optional.empty());
+        when(networkServicePort.buscarUnidadesProximas(anyString(), anyDouble(), anyString()))
+            .thenReturn(List.of(unidadeRapida, unidadeLenta));
+        when(liveOpsServicePort.buscarIndicadores(unidadeRapida.id())).thenReturn(criarIndicadoresDTO());
+        when(liveOpsServicePort.buscarIndicadores(unidadeLenta.id())).thenAnswer(invocation -> {
+            Thread.sleep(5_000);
+            return criarIndicadoresDTO();
+        });
+        when(liveOpsServicePort.buscarUltimosIndicadoresConhecidos(List.of(unidadeLenta.id())))
+            .thenReturn(Map.of(unidadeLenta.id(), conhecidos));
+        when(pesosRepository.buscar()).thenReturn(Optional.of(CriterioPeso.padrao()));
+        List<SugestaoOrdenada> sugestoes = criarSugestoes();
+        when(algoritmoService.calcularSugestoes(anyList(), any(), any(), any(), anyInt())).thenReturn(sugestoes);
+
+        useCase.executar("Rua Teste, 123", RiskClassification.RED, null, 10.0, "KM", Duration.ofMillis(300));
+
+        verify(algoritmoService).calcularSugestoes(argThat(contextos -> contextos.stream()
+                .anyMatch(c -> c.unidadeId().equals(unidadeLenta.id())
+                    && c.procedencia() == ProcedenciaIndicadores.STALE
+                    && c.indicadores().getTmaPorRisco(RiskClassification.RED) == 42)
+                && contextos.stream()
+                    .anyMatch(c -> c.unidadeId().equals(unidadeRapida.id())
+                        && c.procedencia() == ProcedenciaIndicadores.LIVE)),
+            any(), any(), any(), anyInt());
+        verify(cachePort).putSugestoes(anyString(), eq(sugestoes), eq(10L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveLerUltimosIndicadoresConhecidosDoRedisDepoisDoPrazoEsgotado() {
+        UnidadeSaudeDTO unidadeDTO = criarUnidadeDTO();
+        IndicadoresDTO deOutraInstancia = new IndicadoresDTO(unidadeDTO.id(), Map.of(RiskClassification.RED, 42), 8, 3, 10);
+
+        // Adapter e cache reais; só o Redis e o LiveOps são simulados
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, Object> redis = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(redis);
+        // A unidade não estava no cache no início da consulta; outra instância a buscou enquanto o LiveOps demorava
+        when(redis.get(CacheKeyGenerator.indicadoresKey(unidadeDTO.id())))
+            .thenReturn(null)
+            .thenReturn(IndicadoresCacheEntry.novo(deOutraInstancia, Duration.ofSeconds(30)));
+        RedisCacheAdapter cache = new RedisCacheAdapter(redisTemplate,
+            new ObjectMapper().registerModule(new JavaTimeModule()), BulkheadRegistry.ofDefaults());
+        LiveOpsServiceClient liveOpsClient = mock(LiveOpsServiceClient.class);
+        // Como o client real, a leitura expira junto com o prazo da consulta
+        when(liveOpsClient.buscarIndicadores(anyString(), any())).thenAnswer(invocation -> {
+            Thread.sleep(250);
+            throw new IllegalStateException("Read timed out");
+        });
+        TrafficIntelligenceProperties adapterProperties = new TrafficIntelligenceProperties();
+        LiveOpsServiceAdapter liveOpsAdapter = new LiveOpsServiceAdapter(liveOpsClient, cache, adapterProperties,
+            new LiveOpsAnalyticsMapper(), new IndicadoresMaterializados(adapterProperties),
+            new VolatilidadeIndicadores(adapterProperties), BulkheadRegistry.ofDefaults(),
+            CircuitBreakerRegistry.ofDefaults(), new SimpleMeterRegistry());
+        ConsultarDirecionamentoUseCase useCaseComAdapter = new ConsultarDirecionamentoUseCase(networkServicePort,
+            liveOpsAdapter, pesosRepository, algoritmoService, properties, cachePort, popularidadeUnidadesPort);
+
+        when(cachePort.getSugestoes(anyString(), eq(SugestaoOrdenada.class))).thenReturn(Optional.empty());
+        when(networkServicePort.buscarUnidadesProximas(anyString(), anyDouble(), anyString()))
+            .thenReturn(List.of(unidadeDTO));
+        when(pesosRepository.buscar()).thenReturn(Optional.of(CriterioPeso.padrao()));
+        when(algoritmoService.calcularSugestoes(anyList(), any(), any(), any(), anyInt())).thenReturn(criarSugestoes());
+
+        useCaseComAdapter.executar("Rua Teste, 123", RiskClassification.RED, null, 10.0, "KM", Duration.ofMillis(200));
+
+        verify(algoritmoService).calcularSugestoes(argThat(contextos -> contextos.size() == 1
+                && contextos.get(0).procedencia() == ProcedenciaIndicadores.STALE
+                && contextos.get(0).indicadores().getTmaPorRisco(RiskClassification.RED) == 42),
+            any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void deveMarcarIndicadoresPadraoQuandoNaoHaUltimosConhecidos() {
+        UnidadeSaudeDTO unidadeDTO = criarUnidadeDTO();
+        IndicadoresDTO padrao = criarIndicadoresDTO().comProcedencia(ProcedenciaIndicadores.DEFAULT);
+
+        when(cachePort.getSugestoes(anyString(), eq(SugestaoOrdenada.class))).thenReturn(Optional.empty());
+        when(networkServicePort.buscarUnidadesProximas(anyString(), anyDouble(), anyString()))
+            .thenReturn(List.of(unidadeDTO));
+        when(liveOpsServicePort.buscarIndicadores(unidadeDTO.id())).thenReturn(padrao);
+        when(liveOpsServicePort.buscarUltimosIndicadoresConhecidos(unidadeDTO.id())).thenReturn(Optional.empty());
+        when(pesosRepository.buscar()).thenReturn(Optional.of(CriterioPeso.padrao()));
+        when(algoritmoService.calcularSugestoes(anyList(), any(), any(), any(), anyInt())).thenReturn(criarSugestoes());
+
+        useCase.executar("Rua Teste, 123", RiskClassification.RED, null, 10.0, "KM");
+
+        verify(algoritmoService).calcularSugestoes(argThat(contextos -> contextos.size() == 1
+                && contextos.get(0).procedencia() == ProcedenciaIndicadores.DEFAULT
+                && contextos.get(0).indicadores().equals(IndicadoresOperacionais.padrao())),
+            any(), any(), any(), anyInt());
+        verify(cachePort).putSugestoes(anyString(), anyList(), eq(10L));
+    }
+
+    @Test
+    void deveBuscarIndicadoresApenasDasUnidadesMaisProximasComBuscaLimitada() {
+        algoritmoConfig.getBuscaLimitada().setHabilitado(true);
+        algoritmoConfig.getBuscaLimitada().setTamanhoLote(10);
+        List<UnidadeSaudeDTO> unidades = new ArrayList<>();
+        for (int i = 30; i > 0; i--) {
+            unidades.add(new UnidadeSaudeDTO(UUID.randomUUID(), "Hospital " + i, "12345678901234", null, List.of(), i + ".0 km"));
+        }
+        List<SugestaoOrdenada> sugestoes = criarSugestoes();
+
+        when(cachePort.getSugestoes(anyString(), eq(SugestaoOrdenada.class))).thenReturn(Optional.empty());
+        when(networkServicePort.buscarUnidadesProximas(anyString(), anyDouble(), anyString())).thenReturn(unidades);
+        when(liveOpsServicePort.buscarIndicadores(any())).thenReturn(criarIndicadoresDTO());
+        when(pesosRepository.buscar()).thenReturn(Optional.of(CriterioPeso.padrao()));
+        when(algoritmoService.limiteSuperiorScore(anyDouble(), anyDouble(), any())).thenReturn(0.5);
+        when(algoritmoService.calcularSugestoes(anyList(), any(), any(), any(), anyInt())).thenReturn(sugestoes);
+        when(algoritmoService.topKDefinido(sugestoes, 5, 0.5)).thenReturn(true);
+
+        List<SugestaoOrdenada> resultado = useCase.executar("Rua Teste, 123", RiskClassification.RED, null, 50.0, "KM");
+
+        assertEquals(sugestoes, resultado);
+        verify(liveOpsServicePort, times(10)).buscarIndicadores(any());
+        unidades.stream()
+            .filter(u -> Double.parseDouble(u.distance().replace(" km", "")) <= 10)
+            .forEach(u -> verify(liveOpsServicePort).buscarIndicadores(u.id()));
+        verify(algoritmoService, times(2)).calcularSugestoes(argThat(contextos -> contextos.size() == 10),
+            any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void deveLancarDeadlineExceededQuandoNetworkServiceEsgotaPrazo() {
+        when(cachePort.getSugestoes(anyString(), eq(SugestaoOrdenada.class))).thenReturn(Optional.empty());
+        when(networkServicePort.buscarUnidadesProximas(anyString(), anyDouble(), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return List.of(criarUnidadeDTO());
+        });
+
+        assertThrows(DeadlineExceededException.class, () ->
+            useCase.executar("Rua Teste, 123", RiskClassification.RED, null, 10.0, "KM", Duration.ofMillis(20)));
+        verifyNoInteractions(liveOpsServicePort);
+    }
+
+    @Test
+    void deveLimitarOrcamentoAoMaximoConfigurado() {
+        deadlineConfig.setMaximo(Duration.ofSeconds(1));
+        AtomicReference<Duration> restanteNoNetworkService = new AtomicReference<>();
+
+        when(cachePort.getSugestoes(anyString(), eq(SugestaoOrdenada.class))).thenReturn(Optional.empty());
+        when(networkServicePort.buscarUnidadesProximas(anyString(), anyDouble(), anyString())).thenAnswer(invocation -> {
+            restanteNoNetworkService.set(ContextoConsulta.tempoRestante().orElse(null));
+            return List.of(criarUnidadeDTO());
+        });
+        when(liveOpsServicePort.buscarIndicadores(any())).thenReturn(criarIndicadoresDTO());
+        when(pesosRepository.buscar()).thenReturn(Optional.of(CriterioPeso.padrao()));
+        when(algoritmoService.calcularSugestoes(anyList(), any(), any(), any(), anyInt()))
+            .thenReturn(criarSugestoes());
+
+        useCase.executar("Rua Teste, 123", RiskClassification.RED, null, 10.0, "KM", Duration.ofSeconds(60));
+
+        assertNotNull(restanteNoNetworkService.get());
+        assertTrue(restanteNoNetworkService.get().compareTo(Duration.ofSeconds(1)) <= 0);
+        assertTrue(ContextoConsulta.deadlineAtual().isEmpty(), "contexto não deve vazar da consulta");
+    }
+
     private UnidadeSaudeDTO criarUnidadeDTO() {
         return new UnidadeSaudeDTO(
             UUID.randomUUID(),
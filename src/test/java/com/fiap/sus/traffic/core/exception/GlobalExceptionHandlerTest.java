@@ -49,6 +49,17 @@ class GlobalExceptionHandlerTest {
         assertEquals("Mensagem de erro", response.getBody().message());
     }
 
+    @Test
+    void deveTratarDeadlineExceededExceptionComoGatewayTimeout() {
+        DeadlineExceededException exception = new DeadlineExceededException("Network Service");
+
+        ResponseEntity<ErrorResponse> response = handler.handleBusinessException(exception, request);
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("DEADLINE_EXCEEDED", response.getBody().errorCode());
+    }
+
     @Test
     void deveTratarValidationException() {
         ValidationException exception = new ValidationException("campo", "Erro de validação");
@@ -211,6 +211,61 @@ class AlgoritmoDirecionamentoServiceTest {
         verify(calculadoraScore, never()).calcularScoreDistancia(anyList(), any());
     }
 
+    @Test
+    void deveCalcularLimiteSuperiorPelaDistancia() {
+        assertEquals(1.0, algoritmoService.limiteSuperiorScore(0.0, 10.0, pesos), 0.0001);
+        assertEquals(0.85, algoritmoService.limiteSuperiorScore(5.0, 10.0, pesos), 0.0001);
+        assertEquals(0.7, algoritmoService.limiteSuperiorScore(10.0, 10.0, pesos), 0.0001);
+    }
+
+    @Test
+    void deveDefinirTopKApenasQuandoKesimaSugestaoAlcancaOLimite() {
+        List<SugestaoOrdenada> parciais = List.of(
+            new SugestaoOrdenada(UUID.randomUUID(), "A", 0.9, 1.0, 10, ""),
+            new SugestaoOrdenada(UUID.randomUUID(), "B", 0.8, 2.0, 10, "")
+        );
+
+        assertTrue(algoritmoService.topKDefinido(parciais, 2, 0.8));
+        assertFalse(algoritmoService.topKDefinido(parciais, 2, 0.81));
+        assertFalse(algoritmoService.topKDefinido(parciais, 3, 0.1));
+    }
+
+    @Test
+    void deveAvaliarTodasAsUnidadesDoTopKCompletoComBuscaLimitada() {
+        AlgoritmoDirecionamentoService algoritmoReal = new AlgoritmoDirecionamentoService(new CalculadoraScoreService());
+        CriterioPeso pesosDistancia = new CriterioPeso(0.7, 0.1, 0.1, 0.1);
+        java.util.Random random = new java.util.Random(42);
+
+        for (int rodada = 0; rodada < 50; rodada++) {
+            List<UnidadeSaudeContext> candidatas = new java.util.ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                candidatas.add(new UnidadeSaudeContext(UUID.randomUUID(), "U" + i, null, null, List.of(),
+                    new IndicadoresOperacionais(random.nextInt(60), 10, 60, 120, 240, random.nextInt(20), 0, 20),
+                    random.nextDouble() * 50));
+            }
+            candidatas.sort(java.util.Comparator.comparingDouble(UnidadeSaudeContext::distanciaKm));
+            double maxDistancia = candidatas.get(candidatas.size() - 1).distanciaKm();
+
+            List<SugestaoOrdenada> completa = algoritmoReal.calcularSugestoes(candidatas, pesosDistancia, RiskClassification.RED, null, 5);
+
+            int avaliadas = 10;
+            while (avaliadas < candidatas.size()) {
+                List<SugestaoOrdenada> parciais = algoritmoReal.calcularSugestoes(
+                    candidatas.subList(0, avaliadas), pesosDistancia, RiskClassification.RED, null, 5);
+                double limite = algoritmoReal.limiteSuperiorScore(candidatas.get(avaliadas).distanciaKm(), maxDistancia, pesosDistancia);
+                if (algoritmoReal.topKDefinido(parciais, 5, limite)) {
+                    break;
+                }
+                avaliadas += 10;
+            }
+            var avaliadasIds = candidatas.subList(0, Math.min(avaliadas, candidatas.size())).stream()
+                .map(UnidadeSaudeContext::unidadeId)
+                .collect(java.util.stream.Collectors.toSet());
+
+            assertTrue(completa.stream().map(SugestaoOrdenada::unidadeId).allMatch(avaliadasIds::contains));
+        }
+    }
+
     private UnidadeSaudeContext criarUnidade(String especialidade) {
         IndicadoresOperacionais indicadores = new IndicadoresOperacionais(
             5, 10, 60, 120, 240, 5, 0, 10
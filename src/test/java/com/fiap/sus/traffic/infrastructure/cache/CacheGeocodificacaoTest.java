@@ -0,0 +1,89 @@
+package com.fiap.sus.traffic.infrastructure.cache;
+
+import com.fiap.sus.traffic.application.port.CachePort;
+import com.fiap.sus.traffic.infrastructure.client.dto.CoordenadasDTO;
+import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheGeocodificacaoTest {
+
+    private static final String ENDERECO = "Avenida Paulista, 1000, São Paulo, SP";
+
+    @Mock
+    private CachePort cachePort;
+
+    @Mock
+    private TrafficIntelligenceProperties properties;
+
+    @InjectMocks
+    private CacheGeocodificacao cache;
+
+    private TrafficIntelligenceProperties.Cache cacheProperties;
+
+    @BeforeEach
+    void setUp() {
+        cacheProperties = new TrafficIntelligenceProperties.Cache();
+        lenient().when(properties.getCache()).thenReturn(cacheProperties);
+    }
+
+    @Test
+    void deveGuardarNoRedisENaMemoria() {
+        CoordenadasDTO coordenadas = new CoordenadasDTO(-23.56, -46.65);
+
+        cache.guardar(ENDERECO, coordenadas);
+
+        verify(cachePort).put(CacheKeyGenerator.geocodificacaoKey(ENDERECO), coordenadas, Duration.ofDays(7).getSeconds());
+        assertEquals(Optional.of(coordenadas), cache.buscar(ENDERECO));
+        verify(cachePort, never()).get(anyString(), any());
+    }
+
+    @Test
+    void deveBuscarNoRedisEGuardarNaMemoria() {
+        CoordenadasDTO coordenadas = new CoordenadasDTO(-23.56, -46.65);
+        when(cachePort.get(CacheKeyGenerator.geocodificacaoKey(ENDERECO), CoordenadasDTO.class))
+            .thenReturn(Optional.of(coordenadas));
+
+        assertEquals(Optional.of(coordenadas), cache.buscar(ENDERECO));
+        assertEquals(Optional.of(coordenadas), cache.buscar(ENDERECO));
+
+        verify(cachePort, times(1)).get(anyString(), eq(CoordenadasDTO.class));
+        assertEquals(1, cache.tamanhoLocal());
+    }
+
+    @Test
+    void naoDeveGuardarResultadoSemCoordenadas() {
+        cache.guardar(ENDERECO, new CoordenadasDTO(null, -46.65));
+        cache.guardar(ENDERECO, null);
+
+        verifyNoInteractions(cachePort);
+        assertEquals(0, cache.tamanhoLocal());
+    }
+
+    @Test
+    void deveDescartarEnderecoMenosUsadoQuandoMemoriaCheia() {
+        cacheProperties.setMaxGeocodificacoesLocais(2);
+        cache.guardar("Rua A", new CoordenadasDTO(1.0, 1.0));
+        cache.guardar("Rua B", new CoordenadasDTO(2.0, 2.0));
+        cache.buscar("Rua A");
+
+        cache.guardar("Rua C", new CoordenadasDTO(3.0, 3.0));
+
+        assertEquals(2, cache.tamanhoLocal());
+        when(cachePort.get(CacheKeyGenerator.geocodificacaoKey("Rua B"), CoordenadasDTO.class)).thenReturn(Optional.empty());
+        assertTrue(cache.buscar("Rua B").isEmpty());
+        assertTrue(cache.buscar("Rua A").isPresent());
+    }
+}
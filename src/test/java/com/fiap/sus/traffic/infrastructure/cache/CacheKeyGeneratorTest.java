@@ -139,4 +139,11 @@ class CacheKeyGeneratorTest {
 
         assertTrue(key.contains("unknown"));
     }
+
+    @Test
+    void deveGerarChaveGeocodificacaoSemRaio() {
+        String key = CacheKeyGenerator.geocodificacaoKey("  Rua Teste, 123 ");
+
+        assertEquals("traffic:intelligence:geocodificacao:rua_teste,_123", key);
+    }
 }
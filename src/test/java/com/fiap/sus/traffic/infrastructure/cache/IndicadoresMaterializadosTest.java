@@ -0,0 +1,100 @@
+package com.fiap.sus.traffic.infrastructure.cache;
+
+import com.fiap.sus.traffic.application.dto.IndicadoresDTO;
+import com.fiap.sus.traffic.domain.model.RiskClassification;
+import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndicadoresMaterializadosTest {
+
+    private final TrafficIntelligenceProperties properties = new TrafficIntelligenceProperties();
+    private final IndicadoresMaterializados indicadoresMaterializados = new IndicadoresMaterializados(properties);
+    private final UUID unidadeId = UUID.randomUUID();
+
+    @Test
+    void deveRetornarIndicadoresAtualizados() {
+        IndicadoresDTO indicadores = criarIndicadores(10);
+        indicadoresMaterializados.atualizar(indicadores, Instant.now());
+
+        assertEquals(indicadores, indicadoresMaterializados.buscar(unidadeId, Duration.ofSeconds(60)).orElseThrow());
+        assertEquals(1, indicadoresMaterializados.tamanho());
+    }
+
+    @Test
+    void deveIgnorarRegistroMaisAntigoQueIdadeMaxima() {
+        indicadoresMaterializados.atualizar(criarIndicadores(10), Instant.now().minusSeconds(120));
+
+        assertTrue(indicadoresMaterializados.buscar(unidadeId, Duration.ofSeconds(60)).isEmpty());
+    }
+
+    @Test
+    void naoDeveSobrescreverComEventoMaisAntigo() {
+        IndicadoresDTO recente = criarIndicadores(10);
+        indicadoresMaterializados.atualizar(recente, Instant.now());
+        indicadoresMaterializados.atualizar(criarIndicadores(99), Instant.now().minusSeconds(5));
+
+        assertEquals(recente, indicadoresMaterializados.buscar(unidadeId, Duration.ofSeconds(60)).orElseThrow());
+    }
+
+    @Test
+    void naoDeveSobrescreverEventoComRespostaHttpIniciadaAntes() {
+        IndicadoresDTO doEvento = criarIndicadores(10);
+        indicadoresMaterializados.registrarEvento(doEvento, Instant.now());
+        indicadoresMaterializados.atualizar(criarIndicadores(99), Instant.now().minusSeconds(1));
+
+        assertEquals(doEvento, indicadoresMaterializados.buscar(unidadeId, Duration.ofSeconds(60)).orElseThrow());
+    }
+
+    @Test
+    void deveManterUnidadeSemEventosEnquantoStreamEstaAtivo() {
+        IndicadoresDTO semMudancas = criarIndicadores(10);
+        indicadoresMaterializados.registrarEvento(semMudancas, Instant.now().minusSeconds(120));
+        indicadoresMaterializados.registrarEvento(
+            new IndicadoresDTO(UUID.randomUUID(), Map.of(RiskClassification.RED, 5), 1, 1, 20), Instant.now());
+
+        assertEquals(semMudancas, indicadoresMaterializados.buscar(unidadeId, Duration.ofSeconds(60)).orElseThrow());
+    }
+
+    @Test
+    void deveIgnorarRegistroAntigoQuandoStreamPara() throws InterruptedException {
+        indicadoresMaterializados.registrarEvento(criarIndicadores(10), Instant.now().minusSeconds(120));
+        Thread.sleep(20);
+
+        assertTrue(indicadoresMaterializados.buscar(unidadeId, Duration.ofMillis(10)).isEmpty());
+        assertTrue(indicadoresMaterializados.buscarUltimo(unidadeId).isPresent());
+    }
+
+    @Test
+    void deveDescartarUnidadeMenosUsadaAoAtingirLimite() {
+        properties.getLiveopsService().getStream().setMaxUnidades(2);
+        indicadoresMaterializados.atualizar(criarIndicadores(10), Instant.now());
+        UUID segunda = UUID.randomUUID();
+        UUID terceira = UUID.randomUUID();
+        indicadoresMaterializados.atualizar(new IndicadoresDTO(segunda, Map.of(RiskClassification.RED, 5), 1, 1, 20), Instant.now());
+        indicadoresMaterializados.buscarUltimo(unidadeId);
+        indicadoresMaterializados.atualizar(new IndicadoresDTO(terceira, Map.of(RiskClassification.RED, 5), 1, 1, 20), Instant.now());
+
+        assertEquals(2, indicadoresMaterializados.tamanho());
+        assertTrue(indicadoresMaterializados.buscarUltimo(unidadeId).isPresent());
+        assertTrue(indicadoresMaterializados.buscarUltimo(segunda).isEmpty());
+    }
+
+    @Test
+    void deveIgnorarIndicadoresIncompletos() {
+        indicadoresMaterializados.atualizar(new IndicadoresDTO(unidadeId, null, 1, 1, 1), Instant.now());
+        indicadoresMaterializados.atualizar(null, Instant.now());
+
+        assertEquals(0, indicadoresMaterializados.tamanho());
+    }
+
+    private IndicadoresDTO criarIndicadores(int ocupacao) {
+        return new IndicadoresDTO(unidadeId, Map.of(RiskClassification.RED, 5), ocupacao, 2, 20);
+    }
+}
@@ -0,0 +1,76 @@
+package com.fiap.sus.traffic.infrastructure.cache;
+
+import com.fiap.sus.traffic.application.port.CachePort;
+import com.fiap.sus.traffic.infrastructure.cache.IndiceRaiosUnidades.Entrada;
+import com.fiap.sus.traffic.infrastructure.cache.IndiceRaiosUnidades.RaiosEmCache;
+import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IndiceRaiosUnidadesTest {
+
+    private static final String ENDERECO = "Rua Teste, 123";
+    private static final String CHAVE_INDICE = CacheKeyGenerator.unidadesRaiosKey(ENDERECO);
+
+    @Mock
+    private CachePort cachePort;
+
+    @Mock
+    private TrafficIntelligenceProperties properties;
+
+    @InjectMocks
+    private IndiceRaiosUnidades indice;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(properties.getCache()).thenReturn(new TrafficIntelligenceProperties.Cache());
+    }
+
+    @Test
+    void deveRetornarChavesComRaioMaiorOuIgualDaMenorParaAMaior() {
+        Instant futuro = Instant.now().plusSeconds(60);
+        when(cachePort.get(CHAVE_INDICE, RaiosEmCache.class)).thenReturn(Optional.of(new RaiosEmCache(List.of(
+            new Entrada(50, "k50", futuro),
+            new Entrada(5, "k5", futuro),
+            new Entrada(20, "k20", futuro),
+            new Entrada(30, "k30-expirada", Instant.now().minusSeconds(1))))));
+
+        assertEquals(List.of("k20", "k50"), indice.chavesComRaioMaior(ENDERECO, 10));
+    }
+
+    @Test
+    void deveRegistrarRaioMantendoEntradasValidasESubstituindoAMesmaChave() {
+        Instant futuro = Instant.now().plusSeconds(60);
+        when(cachePort.get(CHAVE_INDICE, RaiosEmCache.class)).thenReturn(Optional.of(new RaiosEmCache(List.of(
+            new Entrada(50, "k50", futuro),
+            new Entrada(10, "k10", futuro),
+            new Entrada(5, "k5-expirada", Instant.now().minusSeconds(1))))));
+
+        indice.registrar(ENDERECO, 10, "k10");
+
+        ArgumentCaptor<RaiosEmCache> gravado = ArgumentCaptor.forClass(RaiosEmCache.class);
+        verify(cachePort).put(eq(CHAVE_INDICE), gravado.capture(), eq(60L));
+        assertEquals(List.of("k10", "k50"), gravado.getValue().entradas().stream().map(Entrada::chave).toList());
+    }
+
+    @Test
+    void deveRetornarVazioSemIndiceNoCache() {
+        when(cachePort.get(CHAVE_INDICE, RaiosEmCache.class)).thenReturn(Optional.empty());
+
+        assertTrue(indice.chavesComRaioMaior(ENDERECO, 10).isEmpty());
+    }
+}
@@ -1,17 +1,26 @@
 package com.fiap.sus.traffic.infrastructure.cache;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.sus.traffic.shared.context.ContextoConsulta;
+import com.fiap.sus.traffic.shared.context.Deadline;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ValueOperations;
 
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -32,6 +41,9 @@ class RedisCacheAdapterTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Spy
+    private BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+
     @InjectMocks
     private RedisCacheAdapter cacheAdapter;
 
@@ -188,4 +200,92 @@ class RedisCacheAdapterTest {
 
         verify(valueOperations).set(eq("key"), eq(value), eq(Duration.ofSeconds(60)));
     }
+
+    @Test
+    void deveBuscarIndicadoresEmLoteComUmUnicoMget() {
+        UUID comCache = UUID.randomUUID();
+        UUID semCache = UUID.randomUUID();
+        Object value = new Object();
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList(value, null));
+        when(objectMapper.convertValue(value, Object.class)).thenReturn(value);
+
+        Map<UUID, Object> result = cacheAdapter.getIndicadoresEmLote(List.of(comCache, semCache), Object.class);
+
+        assertEquals(Map.of(comCache, value), result);
+        verify(valueOperations).multiGet(List.of(
+            CacheKeyGenerator.indicadoresKey(comCache),
+            CacheKeyGenerator.indicadoresKey(semCache)
+        ));
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    void deveRetornarMapaVazioQuandoErroNoMget() {
+        when(valueOperations.multiGet(anyList())).thenThrow(new RuntimeException("Redis error"));
+
+        Map<UUID, Object> result = cacheAdapter.getIndicadoresEmLote(List.of(UUID.randomUUID()), Object.class);
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveArmazenarIndicadoresEmLoteEmPipeline() {
+        UUID unidadeId = UUID.randomUUID();
+        Object value = new Object();
+        RedisOperations<String, Object> operations = mock(RedisOperations.class);
+        when(operations.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            SessionCallback<Object> callback = invocation.getArgument(0);
+            callback.execute(operations);
+            return List.of();
+        });
+
+        cacheAdapter.putIndicadoresEmLote(Map.of(unidadeId, value), 30);
+
+        verify(valueOperations).set(CacheKeyGenerator.indicadoresKey(unidadeId), value, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void naoDeveAcessarRedisQuandoLoteVazio() {
+        cacheAdapter.putIndicadoresEmLote(Map.of(), 30);
+
+        assertTrue(cacheAdapter.getIndicadoresEmLote(List.of(), Object.class).isEmpty());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void naoDeveAcessarRedisQuandoPrazoDaConsultaEsgotado() {
+        ContextoConsulta.executarCom(Deadline.em(Duration.ZERO), () -> {
+            assertTrue(cacheAdapter.get("test:key", String.class).isEmpty());
+            assertTrue(cacheAdapter.getIndicadoresEmLote(List.of(UUID.randomUUID()), Object.class).isEmpty());
+            cacheAdapter.put("test:key", "value", 60);
+            return null;
+        });
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void deveIgnorarOperacaoQuandoBulkheadDoRedisCheio() {
+        var bulkhead = bulkheadRegistry.bulkhead(RedisCacheAdapter.BULKHEAD,
+            BulkheadConfig.custom().maxConcurrentCalls(1).maxWaitDuration(Duration.ZERO).build());
+        assertTrue(bulkhead.tryAcquirePermission());
+
+        assertTrue(cacheAdapter.get("test:key", String.class).isEmpty());
+        cacheAdapter.put("test:key", "value", 60);
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    void deveLiberarVagaDoBulkheadAposOperacao() {
+        when(valueOperations.get("test:key")).thenThrow(new RuntimeException("Redis indisponível"));
+
+        cacheAdapter.get("test:key", String.class);
+        cacheAdapter.put("test:key", "value", 60);
+
+        var metricas = bulkheadRegistry.bulkhead(RedisCacheAdapter.BULKHEAD).getMetrics();
+        assertEquals(metricas.getMaxAllowedConcurrentCalls(), metricas.getAvailableConcurrentCalls());
+    }
 }
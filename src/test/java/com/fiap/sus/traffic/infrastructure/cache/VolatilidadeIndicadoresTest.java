@@ -0,0 +1,81 @@
+package com.fiap.sus.traffic.infrastructure.cache;
+
+import com.fiap.sus.traffic.application.dto.IndicadoresDTO;
+import com.fiap.sus.traffic.domain.model.RiskClassification;
+import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VolatilidadeIndicadoresTest {
+
+    private final TrafficIntelligenceProperties properties = new TrafficIntelligenceProperties();
+    private final VolatilidadeIndicadores volatilidade = new VolatilidadeIndicadores(properties);
+    private final UUID unidadeId = UUID.randomUUID();
+
+    @Test
+    void naoDeveTerVolatilidadeNaPrimeiraBusca() {
+        assertTrue(volatilidade.registrar(indicadores(10, 50)).isEmpty());
+        assertEquals(1, volatilidade.tamanho());
+    }
+
+    @Test
+    void deveTerVolatilidadeZeroQuandoIndicadoresNaoMudam() {
+        volatilidade.registrar(indicadores(10, 50));
+
+        assertEquals(OptionalDouble.of(0.0), volatilidade.registrar(indicadores(10, 50)));
+    }
+
+    @Test
+    void deveUsarMaiorVariacaoRelativaEntreTmaEOcupacao() {
+        volatilidade.registrar(indicadores(10, 50));
+
+        // TMA varia 20%, ocupação 10%
+        assertEquals(0.2, volatilidade.registrar(indicadores(12, 55)).getAsDouble(), 1e-9);
+    }
+
+    @Test
+    void deveSuavizarVariacoesComMediaMovel() {
+        volatilidade.registrar(indicadores(10, 50));
+        volatilidade.registrar(indicadores(20, 50));
+
+        // 0.3 * 0 + 0.7 * 1.0
+        assertEquals(0.7, volatilidade.registrar(indicadores(20, 50)).getAsDouble(), 1e-9);
+    }
+
+    @Test
+    void deveLimitarVariacaoAUm() {
+        assertEquals(1.0, VolatilidadeIndicadores.variacao(indicadores(1, 50), indicadores(30, 50)));
+        assertEquals(1.0, VolatilidadeIndicadores.variacao(indicadores(10, 50),
+            new IndicadoresDTO(unidadeId, Map.of(RiskClassification.RED, 10), null, 0, 100)));
+    }
+
+    @Test
+    void deveDescartarUnidadeMenosAcessadaQuandoLimiteAtingido() {
+        properties.getCache().getTtlAdaptativo().setMaxUnidades(2);
+        UUID outra = UUID.randomUUID();
+        UUID terceira = UUID.randomUUID();
+        volatilidade.registrar(indicadores(10, 50));
+        volatilidade.registrar(indicadores(outra, 10, 50));
+        volatilidade.registrar(indicadores(10, 50));
+
+        volatilidade.registrar(indicadores(terceira, 10, 50));
+
+        assertEquals(2, volatilidade.tamanho());
+        // a unidade acessada por último continua com o histórico; a descartada recomeça
+        assertTrue(volatilidade.registrar(indicadores(10, 50)).isPresent());
+        assertTrue(volatilidade.registrar(indicadores(outra, 10, 50)).isEmpty());
+    }
+
+    private IndicadoresDTO indicadores(int tmaVermelho, int ocupacao) {
+        return indicadores(unidadeId, tmaVermelho, ocupacao);
+    }
+
+    private IndicadoresDTO indicadores(UUID unidadeId, int tmaVermelho, int ocupacao) {
+        return new IndicadoresDTO(unidadeId, Map.of(RiskClassification.RED, tmaVermelho), ocupacao, 0, 100);
+    }
+}
@@ -0,0 +1,125 @@
+package com.fiap.sus.traffic.infrastructure.catalogo;
+
+import com.fiap.sus.traffic.application.dto.UnidadeSaudeDTO;
+import com.fiap.sus.traffic.infrastructure.client.NetworkServiceClient;
+import com.fiap.sus.traffic.infrastructure.client.dto.PageResponseDTO;
+import com.fiap.sus.traffic.infrastructure.client.dto.UnidadeCatalogoDTO;
+import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogoUnidadesLocalTest {
+
+    @Mock
+    private NetworkServiceClient client;
+
+    @Mock
+    private TrafficIntelligenceProperties properties;
+
+    @InjectMocks
+    private CatalogoUnidadesLocal catalogo;
+
+    private TrafficIntelligenceProperties.NetworkService networkServiceProperties;
+
+    @BeforeEach
+    void setUp() {
+        networkServiceProperties = new TrafficIntelligenceProperties.NetworkService();
+        networkServiceProperties.getCatalogoLocal().setHabilitado(true);
+        networkServiceProperties.getCatalogoLocal().setTamanhoPagina(2);
+        lenient().when(properties.getNetworkService()).thenReturn(networkServiceProperties);
+    }
+
+    @Test
+    void deveSincronizarTodasAsPaginasEIgnorarUnidadesSemCoordenadas() {
+        UUID perto = UUID.randomUUID();
+        when(client.listarUnidades(0, 2)).thenReturn(new PageResponseDTO<>(List.of(
+            new UnidadeCatalogoDTO(perto, "UBS Sé", -23.5505, -46.6340),
+            new UnidadeCatalogoDTO(UUID.randomUUID(), "Sem coordenadas", null, null)), 3, 2, 2, 0, true, false, 2));
+        when(client.listarUnidades(1, 2)).thenReturn(new PageResponseDTO<>(List.of(
+            new UnidadeCatalogoDTO(UUID.randomUUID(), "Hospital Campinas", -22.9056, -47.0608)), 3, 2, 2, 1, false, true, 1));
+
+        catalogo.sincronizar();
+
+        assertTrue(catalogo.disponivel());
+        List<UnidadeSaudeDTO> proximas = catalogo.buscarProximas(-23.5489, -46.6388, 10, 1000);
+        assertEquals(1, proximas.size());
+        assertEquals(perto, proximas.get(0).id());
+        assertEquals("UBS Sé", proximas.get(0).name());
+        assertTrue(proximas.get(0).distance().endsWith(" km"));
+        assertEquals(2, catalogo.buscarProximas(-23.5489, -46.6388, 100, 1000).size());
+    }
+
+    @Test
+    void deveManterIndiceAnteriorQuandoSincronizacaoFalha() {
+        when(client.listarUnidades(0, 2))
+            .thenReturn(new PageResponseDTO<>(List.of(new UnidadeCatalogoDTO(UUID.randomUUID(), "UBS", -23.55, -46.63)),
+                1, 1, 2, 0, true, true, 1))
+            .thenThrow(new RuntimeException("Network Service indisponível"));
+        catalogo.sincronizar();
+
+        catalogo.sincronizar();
+
+        assertTrue(catalogo.disponivel());
+        assertEquals(1, catalogo.buscarProximas(-23.55, -46.63, 1, 1000).size());
+    }
+
+    @Test
+    void naoDeveEstarDisponivelQuandoDesabilitado() {
+        when(client.listarUnidades(0, 2))
+            .thenReturn(new PageResponseDTO<>(List.of(new UnidadeCatalogoDTO(UUID.randomUUID(), "UBS", -23.55, -46.63)),
+                1, 1, 2, 0, true, true, 1));
+        catalogo.sincronizar();
+
+        networkServiceProperties.getCatalogoLocal().setHabilitado(false);
+
+        assertFalse(catalogo.disponivel());
+    }
+
+    @Test
+    void deveGravarSnapshotNaSincronizacaoECarregaloEmInstanciaNova(@TempDir Path diretorio) {
+        Path arquivo = diretorio.resolve("catalogo.bin");
+        networkServiceProperties.getCatalogoLocal().setSnapshot(arquivo.toString());
+        UUID id = UUID.randomUUID();
+        when(client.listarUnidades(0, 2))
+            .thenReturn(new PageResponseDTO<>(List.of(new UnidadeCatalogoDTO(id, "UBS Sé", -23.5505, -46.6340)),
+                1, 1, 2, 0, true, true, 1));
+        catalogo.sincronizar();
+        assertTrue(Files.exists(arquivo));
+
+        NetworkServiceClient clienteDaNovaInstancia = mock(NetworkServiceClient.class);
+        CatalogoUnidadesLocal novaInstancia = new CatalogoUnidadesLocal(clienteDaNovaInstancia, properties);
+        assertFalse(novaInstancia.disponivel());
+
+        novaInstancia.carregarSnapshot();
+
+        assertTrue(novaInstancia.disponivel());
+        assertEquals(List.of(id), novaInstancia.buscarProximas(-23.5489, -46.6388, 5, 1000).stream()
+            .map(UnidadeSaudeDTO::id).toList());
+        verifyNoInteractions(clienteDaNovaInstancia);
+    }
+
+    @Test
+    void deveIgnorarSnapshotInvalido(@TempDir Path diretorio) throws Exception {
+        Path arquivo = diretorio.resolve("catalogo.bin");
+        Files.writeString(arquivo, "corrompido");
+        networkServiceProperties.getCatalogoLocal().setSnapshot(arquivo.toString());
+
+        catalogo.carregarSnapshot();
+
+        assertFalse(catalogo.disponivel());
+    }
+}
@@ -0,0 +1,66 @@
+package com.fiap.sus.traffic.infrastructure.catalogo;
+
+import com.fiap.sus.traffic.infrastructure.catalogo.IndiceEspacialUnidades.UnidadeCatalogo;
+import com.fiap.sus.traffic.infrastructure.catalogo.IndiceEspacialUnidades.UnidadeProxima;
+import com.fiap.sus.traffic.shared.util.DistanceUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceEspacialUnidadesTest {
+
+    @Test
+    void deveEncontrarAsMesmasUnidadesQueABuscaExaustiva() {
+        Random random = new Random(42);
+        List<UnidadeCatalogo> unidades = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            unidades.add(new UnidadeCatalogo(UUID.randomUUID(), "Unidade " + i,
+                -24 + random.nextDouble() * 2, -47.5 + random.nextDouble() * 2));
+        }
+        IndiceEspacialUnidades indice = IndiceEspacialUnidades.construir(unidades);
+
+        List<UnidadeProxima> encontradas = indice.buscar(-23.0, -46.5, 25, Integer.MAX_VALUE);
+
+        List<UUID> esperadas = unidades.stream()
+            .filter(unidade -> DistanceUtils.calcularDistanciaKm(-23.0, -46.5, unidade.latitude(), unidade.longitude()) <= 25)
+            .map(UnidadeCatalogo::id)
+            .sorted()
+            .toList();
+        assertFalse(esperadas.isEmpty());
+        assertEquals(esperadas, encontradas.stream().map(proxima -> proxima.unidade().id()).sorted().toList());
+        for (int i = 1; i < encontradas.size(); i++) {
+            assertTrue(encontradas.get(i - 1).distanciaKm() <= encontradas.get(i).distanciaKm());
+        }
+    }
+
+    @Test
+    void deveLimitarAsMaisProximas() {
+        UnidadeCatalogo perto = new UnidadeCatalogo(UUID.randomUUID(), "Perto", -23.5500, -46.6300);
+        UnidadeCatalogo longe = new UnidadeCatalogo(UUID.randomUUID(), "Longe", -23.6000, -46.6300);
+        IndiceEspacialUnidades indice = IndiceEspacialUnidades.construir(List.of(longe, perto));
+
+        List<UnidadeProxima> encontradas = indice.buscar(-23.5505, -46.6333, 50, 1);
+
+        assertEquals(1, encontradas.size());
+        assertEquals(perto, encontradas.get(0).unidade());
+    }
+
+    @Test
+    void deveBuscarDosDoisLadosDoAntimeridiano() {
+        UnidadeCatalogo leste = new UnidadeCatalogo(UUID.randomUUID(), "Leste", -17.0, 179.95);
+        UnidadeCatalogo oeste = new UnidadeCatalogo(UUID.randomUUID(), "Oeste", -17.0, -179.95);
+        IndiceEspacialUnidades indice = IndiceEspacialUnidades.construir(List.of(leste, oeste));
+
+        assertEquals(2, indice.buscar(-17.0, 179.99, 20, 10).size());
+    }
+
+    @Test
+    void deveRetornarVazioQuandoIndiceVazio() {
+        assertTrue(IndiceEspacialUnidades.vazio().buscar(-23.5, -46.6, 50, 10).isEmpty());
+    }
+}
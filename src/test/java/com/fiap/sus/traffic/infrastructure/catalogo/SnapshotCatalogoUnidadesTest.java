@@ -0,0 +1,69 @@
+package com.fiap.sus.traffic.infrastructure.catalogo;
+
+import com.fiap.sus.traffic.infrastructure.catalogo.IndiceEspacialUnidades.UnidadeCatalogo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotCatalogoUnidadesTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void deveLerAsMesmasUnidadesGravadas() throws IOException {
+        Path arquivo = diretorio.resolve("catalogo/unidades.bin");
+        Instant geradoEm = Instant.ofEpochMilli(1_760_000_000_000L);
+        List<UnidadeCatalogo> unidades = List.of(
+            new UnidadeCatalogo(UUID.randomUUID(), "UBS São João", -23.5505, -46.6333),
+            new UnidadeCatalogo(UUID.randomUUID(), null, -22.9068, -43.1729),
+            new UnidadeCatalogo(UUID.randomUUID(), "", 0.0, 0.0));
+
+        SnapshotCatalogoUnidades.gravar(arquivo, unidades, geradoEm);
+        SnapshotCatalogoUnidades.Snapshot snapshot = SnapshotCatalogoUnidades.ler(arquivo);
+
+        assertEquals(geradoEm, snapshot.geradoEm());
+        assertEquals(unidades, snapshot.unidades());
+        assertFalse(Files.exists(diretorio.resolve("catalogo/unidades.bin.tmp")));
+    }
+
+    @Test
+    void deveSubstituirSnapshotAnterior() throws IOException {
+        Path arquivo = diretorio.resolve("unidades.bin");
+        SnapshotCatalogoUnidades.gravar(arquivo,
+            List.of(new UnidadeCatalogo(UUID.randomUUID(), "Antiga", 1.0, 1.0),
+                new UnidadeCatalogo(UUID.randomUUID(), "Removida", 2.0, 2.0)), Instant.now());
+        UnidadeCatalogo atual = new UnidadeCatalogo(UUID.randomUUID(), "Atual", 3.0, 3.0);
+
+        SnapshotCatalogoUnidades.gravar(arquivo, List.of(atual), Instant.now());
+
+        assertEquals(List.of(atual), SnapshotCatalogoUnidades.ler(arquivo).unidades());
+    }
+
+    @Test
+    void deveRejeitarArquivoQueNaoEhSnapshot() throws IOException {
+        Path arquivo = diretorio.resolve("outro.bin");
+        Files.writeString(arquivo, "não é um snapshot do catálogo de unidades");
+
+        assertThrows(IOException.class, () -> SnapshotCatalogoUnidades.ler(arquivo));
+    }
+
+    @Test
+    void deveRejeitarSnapshotTruncado() throws IOException {
+        Path arquivo = diretorio.resolve("unidades.bin");
+        SnapshotCatalogoUnidades.gravar(arquivo,
+            List.of(new UnidadeCatalogo(UUID.randomUUID(), "UBS", 1.0, 1.0)), Instant.now());
+        byte[] bytes = Files.readAllBytes(arquivo);
+        Files.write(arquivo, java.util.Arrays.copyOf(bytes, bytes.length - 2));
+
+        assertThrows(IOException.class, () -> SnapshotCatalogoUnidades.ler(arquivo));
+    }
+}
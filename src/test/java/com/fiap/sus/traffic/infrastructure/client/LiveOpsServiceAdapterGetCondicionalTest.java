@@ -0,0 +1,122 @@
+package com.fiap.sus.traffic.infrastructure.client;
+
+import com.fiap.sus.traffic.application.dto.IndicadoresDTO;
+import com.fiap.sus.traffic.application.port.CachePort;
+import com.fiap.sus.traffic.infrastructure.cache.IndicadoresCacheEntry;
+import com.fiap.sus.traffic.infrastructure.cache.IndicadoresMaterializados;
+import com.fiap.sus.traffic.infrastructure.cache.VolatilidadeIndicadores;
+import com.fiap.sus.traffic.infrastructure.config.FeignErrorDecoder;
+import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import com.fiap.sus.traffic.infrastructure.mapper.LiveOpsAnalyticsMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import feign.Feign;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Revalidação dos indicadores com GET condicional (ETag / If-None-Match) contra um LiveOps simulado.
+ */
+class LiveOpsServiceAdapterGetCondicionalTest {
+
+    private static final String ANALYTICS = """
+        {
+          "healthUnitId": "%s",
+          "generalAverageWaitTimeMinutes": 40,
+          "queueSnapshot": {"totalPatients": 12, "waitingCount": 8, "inProgressCount": 4},
+          "riskPerformance": [{"risk": "RED", "averageWaitTimeMinutes": 3, "maxWaitTimeLimit": 0, "isSlaBreached": false}]
+        }
+        """;
+
+    private WireMockServer liveOps;
+    private CachePort cachePort;
+    private LiveOpsAnalyticsMapper mapper;
+    private LiveOpsServiceAdapter adapter;
+    private UUID unidadeId;
+
+    @BeforeEach
+    void setUp() {
+        liveOps = new WireMockServer(options().dynamicPort());
+        liveOps.start();
+
+        LiveOpsServiceClient client = Feign.builder()
+            .contract(new SpringMvcContract())
+            .decoder(new ResponseEntityDecoder(new SpringDecoder(HttpMessageConverters::new)))
+            .errorDecoder(new FeignErrorDecoder())
+            .target(LiveOpsServiceClient.class, liveOps.baseUrl());
+
+        TrafficIntelligenceProperties properties = mock(TrafficIntelligenceProperties.class);
+        var cache = new TrafficIntelligenceProperties.Cache();
+        cache.setTtlIndicadores(Duration.ofSeconds(30));
+        var liveOpsProperties = new TrafficIntelligenceProperties.LiveOpsService();
+        liveOpsProperties.getLote().setHabilitado(false);
+        when(properties.getCache()).thenReturn(cache);
+        when(properties.getLiveopsService()).thenReturn(liveOpsProperties);
+
+        cachePort = mock(CachePort.class);
+        mapper = spy(new LiveOpsAnalyticsMapper());
+        adapter = new LiveOpsServiceAdapter(client, cachePort, properties, mapper,
+            new IndicadoresMaterializados(new TrafficIntelligenceProperties()),
+            new VolatilidadeIndicadores(new TrafficIntelligenceProperties()), BulkheadRegistry.ofDefaults(), CircuitBreakerRegistry.ofDefaults(),
+            new SimpleMeterRegistry());
+        unidadeId = UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        liveOps.stop();
+    }
+
+    @Test
+    void deveRevalidarComIfNoneMatchEReaproveitarIndicadoresQuandoNaoModificados() {
+        String url = "/analytics/units/" + unidadeId + "/advanced";
+        liveOps.stubFor(get(url).withHeader("If-None-Match", absent())
+            .willReturn(okJson(ANALYTICS.formatted(unidadeId)).withHeader("ETag", "\"v1\"")));
+        liveOps.stubFor(get(url).withHeader("If-None-Match", equalTo("\"v1\""))
+            .willReturn(aResponse().withStatus(304).withHeader("ETag", "\"v1\"")));
+
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.empty());
+        IndicadoresDTO buscado = adapter.buscarIndicadores(unidadeId);
+
+        ArgumentCaptor<IndicadoresCacheEntry> gravada = ArgumentCaptor.forClass(IndicadoresCacheEntry.class);
+        verify(cachePort).putIndicadores(eq(unidadeId), gravada.capture(), anyLong());
+        assertEquals("\"v1\"", gravada.getValue().etag());
+
+        IndicadoresCacheEntry expirada = new IndicadoresCacheEntry(
+            gravada.getValue().indicadores(), Instant.now().minusSeconds(5), gravada.getValue().etag());
+        when(cachePort.getIndicadoresEmLote(List.of(unidadeId), IndicadoresCacheEntry.class))
+            .thenReturn(Map.of(unidadeId, expirada));
+
+        assertEquals(1, adapter.renovarIndicadores(List.of(unidadeId), Duration.ZERO));
+
+        liveOps.verify(1, getRequestedFor(urlEqualTo(url)).withHeader("If-None-Match", equalTo("\"v1\"")));
+        verify(cachePort, times(2)).putIndicadores(eq(unidadeId), gravada.capture(), anyLong());
+        IndicadoresCacheEntry renovada = gravada.getValue();
+        assertSame(buscado, renovada.indicadores());
+        assertEquals("\"v1\"", renovada.etag());
+        assertFalse(renovada.precisaRevalidar(Instant.now()));
+        verify(mapper, times(1)).toIndicadoresDTO(any());
+    }
+}
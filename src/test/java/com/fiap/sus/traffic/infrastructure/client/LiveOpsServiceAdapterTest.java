@@ -3,20 +3,40 @@ package com.fiap.sus.traffic.infrastructure.client;
 import com.fiap.sus.traffic.application.dto.IndicadoresDTO;
 import com.fiap.sus.traffic.application.dto.UnitAnalyticsDTO;
 import com.fiap.sus.traffic.application.port.CachePort;
+import com.fiap.sus.traffic.domain.model.ProcedenciaIndicadores;
 import com.fiap.sus.traffic.domain.model.RiskClassification;
+import com.fiap.sus.traffic.infrastructure.cache.IndicadoresCacheEntry;
+import com.fiap.sus.traffic.infrastructure.cache.IndicadoresMaterializados;
+import com.fiap.sus.traffic.infrastructure.cache.VolatilidadeIndicadores;
 import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
 import com.fiap.sus.traffic.infrastructure.mapper.LiveOpsAnalyticsMapper;
+import com.fiap.sus.traffic.shared.context.ContextoConsulta;
+import com.fiap.sus.traffic.shared.context.Deadline;
 import feign.FeignException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -42,10 +62,26 @@ class LiveOpsServiceAdapterTest {
     @Mock
     private LiveOpsAnalyticsMapper mapper;
 
+    @Spy
+    private IndicadoresMaterializados indicadoresMaterializados = new IndicadoresMaterializados(new TrafficIntelligenceProperties());
+
+    @Spy
+    private VolatilidadeIndicadores volatilidade = new VolatilidadeIndicadores(new TrafficIntelligenceProperties());
+
+    @Spy
+    private BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+
+    @Spy
+    private CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private LiveOpsServiceAdapter adapter;
 
     private UUID unidadeId;
+    private TrafficIntelligenceProperties.LiveOpsService liveOpsProperties;
 
     @BeforeEach
     void setUp() {
@@ -53,6 +89,8 @@ class LiveOpsServiceAdapterTest {
         var cacheProperties = new TrafficIntelligenceProperties.Cache();
         cacheProperties.setTtlIndicadores(Duration.ofSeconds(30));
         lenient().when(properties.getCache()).thenReturn(cacheProperties);
+        liveOpsProperties = new TrafficIntelligenceProperties.LiveOpsService();
+        lenient().when(properties.getLiveopsService()).thenReturn(liveOpsProperties);
     }
 
     @Test
@@ -64,13 +102,13 @@ class LiveOpsServiceAdapterTest {
             5,
             20
         );
-        when(cachePort.getIndicadores(eq(unidadeId), eq(IndicadoresDTO.class)))
-            .thenReturn(Optional.of(cached));
+        when(cachePort.getIndicadores(eq(unidadeId), eq(IndicadoresCacheEntry.class)))
+            .thenReturn(Optional.of(IndicadoresCacheEntry.novo(cached, Duration.ofSeconds(30))));
 
         IndicadoresDTO result = adapter.buscarIndicadores(unidadeId);
 
         assertEquals(cached, result);
-        verify(client, never()).buscarIndicadores(anyString());
+        verify(client, never()).buscarIndicadores(anyString(), any());
     }
 
     @Test
@@ -89,15 +127,16 @@ class LiveOpsServiceAdapterTest {
             20
         );
 
-        when(cachePort.getIndicadores(eq(unidadeId), eq(IndicadoresDTO.class)))
+        when(cachePort.getIndicadores(eq(unidadeId), eq(IndicadoresCacheEntry.class)))
             .thenReturn(Optional.empty());
-        when(client.buscarIndicadores(unidadeId.toString())).thenReturn(analytics);
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any())).thenReturn(ResponseEntity.ok(analytics));
         when(mapper.toIndicadoresDTO(analytics)).thenReturn(indicadores);
 
         IndicadoresDTO result = adapter.buscarIndicadores(unidadeId);
 
         assertNotNull(result);
-        verify(cachePort).putIndicadores(eq(unidadeId), eq(indicadores), eq(30L));
+        verify(cachePort).putIndicadores(eq(unidadeId),
+            argThat((IndicadoresCacheEntry entry) -> entry.indicadores().equals(indicadores)), eq(300L));
     }
 
     @Test
@@ -110,9 +149,9 @@ class LiveOpsServiceAdapterTest {
             20
         );
 
-        when(cachePort.getIndicadores(eq(unidadeId), eq(IndicadoresDTO.class)))
+        when(cachePort.getIndicadores(eq(unidadeId), eq(IndicadoresCacheEntry.class)))
             .thenReturn(Optional.empty());
-        when(client.buscarIndicadores(unidadeId.toString()))
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any()))
             .thenThrow(new HttpClientErrorException(org.springframework.http.HttpStatus.NOT_FOUND, "Not Found"));
         when(mapper.criarIndicadoresPadrao(unidadeId)).thenReturn(padrao);
 
@@ -132,9 +171,9 @@ class LiveOpsServiceAdapterTest {
             20
         );
 
-        when(cachePort.getIndicadores(eq(unidadeId), eq(IndicadoresDTO.class)))
+        when(cachePort.getIndicadores(eq(unidadeId), eq(IndicadoresCacheEntry.class)))
             .thenReturn(Optional.empty());
-        when(client.buscarIndicadores(unidadeId.toString()))
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any()))
             .thenThrow(new HttpServerErrorException(org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR, "Internal Error"));
         when(mapper.criarIndicadoresPadrao(unidadeId)).thenReturn(padrao);
 
@@ -154,12 +193,12 @@ class LiveOpsServiceAdapterTest {
             20
         );
 
-        when(cachePort.getIndicadores(eq(unidadeId), eq(IndicadoresDTO.class)))
+        when(cachePort.getIndicadores(eq(unidadeId), eq(IndicadoresCacheEntry.class)))
             .thenReturn(Optional.empty());
         FeignException feignException = mock(FeignException.class);
         when(feignException.status()).thenReturn(502);
         when(feignException.getMessage()).thenReturn("Bad Gateway");
-        when(client.buscarIndicadores(unidadeId.toString())).thenThrow(feignException);
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any())).thenThrow(feignException);
         when(mapper.criarIndicadoresPadrao(unidadeId)).thenReturn(padrao);
 
         IndicadoresDTO result = adapter.buscarIndicadores(unidadeId);
@@ -184,9 +223,9 @@ class LiveOpsServiceAdapterTest {
             20
         );
 
-        when(cachePort.getIndicadores(eq(unidadeId), eq(IndicadoresDTO.class)))
+        when(cachePort.getIndicadores(eq(unidadeId), eq(IndicadoresCacheEntry.class)))
             .thenReturn(Optional.empty());
-        when(client.buscarIndicadores(unidadeId.toString())).thenReturn(analytics);
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any())).thenReturn(ResponseEntity.ok(analytics));
         when(mapper.toIndicadoresDTO(analytics)).thenReturn(null);
         when(mapper.criarIndicadoresPadrao(unidadeId)).thenReturn(padrao);
 
@@ -195,4 +234,809 @@ class LiveOpsServiceAdapterTest {
         assertNotNull(result);
         assertEquals(padrao, result);
     }
+
+    @Test
+    void deveBuscarEmLoteApenasUnidadesForaDoCache() {
+        UUID emCache = UUID.randomUUID();
+        UUID faltante = UUID.randomUUID();
+        IndicadoresDTO cached = criarIndicadores(emCache);
+        IndicadoresDTO buscado = criarIndicadores(faltante);
+        UnitAnalyticsDTO analytics = criarAnalytics(faltante);
+
+        when(cachePort.getIndicadoresEmLote(anyCollection(), eq(IndicadoresCacheEntry.class)))
+            .thenReturn(Map.of(emCache, IndicadoresCacheEntry.novo(cached, Duration.ofSeconds(30))));
+        when(client.buscarIndicadoresEmLote(List.of(faltante.toString()))).thenReturn(List.of(analytics));
+        when(mapper.toIndicadoresDTO(analytics)).thenReturn(buscado);
+
+        Map<UUID, IndicadoresDTO> result = adapter.buscarIndicadoresEmLote(List.of(emCache, faltante));
+
+        assertEquals(Map.of(emCache, cached, faltante, buscado), result);
+        verify(cachePort).putIndicadoresEmLote(
+            argThat((Map<UUID, IndicadoresCacheEntry> entradas) -> entradas.size() == 1
+                && entradas.get(faltante).indicadores().equals(buscado)),
+            eq(300L));
+        verify(client, never()).buscarIndicadores(anyString(), any());
+    }
+
+    @Test
+    void deveDividirFaltantesEmLotesDoTamanhoConfigurado() {
+        liveOpsProperties.getLote().setTamanho(2);
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+            UUID.randomUUID(), UUID.randomUUID());
+
+        when(cachePort.getIndicadoresEmLote(anyCollection(), eq(IndicadoresCacheEntry.class))).thenReturn(Map.of());
+        when(client.buscarIndicadoresEmLote(anyList())).thenReturn(List.of());
+
+        adapter.buscarIndicadoresEmLote(ids);
+
+        verify(client).buscarIndicadoresEmLote(List.of(ids.get(0).toString(), ids.get(1).toString()));
+        verify(client).buscarIndicadoresEmLote(List.of(ids.get(2).toString(), ids.get(3).toString()));
+        verify(client).buscarIndicadoresEmLote(List.of(ids.get(4).toString()));
+        verify(cachePort, never()).putIndicadoresEmLote(any(), anyLong());
+    }
+
+    @Test
+    void deveIgnorarRespostasDeUnidadesNaoSolicitadas() {
+        UUID faltante = UUID.randomUUID();
+        UnitAnalyticsDTO analytics = criarAnalytics(faltante);
+
+        when(cachePort.getIndicadoresEmLote(anyCollection(), eq(IndicadoresCacheEntry.class))).thenReturn(Map.of());
+        when(client.buscarIndicadoresEmLote(anyList())).thenReturn(List.of(analytics));
+        when(mapper.toIndicadoresDTO(analytics)).thenReturn(criarIndicadores(UUID.randomUUID()));
+
+        Map<UUID, IndicadoresDTO> result = adapter.buscarIndicadoresEmLote(List.of(faltante));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void deveSuspenderEndpointDeLoteQuandoLiveOpsNaoSuporta() {
+        UUID faltante = UUID.randomUUID();
+        when(cachePort.getIndicadoresEmLote(anyCollection(), eq(IndicadoresCacheEntry.class))).thenReturn(Map.of());
+        when(client.buscarIndicadoresEmLote(anyList()))
+            .thenThrow(new HttpClientErrorException(org.springframework.http.HttpStatus.NOT_FOUND, "Not Found"));
+
+        assertTrue(adapter.buscarIndicadoresEmLote(List.of(faltante)).isEmpty());
+        assertTrue(adapter.buscarIndicadoresEmLote(List.of(faltante)).isEmpty());
+
+        verify(client, times(1)).buscarIndicadoresEmLote(anyList());
+        assertEquals(0, circuitBreakerRegistry.circuitBreaker(LiveOpsServiceAdapter.CIRCUIT_BREAKER)
+            .getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void naoDeveRegistrarFalhaNoCircuitBreakerQuandoEndpointDeLoteNaoImplementado() {
+        when(cachePort.getIndicadoresEmLote(anyCollection(), eq(IndicadoresCacheEntry.class))).thenReturn(Map.of());
+        when(client.buscarIndicadoresEmLote(anyList()))
+            .thenThrow(new HttpServerErrorException(org.springframework.http.HttpStatus.NOT_IMPLEMENTED, "Not Implemented"));
+
+        assertTrue(adapter.buscarIndicadoresEmLote(List.of(UUID.randomUUID())).isEmpty());
+
+        var metricas = circuitBreakerRegistry.circuitBreaker(LiveOpsServiceAdapter.CIRCUIT_BREAKER).getMetrics();
+        assertEquals(0, metricas.getNumberOfFailedCalls());
+        assertEquals(0, metricas.getNumberOfSuccessfulCalls());
+    }
+
+    @Test
+    void naoDeveChamarLiveOpsEmLoteQuandoDesabilitado() {
+        liveOpsProperties.getLote().setHabilitado(false);
+        when(cachePort.getIndicadoresEmLote(anyCollection(), eq(IndicadoresCacheEntry.class))).thenReturn(Map.of());
+
+        Map<UUID, IndicadoresDTO> result = adapter.buscarIndicadoresEmLote(List.of(UUID.randomUUID()));
+
+        assertTrue(result.isEmpty());
+        verify(client, never()).buscarIndicadoresEmLote(anyList());
+    }
+
+    @Test
+    void deveCompartilharChamadaAoLiveOpsEntreRequisicoesConcorrentesDaMesmaUnidade() throws Exception {
+        UnitAnalyticsDTO analytics = criarAnalytics(unidadeId);
+        IndicadoresDTO indicadores = criarIndicadores(unidadeId);
+        CountDownLatch chamadaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarResposta = new CountDownLatch(1);
+
+        when(cachePort.getIndicadores(eq(unidadeId), eq(IndicadoresCacheEntry.class))).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any())).thenAnswer(invocation -> {
+            chamadaIniciada.countDown();
+            liberarResposta.await(5, TimeUnit.SECONDS);
+            return ResponseEntity.ok(analytics);
+        });
+        when(mapper.toIndicadoresDTO(analytics)).thenReturn(indicadores);
+
+        CompletableFuture<IndicadoresDTO> primeira = CompletableFuture.supplyAsync(() -> adapter.buscarIndicadores(unidadeId));
+        assertTrue(chamadaIniciada.await(5, TimeUnit.SECONDS));
+        CompletableFuture<IndicadoresDTO> segunda = CompletableFuture.supplyAsync(() -> adapter.buscarIndicadores(unidadeId));
+        verify(cachePort, timeout(1000).times(2)).getIndicadores(unidadeId, IndicadoresCacheEntry.class);
+        Thread.sleep(50);
+        liberarResposta.countDown();
+
+        assertEquals(indicadores, primeira.get(5, TimeUnit.SECONDS));
+        assertEquals(indicadores, segunda.get(5, TimeUnit.SECONDS));
+        verify(client, times(1)).buscarIndicadores(eq(unidadeId.toString()), any());
+    }
+
+    @Test
+    void deveEnviarRequisicaoHedgeQuandoChamadaPassaDoPercentil() {
+        var hedge = liveOpsProperties.getHedge();
+        hedge.setHabilitado(true);
+        hedge.setPercentualMaximo(1.0);
+        hedge.setMinimoAmostras(5);
+        UnitAnalyticsDTO analytics = criarAnalytics(unidadeId);
+        IndicadoresDTO indicadores = criarIndicadores(unidadeId);
+        when(cachePort.getIndicadores(any(), eq(IndicadoresCacheEntry.class))).thenReturn(Optional.empty());
+        when(mapper.toIndicadoresDTO(any())).thenReturn(indicadores);
+
+        // Aquece a janela de latências com chamadas rápidas
+        when(client.buscarIndicadores(anyString(), any())).thenReturn(ResponseEntity.ok(analytics));
+        for (int i = 0; i < 5; i++) {
+            adapter.buscarIndicadores(UUID.randomUUID());
+        }
+
+        // Primeira requisição fica presa; a requisição hedge responde na hora
+        CountDownLatch liberarPrimaria = new CountDownLatch(1);
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any()))
+            .thenAnswer(invocation -> {
+                liberarPrimaria.await(5, TimeUnit.SECONDS);
+                return ResponseEntity.ok(analytics);
+            })
+            .thenReturn(ResponseEntity.ok(analytics));
+
+        long inicio = System.nanoTime();
+        IndicadoresDTO result = adapter.buscarIndicadores(unidadeId);
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        liberarPrimaria.countDown();
+
+        assertEquals(indicadores, result);
+        assertTrue(duracaoMs < 2_000, "hedge deveria responder antes da primária, levou " + duracaoMs + "ms");
+        verify(client, times(2)).buscarIndicadores(eq(unidadeId.toString()), any());
+    }
+
+    @Test
+    void deveCancelarRequisicaoQuePerdeuOHedge() throws InterruptedException {
+        var hedge = liveOpsProperties.getHedge();
+        hedge.setHabilitado(true);
+        hedge.setPercentualMaximo(1.0);
+        hedge.setMinimoAmostras(5);
+        UnitAnalyticsDTO analytics = criarAnalytics(unidadeId);
+        when(cachePort.getIndicadores(any(), eq(IndicadoresCacheEntry.class))).thenReturn(Optional.empty());
+        when(mapper.toIndicadoresDTO(any())).thenReturn(criarIndicadores(unidadeId));
+
+        when(client.buscarIndicadores(anyString(), any())).thenReturn(ResponseEntity.ok(analytics));
+        for (int i = 0; i < 5; i++) {
+            adapter.buscarIndicadores(UUID.randomUUID());
+        }
+
+        // Primeira requisição fica presa até ser interrompida; a requisição hedge responde na hora
+        CountDownLatch primariaInterrompida = new CountDownLatch(1);
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any()))
+            .thenAnswer(invocation -> {
+                try {
+                    Thread.sleep(10_000);
+                    return ResponseEntity.ok(analytics);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    primariaInterrompida.countDown();
+                    throw new IllegalStateException("Leitura interrompida", e);
+                }
+            })
+            .thenReturn(ResponseEntity.ok(analytics));
+
+        adapter.buscarIndicadores(unidadeId);
+
+        assertTrue(primariaInterrompida.await(2, TimeUnit.SECONDS), "requisição perdedora deveria ser interrompida");
+        var bulkhead = bulkheadRegistry.bulkhead(LiveOpsServiceAdapter.BULKHEAD);
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (bulkhead.getMetrics().getAvailableConcurrentCalls() < bulkhead.getBulkheadConfig().getMaxConcurrentCalls()
+            && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertEquals(bulkhead.getBulkheadConfig().getMaxConcurrentCalls(),
+            bulkhead.getMetrics().getAvailableConcurrentCalls());
+        assertEquals(0, circuitBreakerRegistry.circuitBreaker(LiveOpsServiceAdapter.CIRCUIT_BREAKER)
+            .getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void deveCancelarRequisicaoPrimariaQuandoChamadorEInterrompido() throws Exception {
+        liveOpsProperties.getHedge().setHabilitado(true);
+        liveOpsProperties.getRetry().setMaxTentativas(1);
+        when(cachePort.getIndicadores(any(), eq(IndicadoresCacheEntry.class))).thenReturn(Optional.empty());
+        lenient().when(mapper.criarIndicadoresPadrao(any())).thenReturn(criarIndicadores(unidadeId));
+
+        CountDownLatch primariaIniciada = new CountDownLatch(1);
+        CountDownLatch primariaInterrompida = new CountDownLatch(1);
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any())).thenAnswer(invocation -> {
+            primariaIniciada.countDown();
+            try {
+                Thread.sleep(10_000);
+                return ResponseEntity.ok(criarAnalytics(unidadeId));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                primariaInterrompida.countDown();
+                throw new IllegalStateException("Leitura interrompida", e);
+            }
+        });
+
+        Thread chamador = Thread.ofVirtual().start(() -> adapter.buscarIndicadores(unidadeId));
+        assertTrue(primariaIniciada.await(2, TimeUnit.SECONDS));
+        chamador.interrupt();
+
+        assertTrue(primariaInterrompida.await(2, TimeUnit.SECONDS), "requisição primária deveria ser interrompida");
+        chamador.join(2_000);
+    }
+
+    @Test
+    void deveUsarTentativasComFalhaNaJanelaDeLatenciasDoHedge() {
+        var hedge = liveOpsProperties.getHedge();
+        hedge.setHabilitado(true);
+        hedge.setPercentualMaximo(1.0);
+        hedge.setMinimoAmostras(3);
+        liveOpsProperties.getRetry().setMaxTentativas(1);
+        UnitAnalyticsDTO analytics = criarAnalytics(unidadeId);
+        when(cachePort.getIndicadores(any(), eq(IndicadoresCacheEntry.class))).thenReturn(Optional.empty());
+        lenient().when(mapper.toIndicadoresDTO(any())).thenReturn(criarIndicadores(unidadeId));
+        lenient().when(mapper.criarIndicadoresPadrao(any())).thenAnswer(invocation ->
+            criarIndicadores(invocation.getArgument(0)).comProcedencia(ProcedenciaIndicadores.DEFAULT));
+
+        // Só falhas rápidas: sem registrá-las a janela continuaria vazia e não haveria hedge
+        when(client.buscarIndicadores(anyString(), any()))
+            .thenThrow(new HttpServerErrorException(org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE));
+        for (int i = 0; i < 3; i++) {
+            adapter.buscarIndicadores(UUID.randomUUID());
+        }
+
+        CountDownLatch liberarPrimaria = new CountDownLatch(1);
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any()))
+            .thenAnswer(invocation -> {
+                liberarPrimaria.await(5, TimeUnit.SECONDS);
+                return ResponseEntity.ok(analytics);
+            })
+            .thenReturn(ResponseEntity.ok(analytics));
+
+        adapter.buscarIndicadores(unidadeId);
+        liberarPrimaria.countDown();
+
+        verify(client, times(2)).buscarIndicadores(eq(unidadeId.toString()), any());
+    }
+
+    @Test
+    void naoDeveEnviarHedgeSemOrcamento() {
+        var hedge = liveOpsProperties.getHedge();
+        hedge.setHabilitado(true);
+        hedge.setPercentualMaximo(0.0);
+        hedge.setMinimoAmostras(1);
+        UnitAnalyticsDTO analytics = criarAnalytics(unidadeId);
+        when(cachePort.getIndicadores(any(), eq(IndicadoresCacheEntry.class))).thenReturn(Optional.empty());
+        when(mapper.toIndicadoresDTO(any())).thenReturn(criarIndicadores(unidadeId));
+        when(client.buscarIndicadores(anyString(), any())).thenReturn(ResponseEntity.ok(analytics));
+        adapter.buscarIndicadores(UUID.randomUUID());
+
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any())).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return ResponseEntity.ok(analytics);
+        });
+
+        adapter.buscarIndicadores(unidadeId);
+
+        verify(client, times(1)).buscarIndicadores(eq(unidadeId.toString()), any());
+    }
+
+    @Test
+    void deveServirIndicadoresExpiradosERevalidarEmSegundoPlano() {
+        IndicadoresDTO antigo = criarIndicadores(unidadeId);
+        IndicadoresDTO atualizado = criarIndicadores(unidadeId);
+        UnitAnalyticsDTO analytics = criarAnalytics(unidadeId);
+        IndicadoresCacheEntry expirado = new IndicadoresCacheEntry(antigo, Instant.now().minusSeconds(5));
+
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.of(expirado));
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any())).thenReturn(ResponseEntity.ok(analytics));
+        when(mapper.toIndicadoresDTO(analytics)).thenReturn(atualizado);
+
+        IndicadoresDTO result = adapter.buscarIndicadores(unidadeId);
+
+        assertEquals(antigo.comProcedencia(ProcedenciaIndicadores.STALE), result);
+        verify(cachePort, timeout(2000)).putIndicadores(eq(unidadeId),
+            argThat((IndicadoresCacheEntry entry) -> entry.indicadores() == atualizado
+                && !entry.precisaRevalidar(Instant.now())),
+            eq(300L));
+    }
+
+    @Test
+    void deveAgendarUmaUnicaRevalidacaoPorUnidade() throws Exception {
+        IndicadoresCacheEntry expirado = new IndicadoresCacheEntry(criarIndicadores(unidadeId), Instant.now().minusSeconds(5));
+        CountDownLatch liberarLiveOps = new CountDownLatch(1);
+        UnitAnalyticsDTO analytics = criarAnalytics(unidadeId);
+
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.of(expirado));
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any())).thenAnswer(invocation -> {
+            liberarLiveOps.await(5, TimeUnit.SECONDS);
+            return ResponseEntity.ok(analytics);
+        });
+        when(mapper.toIndicadoresDTO(analytics)).thenReturn(criarIndicadores(unidadeId));
+
+        for (int i = 0; i < 5; i++) {
+            adapter.buscarIndicadores(unidadeId);
+        }
+        liberarLiveOps.countDown();
+
+        verify(cachePort, timeout(2000)).putIndicadores(eq(unidadeId), any(), anyLong());
+        verify(client, times(1)).buscarIndicadores(eq(unidadeId.toString()), any());
+    }
+
+    @Test
+    void deveServirExpiradosEmLoteSemBuscarNoLiveOpsNaRequisicao() {
+        UUID outra = UUID.randomUUID();
+        IndicadoresDTO antigo = criarIndicadores(unidadeId);
+        IndicadoresDTO fresco = criarIndicadores(outra);
+        when(cachePort.getIndicadoresEmLote(anyCollection(), eq(IndicadoresCacheEntry.class))).thenReturn(Map.of(
+            unidadeId, new IndicadoresCacheEntry(antigo, Instant.now().minusSeconds(5)),
+            outra, IndicadoresCacheEntry.novo(fresco, Duration.ofSeconds(30))
+        ));
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any())).thenReturn(ResponseEntity.ok(criarAnalytics(unidadeId)));
+        when(mapper.toIndicadoresDTO(any())).thenReturn(criarIndicadores(unidadeId));
+
+        Map<UUID, IndicadoresDTO> result = adapter.buscarIndicadoresEmLote(List.of(unidadeId, outra));
+
+        assertEquals(Map.of(unidadeId, antigo.comProcedencia(ProcedenciaIndicadores.STALE), outra, fresco), result);
+        verify(client, timeout(2000)).buscarIndicadores(eq(unidadeId.toString()), any());
+        verify(cachePort, timeout(2000)).putIndicadores(eq(unidadeId), any(), anyLong());
+        verify(client, never()).buscarIndicadores(eq(outra.toString()), any());
+    }
+
+    @Test
+    void deveRepetirFalhaTransitoriaDentroDoOrcamento() {
+        configurarRetryImediato();
+        UnitAnalyticsDTO analytics = criarAnalytics(unidadeId);
+        IndicadoresDTO indicadores = criarIndicadores(unidadeId);
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any()))
+            .thenThrow(new HttpServerErrorException(org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE))
+            .thenReturn(ResponseEntity.ok(analytics));
+        when(mapper.toIndicadoresDTO(analytics)).thenReturn(indicadores);
+
+        IndicadoresDTO result = adapter.buscarIndicadores(unidadeId);
+
+        assertEquals(indicadores, result);
+        verify(client, times(2)).buscarIndicadores(eq(unidadeId.toString()), any());
+    }
+
+    @Test
+    void naoDeveRepetirErro4xx() {
+        configurarRetryImediato();
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any()))
+            .thenThrow(new HttpClientErrorException(org.springframework.http.HttpStatus.NOT_FOUND));
+        when(mapper.criarIndicadoresPadrao(unidadeId)).thenReturn(criarIndicadores(unidadeId));
+
+        adapter.buscarIndicadores(unidadeId);
+
+        verify(client, times(1)).buscarIndicadores(eq(unidadeId.toString()), any());
+    }
+
+    @Test
+    void deveLimitarRetriesAoOrcamentoDaConsulta() {
+        configurarRetryImediato();
+        UUID outra = UUID.randomUUID();
+        when(cachePort.getIndicadores(any(), eq(IndicadoresCacheEntry.class))).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(anyString(), any()))
+            .thenThrow(new HttpServerErrorException(org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE));
+        when(mapper.criarIndicadoresPadrao(any())).thenAnswer(invocation -> criarIndicadores(invocation.getArgument(0)));
+
+        ContextoConsulta.executarCom(Deadline.em(Duration.ofSeconds(5)), 1, () -> {
+            adapter.buscarIndicadores(unidadeId);
+            return adapter.buscarIndicadores(outra);
+        });
+
+        // 2 primeiras tentativas + 1 único retry para a consulta inteira
+        verify(client, times(3)).buscarIndicadores(anyString(), any());
+    }
+
+    @Test
+    void naoDeveGastarRetryDaConsultaQuandoOrcamentoDaInstanciaRecusa() {
+        configurarRetryImediato();
+        liveOpsProperties.getRetry().setPercentualMaximo(0.0);
+        UUID outra = UUID.randomUUID();
+        when(cachePort.getIndicadores(any(), eq(IndicadoresCacheEntry.class))).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(anyString(), any()))
+            .thenThrow(new HttpServerErrorException(org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE));
+        when(mapper.criarIndicadoresPadrao(any())).thenAnswer(invocation -> criarIndicadores(invocation.getArgument(0)));
+
+        ContextoConsulta.executarCom(Deadline.em(Duration.ofSeconds(5)), 1, () -> {
+            adapter.buscarIndicadores(unidadeId);
+            liveOpsProperties.getRetry().setPercentualMaximo(1.0);
+            return adapter.buscarIndicadores(outra);
+        });
+
+        // Sem orçamento na instância a primeira unidade não repete, e o retry da consulta fica para a segunda
+        verify(client, times(1)).buscarIndicadores(eq(unidadeId.toString()), any());
+        verify(client, times(2)).buscarIndicadores(eq(outra.toString()), any());
+    }
+
+    @Test
+    void devePararRetriesDasUnidadesEmParaleloQuandoOrcamentoDaConsultaEsgota() throws Exception {
+        configurarRetryImediato();
+        liveOpsProperties.getRetry().setMaxTentativas(3);
+        List<UUID> unidades = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(cachePort.getIndicadores(any(), eq(IndicadoresCacheEntry.class))).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(anyString(), any()))
+            .thenThrow(new HttpServerErrorException(org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE));
+        when(mapper.criarIndicadoresPadrao(any())).thenAnswer(invocation -> criarIndicadores(invocation.getArgument(0)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(unidades.size());
+        try {
+            ContextoConsulta.executarCom(Deadline.em(Duration.ofSeconds(5)), 2, () -> {
+                List<Future<IndicadoresDTO>> buscas = unidades.stream()
+                    .map(id -> executor.submit(ContextoConsulta.propagar(() -> adapter.buscarIndicadores(id))))
+                    .toList();
+                buscas.forEach(busca -> assertDoesNotThrow(() -> busca.get(5, TimeUnit.SECONDS)));
+                return null;
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // 4 primeiras tentativas + os 2 retries da consulta, sem chegar às 3 tentativas de cada unidade
+        verify(client, times(6)).buscarIndicadores(anyString(), any());
+    }
+
+    @Test
+    void naoDeveRepetirQuandoPrazoNaoComportaAEspera() {
+        liveOpsProperties.getRetry().setPercentualMaximo(1.0);
+        liveOpsProperties.getRetry().setEspera(Duration.ofSeconds(1));
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any()))
+            .thenThrow(new HttpServerErrorException(org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE));
+        when(mapper.criarIndicadoresPadrao(unidadeId)).thenReturn(criarIndicadores(unidadeId));
+
+        ContextoConsulta.executarCom(Deadline.em(Duration.ofMillis(800)), 5, () -> adapter.buscarIndicadores(unidadeId));
+
+        verify(client, times(1)).buscarIndicadores(eq(unidadeId.toString()), any());
+    }
+
+    @Test
+    void deveLimitarRetriesAoOrcamentoDaInstancia() {
+        configurarRetryImediato();
+        liveOpsProperties.getRetry().setPercentualMaximo(0.5);
+        liveOpsProperties.getRetry().setMaxTentativas(2);
+        when(cachePort.getIndicadores(any(), eq(IndicadoresCacheEntry.class))).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(anyString(), any()))
+            .thenThrow(new HttpServerErrorException(org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE));
+        when(mapper.criarIndicadoresPadrao(any())).thenAnswer(invocation -> criarIndicadores(invocation.getArgument(0)));
+
+        for (int i = 0; i < 10; i++) {
+            adapter.buscarIndicadores(UUID.randomUUID());
+        }
+
+        // 10 primeiras tentativas e no máximo 50% de retries
+        verify(client, times(15)).buscarIndicadores(anyString(), any());
+    }
+
+    @Test
+    void deveRetornarIndicadoresPadraoSemChamarLiveOpsQuandoBulkheadCheio() {
+        configurarRetryImediato();
+        var bulkhead = bulkheadRegistry.bulkhead(LiveOpsServiceAdapter.BULKHEAD,
+            BulkheadConfig.custom().maxConcurrentCalls(1).maxWaitDuration(Duration.ZERO).build());
+        assertTrue(bulkhead.tryAcquirePermission());
+        IndicadoresDTO padrao = criarIndicadores(unidadeId).comProcedencia(ProcedenciaIndicadores.DEFAULT);
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.empty());
+        when(mapper.criarIndicadoresPadrao(unidadeId)).thenReturn(padrao);
+
+        assertEquals(padrao, adapter.buscarIndicadores(unidadeId));
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void deveRetornarUltimosIndicadoresConhecidosDoCacheComoDefasados() {
+        IndicadoresDTO conhecido = criarIndicadores(unidadeId);
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class))
+            .thenReturn(Optional.of(IndicadoresCacheEntry.novo(conhecido, Duration.ofSeconds(30))));
+
+        Optional<IndicadoresDTO> result = adapter.buscarUltimosIndicadoresConhecidos(unidadeId);
+
+        assertEquals(Optional.of(conhecido.comProcedencia(ProcedenciaIndicadores.STALE)), result);
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void deveRetornarUltimosIndicadoresConhecidosDaVisaoMesmoComStreamDesabilitado() {
+        UnitAnalyticsDTO analytics = criarAnalytics(unidadeId);
+        IndicadoresDTO buscado = criarIndicadores(unidadeId);
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any())).thenReturn(ResponseEntity.ok(analytics));
+        when(mapper.toIndicadoresDTO(analytics)).thenReturn(buscado);
+        adapter.buscarIndicadores(unidadeId);
+
+        Optional<IndicadoresDTO> result = adapter.buscarUltimosIndicadoresConhecidos(unidadeId);
+
+        assertEquals(Optional.of(buscado.comProcedencia(ProcedenciaIndicadores.STALE)), result);
+    }
+
+    @Test
+    void naoDeveTratarIndicadoresPadraoComoUltimosConhecidos() {
+        IndicadoresDTO padrao = criarIndicadores(unidadeId).comProcedencia(ProcedenciaIndicadores.DEFAULT);
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class))
+            .thenReturn(Optional.of(IndicadoresCacheEntry.novo(padrao, Duration.ofSeconds(30))));
+
+        assertTrue(adapter.buscarUltimosIndicadoresConhecidos(unidadeId).isEmpty());
+    }
+
+    @Test
+    void deveServirIndicadoresDaVisaoEmMemoriaSemConsultarCacheNemLiveOps() {
+        liveOpsProperties.getStream().setHabilitado(true);
+        IndicadoresDTO materializado = criarIndicadores(unidadeId);
+        indicadoresMaterializados.atualizar(materializado, Instant.now());
+
+        IndicadoresDTO result = adapter.buscarIndicadores(unidadeId);
+
+        assertSame(materializado, result);
+        verifyNoInteractions(cachePort, client);
+    }
+
+    @Test
+    void deveBuscarViaHttpQuandoUnidadeAusenteNaVisaoEAlimentarAVisao() {
+        liveOpsProperties.getStream().setHabilitado(true);
+        UnitAnalyticsDTO analytics = criarAnalytics(unidadeId);
+        IndicadoresDTO indicadores = criarIndicadores(unidadeId);
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any())).thenReturn(ResponseEntity.ok(analytics));
+        when(mapper.toIndicadoresDTO(analytics)).thenReturn(indicadores);
+
+        adapter.buscarIndicadores(unidadeId);
+
+        assertEquals(Optional.of(indicadores), indicadoresMaterializados.buscar(unidadeId, Duration.ofSeconds(60)));
+    }
+
+    @Test
+    void deveConsultarCacheEmLoteApenasParaUnidadesForaDaVisao() {
+        liveOpsProperties.getStream().setHabilitado(true);
+        UUID foraDaVisao = UUID.randomUUID();
+        IndicadoresDTO materializado = criarIndicadores(unidadeId);
+        IndicadoresDTO emCache = criarIndicadores(foraDaVisao);
+        indicadoresMaterializados.atualizar(materializado, Instant.now());
+        when(cachePort.getIndicadoresEmLote(argThat(ids -> ids.size() == 1 && ids.contains(foraDaVisao)), eq(IndicadoresCacheEntry.class)))
+            .thenReturn(Map.of(foraDaVisao, IndicadoresCacheEntry.novo(emCache, Duration.ofSeconds(30))));
+
+        Map<UUID, IndicadoresDTO> result = adapter.buscarIndicadoresEmLote(List.of(unidadeId, foraDaVisao));
+
+        assertEquals(Map.of(unidadeId, materializado, foraDaVisao, emCache), result);
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void naoDeveUsarVisaoEmMemoriaQuandoStreamDesabilitado() {
+        indicadoresMaterializados.atualizar(criarIndicadores(unidadeId), Instant.now());
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any())).thenReturn(ResponseEntity.ok(criarAnalytics(unidadeId)));
+        when(mapper.toIndicadoresDTO(any())).thenReturn(criarIndicadores(unidadeId));
+
+        adapter.buscarIndicadores(unidadeId);
+
+        verify(client).buscarIndicadores(eq(unidadeId.toString()), any());
+    }
+
+    @Test
+    void deveRenovarApenasIndicadoresQueExpiramDentroDaAntecedencia() {
+        UUID expirando = UUID.randomUUID();
+        UUID fresco = UUID.randomUUID();
+        UUID ausente = UUID.randomUUID();
+        when(cachePort.getIndicadoresEmLote(anyCollection(), eq(IndicadoresCacheEntry.class))).thenReturn(Map.of(
+            expirando, IndicadoresCacheEntry.novo(criarIndicadores(expirando), Duration.ofSeconds(5)),
+            fresco, IndicadoresCacheEntry.novo(criarIndicadores(fresco), Duration.ofSeconds(30))
+        ));
+        when(client.buscarIndicadoresEmLote(anyList())).thenReturn(List.of(criarAnalytics(expirando), criarAnalytics(ausente)));
+        when(mapper.toIndicadoresDTO(any())).thenAnswer(invocation ->
+            criarIndicadores(UUID.fromString(invocation.<UnitAnalyticsDTO>getArgument(0).healthUnitId())));
+
+        int renovadas = adapter.renovarIndicadores(List.of(expirando, fresco, ausente), Duration.ofSeconds(20));
+
+        assertEquals(2, renovadas);
+        verify(client).buscarIndicadoresEmLote(List.of(expirando.toString(), ausente.toString()));
+        verify(cachePort).putIndicadoresEmLote(argThat(entradas -> entradas.size() == 2), anyLong());
+    }
+
+    @Test
+    void deveRenovarUnidadesForaDoLoteEmParaleloAteOLimiteDoFanOut() {
+        liveOpsProperties.getLote().setHabilitado(false);
+        liveOpsProperties.getFanOut().setMaxConcorrencia(2);
+        List<UUID> unidades = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+            UUID.randomUUID(), UUID.randomUUID());
+        when(cachePort.getIndicadoresEmLote(anyCollection(), eq(IndicadoresCacheEntry.class))).thenReturn(Map.of());
+        AtomicInteger emAndamento = new AtomicInteger();
+        AtomicInteger maximoSimultaneas = new AtomicInteger();
+        when(client.buscarIndicadores(anyString(), any())).thenAnswer(invocation -> {
+            maximoSimultaneas.accumulateAndGet(emAndamento.incrementAndGet(), Math::max);
+            Thread.sleep(50);
+            emAndamento.decrementAndGet();
+            return ResponseEntity.ok(criarAnalytics(UUID.fromString(invocation.getArgument(0))));
+        });
+        when(mapper.toIndicadoresDTO(any())).thenAnswer(invocation ->
+            criarIndicadores(UUID.fromString(invocation.<UnitAnalyticsDTO>getArgument(0).healthUnitId())));
+
+        int renovadas = adapter.renovarIndicadores(unidades, Duration.ofSeconds(20));
+
+        assertEquals(5, renovadas);
+        assertEquals(2, maximoSimultaneas.get());
+        verify(client, times(5)).buscarIndicadores(anyString(), any());
+    }
+
+    @Test
+    void deveGuardarEtagDaRespostaNoCache() {
+        UnitAnalyticsDTO analytics = criarAnalytics(unidadeId);
+        IndicadoresDTO indicadores = criarIndicadores(unidadeId);
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(unidadeId.toString(), null)).thenReturn(ResponseEntity.ok().eTag("v1").body(analytics));
+        when(mapper.toIndicadoresDTO(analytics)).thenReturn(indicadores);
+
+        adapter.buscarIndicadores(unidadeId);
+
+        verify(cachePort).putIndicadores(eq(unidadeId),
+            argThat((IndicadoresCacheEntry entry) -> "\"v1\"".equals(entry.etag())), eq(300L));
+    }
+
+    @Test
+    void deveRenovarEntradaSemMapearQuandoLiveOpsRespondeNaoModificado() {
+        IndicadoresDTO antigo = criarIndicadores(unidadeId);
+        IndicadoresCacheEntry expirado = new IndicadoresCacheEntry(antigo, Instant.now().minusSeconds(5), "\"v1\"");
+        FeignException naoModificado = mock(FeignException.class);
+        when(naoModificado.status()).thenReturn(304);
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.of(expirado));
+        when(client.buscarIndicadores(unidadeId.toString(), "\"v1\"")).thenThrow(naoModificado);
+
+        adapter.buscarIndicadores(unidadeId);
+
+        verify(cachePort, timeout(2000)).putIndicadores(eq(unidadeId),
+            argThat((IndicadoresCacheEntry entry) -> entry.indicadores() == antigo
+                && "\"v1\"".equals(entry.etag())
+                && !entry.precisaRevalidar(Instant.now())),
+            eq(300L));
+        verify(client, times(1)).buscarIndicadores(anyString(), any());
+        verifyNoInteractions(mapper);
+        assertEquals(Optional.of(antigo), indicadoresMaterializados.buscarUltimo(unidadeId));
+    }
+
+    @Test
+    void naoDeveEnviarEtagDeIndicadoresPadrao() {
+        IndicadoresDTO padrao = criarIndicadores(unidadeId).comProcedencia(ProcedenciaIndicadores.DEFAULT);
+        IndicadoresCacheEntry expirado = new IndicadoresCacheEntry(padrao, Instant.now().minusSeconds(5), "\"v1\"");
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.of(expirado));
+        when(client.buscarIndicadores(unidadeId.toString(), null)).thenReturn(ResponseEntity.ok(criarAnalytics(unidadeId)));
+        when(mapper.toIndicadoresDTO(any())).thenReturn(criarIndicadores(unidadeId));
+
+        adapter.buscarIndicadores(unidadeId);
+
+        verify(client, timeout(2000)).buscarIndicadores(unidadeId.toString(), null);
+        verify(cachePort, timeout(2000)).putIndicadores(eq(unidadeId), any(), anyLong());
+    }
+
+    @Test
+    void deveUsarTtlMaximoParaUnidadeCujosIndicadoresNaoMudam() {
+        UnitAnalyticsDTO analytics = criarAnalytics(unidadeId);
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any())).thenReturn(ResponseEntity.ok(analytics));
+        when(mapper.toIndicadoresDTO(analytics)).thenReturn(criarIndicadores(unidadeId));
+
+        adapter.buscarIndicadores(unidadeId);
+        adapter.buscarIndicadores(unidadeId);
+
+        // 120s (ttl-adaptativo.maximo) + 270s de janela stale
+        verify(cachePort).putIndicadores(eq(unidadeId),
+            argThat((IndicadoresCacheEntry entry) -> entry.revalidarApos().isAfter(Instant.now().plusSeconds(100))),
+            eq(390L));
+    }
+
+    @Test
+    void deveUsarTtlMinimoParaUnidadeComIndicadoresVolateis() {
+        UnitAnalyticsDTO analytics = criarAnalytics(unidadeId);
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any())).thenReturn(ResponseEntity.ok(analytics));
+        when(mapper.toIndicadoresDTO(analytics))
+            .thenReturn(criarIndicadores(unidadeId))
+            .thenReturn(new IndicadoresDTO(unidadeId, Map.of(RiskClassification.RED, 15), 10, 5, 20));
+
+        adapter.buscarIndicadores(unidadeId);
+        adapter.buscarIndicadores(unidadeId);
+
+        // 10s (ttl-adaptativo.minimo) + 270s de janela stale
+        verify(cachePort).putIndicadores(eq(unidadeId), any(), eq(280L));
+    }
+
+    @Test
+    void naoDeveAdaptarTtlQuandoDesabilitado() {
+        properties.getCache().getTtlAdaptativo().setHabilitado(false);
+        UnitAnalyticsDTO analytics = criarAnalytics(unidadeId);
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any())).thenReturn(ResponseEntity.ok(analytics));
+        when(mapper.toIndicadoresDTO(analytics)).thenReturn(criarIndicadores(unidadeId));
+
+        adapter.buscarIndicadores(unidadeId);
+        adapter.buscarIndicadores(unidadeId);
+
+        verify(cachePort, times(2)).putIndicadores(eq(unidadeId), any(), eq(300L));
+    }
+
+    @Test
+    void deveGravarEntradaNegativaQuandoLiveOpsNaoConheceAUnidade() {
+        IndicadoresDTO padrao = criarIndicadores(unidadeId).comProcedencia(ProcedenciaIndicadores.DEFAULT);
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any()))
+            .thenThrow(new HttpClientErrorException(org.springframework.http.HttpStatus.NOT_FOUND));
+        when(mapper.criarIndicadoresPadrao(unidadeId)).thenReturn(padrao);
+
+        assertEquals(padrao, adapter.buscarIndicadores(unidadeId));
+
+        // TTL curto e sem janela stale
+        verify(cachePort).putIndicadores(eq(unidadeId),
+            argThat((IndicadoresCacheEntry entry) -> entry.indicadores() == padrao), eq(30L));
+        assertEquals(1.0, meterRegistry.get("traffic.intelligence.indicadores.cache_negativo")
+            .tag("resultado", "gravado").counter().count());
+    }
+
+    @Test
+    void naoDeveGravarEntradaNegativaParaErroDeAutenticacao() {
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.empty());
+        when(client.buscarIndicadores(eq(unidadeId.toString()), any()))
+            .thenThrow(new HttpClientErrorException(org.springframework.http.HttpStatus.UNAUTHORIZED));
+        when(mapper.criarIndicadoresPadrao(unidadeId))
+            .thenReturn(criarIndicadores(unidadeId).comProcedencia(ProcedenciaIndicadores.DEFAULT));
+
+        adapter.buscarIndicadores(unidadeId);
+
+        verify(cachePort, never()).putIndicadores(any(), any(), anyLong());
+    }
+
+    @Test
+    void deveServirEntradaNegativaSemChamarLiveOps() {
+        IndicadoresDTO padrao = criarIndicadores(unidadeId).comProcedencia(ProcedenciaIndicadores.DEFAULT);
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class))
+            .thenReturn(Optional.of(IndicadoresCacheEntry.novo(padrao, Duration.ofSeconds(30))));
+
+        assertEquals(padrao, adapter.buscarIndicadores(unidadeId));
+
+        verifyNoInteractions(client);
+        assertEquals(1.0, meterRegistry.get("traffic.intelligence.indicadores.cache_negativo")
+            .tag("resultado", "hit").counter().count());
+    }
+
+    @Test
+    void naoDeveRenovarUnidadesComEntradaNegativa() {
+        IndicadoresDTO padrao = criarIndicadores(unidadeId).comProcedencia(ProcedenciaIndicadores.DEFAULT);
+        when(cachePort.getIndicadoresEmLote(anyCollection(), eq(IndicadoresCacheEntry.class)))
+            .thenReturn(Map.of(unidadeId, IndicadoresCacheEntry.novo(padrao, Duration.ofSeconds(5))));
+
+        assertEquals(0, adapter.renovarIndicadores(List.of(unidadeId), Duration.ofSeconds(20)));
+
+        verifyNoInteractions(client);
+    }
+
+    private void configurarRetryImediato() {
+        liveOpsProperties.getRetry().setEspera(Duration.ofMillis(1));
+        liveOpsProperties.getRetry().setPercentualMaximo(1.0);
+    }
+
+    private IndicadoresDTO criarIndicadores(UUID id) {
+        return new IndicadoresDTO(id, Map.of(RiskClassification.RED, 5), 10, 5, 20);
+    }
+
+    private UnitAnalyticsDTO criarAnalytics(UUID id) {
+        return new UnitAnalyticsDTO(
+            id.toString(),
+            30L,
+            new UnitAnalyticsDTO.LiveQueueSnapshotDTO(10L, 5L, 5L),
+            List.of()
+        );
+    }
+
+    @Test
+    void deveRetornarIndicadoresPadraoSemChamarLiveOpsQuandoPrazoEsgotado() {
+        IndicadoresDTO padrao = criarIndicadores(unidadeId);
+        when(cachePort.getIndicadores(unidadeId, IndicadoresCacheEntry.class)).thenReturn(Optional.empty());
+        when(mapper.criarIndicadoresPadrao(unidadeId)).thenReturn(padrao);
+
+        IndicadoresDTO result = ContextoConsulta.executarCom(Deadline.em(Duration.ZERO),
+            () -> adapter.buscarIndicadores(unidadeId));
+
+        assertEquals(padrao, result);
+        verifyNoInteractions(client);
+        verify(cachePort, never()).putIndicadores(any(), any(), anyLong());
+    }
 }
@@ -12,7 +12,7 @@ class LiveOpsServiceClientFallbackTest {
     @Test
     void deveRetornarUnitAnalyticsDTOComValoresPadrao() {
         String unitId = "unit-id";
-        UnitAnalyticsDTO result = fallback.buscarIndicadores(unitId);
+        UnitAnalyticsDTO result = fallback.buscarIndicadores(unitId, null).getBody();
 
         assertNotNull(result);
         assertEquals(unitId, result.healthUnitId());
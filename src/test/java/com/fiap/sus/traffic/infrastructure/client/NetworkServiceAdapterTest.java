@@ -2,23 +2,36 @@ package com.fiap.sus.traffic.infrastructure.client;
 
 import com.fiap.sus.traffic.application.dto.UnidadeSaudeDTO;
 import com.fiap.sus.traffic.application.port.CachePort;
+import com.fiap.sus.traffic.core.exception.DeadlineExceededException;
 import com.fiap.sus.traffic.core.exception.ExternalServiceException;
 import com.fiap.sus.traffic.core.exception.ValidationException;
-import com.fiap.sus.traffic.infrastructure.client.dto.HealthUnitResponseDTO;
+import com.fiap.sus.traffic.infrastructure.cache.CacheGeocodificacao;
+import com.fiap.sus.traffic.infrastructure.cache.CacheKeyGenerator;
+import com.fiap.sus.traffic.infrastructure.cache.IndiceRaiosUnidades;
+import com.fiap.sus.traffic.infrastructure.catalogo.CatalogoUnidadesLocal;
+import com.fiap.sus.traffic.infrastructure.client.dto.CoordenadasDTO;
 import com.fiap.sus.traffic.infrastructure.client.dto.PageResponseDTO;
+import com.fiap.sus.traffic.infrastructure.client.dto.UnidadeProximaResumoDTO;
 import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
 import com.fiap.sus.traffic.infrastructure.mapper.NetworkServiceMapper;
+import com.fiap.sus.traffic.shared.context.ContextoConsulta;
+import com.fiap.sus.traffic.shared.context.Deadline;
+import com.fiap.sus.traffic.shared.util.Geohash;
 import feign.FeignException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -43,14 +56,32 @@ class NetworkServiceAdapterTest {
     @Mock
     private NetworkServiceMapper mapper;
 
+    @Spy
+    private BulkheadRegistry bulkheadRegistry = BulkheadRegistry.ofDefaults();
+
+    @Mock
+    private CatalogoUnidadesLocal catalogoLocal;
+
+    @Mock
+    private CacheGeocodificacao cacheGeocodificacao;
+
+    @Mock
+    private IndiceRaiosUnidades indiceRaios;
+
     @InjectMocks
     private NetworkServiceAdapter adapter;
 
+    private TrafficIntelligenceProperties.NetworkService networkServiceProperties;
+
+    private TrafficIntelligenceProperties.Cache cacheProperties;
+
     @BeforeEach
     void setUp() {
-        var cacheProperties = new TrafficIntelligenceProperties.Cache();
+        cacheProperties = new TrafficIntelligenceProperties.Cache();
         cacheProperties.setTtlUnidades(Duration.ofSeconds(60));
         lenient().when(properties.getCache()).thenReturn(cacheProperties);
+        networkServiceProperties = new TrafficIntelligenceProperties.NetworkService();
+        lenient().when(properties.getNetworkService()).thenReturn(networkServiceProperties);
     }
 
     @Test
@@ -74,7 +105,7 @@ class NetworkServiceAdapterTest {
             .thenReturn(Optional.empty());
         when(client.buscarUnidadesProximas(eq(address), eq(50.0), eq("KM"), eq(0), eq(1000)))
             .thenReturn(new PageResponseDTO<>(List.of(), 0, 0, 1000, 0, true, true, 0));
-        when(mapper.toUnidadeSaudeDTOList(anyList())).thenReturn(List.of());
+        when(mapper.resumosToUnidadeSaudeDTOList(anyList())).thenReturn(List.of());
 
         adapter.buscarUnidadesProximas(address, null, "KM");
 
@@ -88,7 +119,7 @@ class NetworkServiceAdapterTest {
             .thenReturn(Optional.empty());
         when(client.buscarUnidadesProximas(eq(address), eq(10.0), eq("KM"), eq(0), eq(1000)))
             .thenReturn(new PageResponseDTO<>(List.of(), 0, 0, 1000, 0, true, true, 0));
-        when(mapper.toUnidadeSaudeDTOList(anyList())).thenReturn(List.of());
+        when(mapper.resumosToUnidadeSaudeDTOList(anyList())).thenReturn(List.of());
 
         adapter.buscarUnidadesProximas(address, 10.0, null);
 
@@ -113,8 +144,8 @@ class NetworkServiceAdapterTest {
     @Test
     void deveBuscarUnidadesDoNetworkService() {
         String address = "Rua Teste, 123";
-        HealthUnitResponseDTO response = new HealthUnitResponseDTO(
-            UUID.randomUUID(), "Hospital 1", "123", null, null, "5.0 KM"
+        UnidadeProximaResumoDTO response = new UnidadeProximaResumoDTO(
+            UUID.randomUUID(), "Hospital 1", "5.0 KM"
         );
         UnidadeSaudeDTO dto = new UnidadeSaudeDTO(
             UUID.randomUUID(), "Hospital 1", "123", null, List.of(), "5.0 KM"
@@ -124,7 +155,7 @@ class NetworkServiceAdapterTest {
             .thenReturn(Optional.empty());
         when(client.buscarUnidadesProximas(anyString(), anyDouble(), anyString(), anyInt(), anyInt()))
             .thenReturn(new PageResponseDTO<>(List.of(response), 1, 1, 1000, 0, true, true, 1));
-        when(mapper.toUnidadeSaudeDTOList(anyList())).thenReturn(List.of(dto));
+        when(mapper.resumosToUnidadeSaudeDTOList(anyList())).thenReturn(List.of(dto));
 
         List<UnidadeSaudeDTO> result = adapter.buscarUnidadesProximas(address, 10.0, "KM");
 
@@ -158,6 +189,20 @@ class NetworkServiceAdapterTest {
         });
     }
 
+    @Test
+    void deveRecusarNaHoraQuandoBulkheadCheio() {
+        var bulkhead = bulkheadRegistry.bulkhead(NetworkServiceAdapter.BULKHEAD,
+            BulkheadConfig.custom().maxConcurrentCalls(1).maxWaitDuration(Duration.ZERO).build());
+        assertTrue(bulkhead.tryAcquirePermission());
+        when(cachePort.getUnidades(anyString(), eq(UnidadeSaudeDTO.class))).thenReturn(Optional.empty());
+
+        ExternalServiceException exception = assertThrows(ExternalServiceException.class, () ->
+            adapter.buscarUnidadesProximas("Rua Teste, 123", 10.0, "KM"));
+
+        assertEquals(503, exception.getStatusCode());
+        verifyNoInteractions(client);
+    }
+
     @Test
     void deveLancarExcecaoQuandoFeignException() {
         String address = "Rua Teste, 123";
@@ -185,4 +230,261 @@ class NetworkServiceAdapterTest {
         assertEquals(dto, result);
         verify(client).buscarUnidadePorId(id);
     }
+
+    @Test
+    void deveLancarDeadlineExceededSemChamarNetworkServiceQuandoPrazoEsgotado() {
+        when(cachePort.getUnidades(anyString(), eq(UnidadeSaudeDTO.class))).thenReturn(Optional.empty());
+
+        assertThrows(DeadlineExceededException.class, () ->
+            ContextoConsulta.executarCom(Deadline.em(Duration.ZERO),
+                () -> adapter.buscarUnidadesProximas("Rua Teste, 123", 10.0, "KM")));
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void deveBuscarPaginasEEntregarCadaUmaAoChegar() {
+        configurarPaginacao(2, 6);
+        String address = "Rua Teste, 123";
+        List<UnidadeProximaResumoDTO> unidades = List.of(unidade(), unidade(), unidade(), unidade(), unidade(), unidade());
+        when(cachePort.getUnidades(anyString(), eq(UnidadeSaudeDTO.class))).thenReturn(Optional.empty());
+        // O Network Service tem 5 páginas, mas max-unidades limita a busca a 3
+        for (int pagina = 0; pagina < 3; pagina++) {
+            when(client.buscarUnidadesProximas(address, 10.0, "KM", pagina, 2)).thenReturn(
+                new PageResponseDTO<>(unidades.subList(pagina * 2, pagina * 2 + 2), 10, 5, 2, pagina, pagina == 0, false, 2));
+        }
+        configurarMapper();
+        List<List<UnidadeSaudeDTO>> recebidas = new ArrayList<>();
+
+        List<UnidadeSaudeDTO> result = adapter.buscarUnidadesProximas(address, 10.0, "KM", recebidas::add);
+
+        assertEquals(unidades.stream().map(UnidadeProximaResumoDTO::id).toList(),
+            result.stream().map(UnidadeSaudeDTO::id).toList());
+        assertEquals(3, recebidas.size());
+        assertEquals(2, recebidas.get(0).size());
+        verify(client, times(3)).buscarUnidadesProximas(anyString(), anyDouble(), anyString(), anyInt(), eq(2));
+        verify(cachePort).putUnidades(anyString(), eq(result), eq(60L));
+    }
+
+    @Test
+    void naoDeveGuardarNoCacheResultadoParcialQuandoPaginaFalha() {
+        configurarPaginacao(2, 1000);
+        String address = "Rua Teste, 123";
+        UnidadeProximaResumoDTO primeira = unidade();
+        when(cachePort.getUnidades(anyString(), eq(UnidadeSaudeDTO.class))).thenReturn(Optional.empty());
+        when(client.buscarUnidadesProximas(address, 10.0, "KM", 0, 2))
+            .thenReturn(new PageResponseDTO<>(List.of(primeira), 3, 2, 2, 0, true, false, 1));
+        when(client.buscarUnidadesProximas(address, 10.0, "KM", 1, 2))
+            .thenThrow(new HttpServerErrorException(org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE));
+        configurarMapper();
+
+        List<UnidadeSaudeDTO> result = adapter.buscarUnidadesProximas(address, 10.0, "KM");
+
+        assertEquals(List.of(primeira.id()), result.stream().map(UnidadeSaudeDTO::id).toList());
+        verify(cachePort, never()).putUnidades(anyString(), anyList(), anyLong());
+    }
+
+    @Test
+    void deveBuscarApenasUmaPaginaQuandoPrimeiraEhAUltima() {
+        configurarPaginacao(100, 1000);
+        when(cachePort.getUnidades(anyString(), eq(UnidadeSaudeDTO.class))).thenReturn(Optional.empty());
+        when(client.buscarUnidadesProximas(anyString(), anyDouble(), anyString(), eq(0), eq(100)))
+            .thenReturn(new PageResponseDTO<>(List.of(unidade()), 1, 1, 100, 0, true, true, 1));
+        configurarMapper();
+
+        assertEquals(1, adapter.buscarUnidadesProximas("Rua Teste, 123", 10.0, "KM").size());
+        verify(client, times(1)).buscarUnidadesProximas(anyString(), anyDouble(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void deveBuscarNoCatalogoLocalQuandoDisponivel() {
+        String address = "Rua Teste, 123";
+        List<UnidadeSaudeDTO> locais = List.of(new UnidadeSaudeDTO(UUID.randomUUID(), "UBS", null, null, List.of(), "0.800 km"));
+        when(cachePort.getUnidades(anyString(), eq(UnidadeSaudeDTO.class))).thenReturn(Optional.empty());
+        when(catalogoLocal.disponivel()).thenReturn(true);
+        CoordenadasDTO coordenadas = new CoordenadasDTO(-23.56, -46.65);
+        when(client.geocodificar(address)).thenReturn(coordenadas);
+        when(catalogoLocal.buscarProximas(-23.56, -46.65, 2.0, 1000)).thenReturn(locais);
+        List<List<UnidadeSaudeDTO>> recebidas = new ArrayList<>();
+
+        List<UnidadeSaudeDTO> result = adapter.buscarUnidadesProximas(address, 2000.0, "METERS", recebidas::add);
+
+        assertEquals(locais, result);
+        assertEquals(List.of(locais), recebidas);
+        verify(client, never()).buscarUnidadesProximas(anyString(), anyDouble(), anyString(), anyInt(), anyInt());
+        verify(cachePort).putUnidades(anyString(), eq(locais), eq(60L));
+        verify(cacheGeocodificacao).guardar(address, coordenadas);
+    }
+
+    @Test
+    void naoDeveGeocodificarEnderecoJaConhecidoComOutroRaio() {
+        String address = "Rua Teste, 123";
+        when(cachePort.getUnidades(anyString(), eq(UnidadeSaudeDTO.class))).thenReturn(Optional.empty());
+        when(catalogoLocal.disponivel()).thenReturn(true);
+        when(cacheGeocodificacao.buscar(address)).thenReturn(Optional.of(new CoordenadasDTO(-23.56, -46.65)));
+        when(catalogoLocal.buscarProximas(-23.56, -46.65, 25.0, 1000)).thenReturn(List.of());
+
+        assertTrue(adapter.buscarUnidadesProximas(address, 25.0, "KM").isEmpty());
+        verify(client, never()).geocodificar(anyString());
+        verify(cacheGeocodificacao, never()).guardar(anyString(), any());
+    }
+
+    @Test
+    void deveBuscarNoNetworkServiceQuandoGeocodificacaoFalha() {
+        String address = "Rua Teste, 123";
+        when(cachePort.getUnidades(anyString(), eq(UnidadeSaudeDTO.class))).thenReturn(Optional.empty());
+        when(catalogoLocal.disponivel()).thenReturn(true);
+        when(client.geocodificar(address))
+            .thenThrow(new HttpClientErrorException(org.springframework.http.HttpStatus.NOT_FOUND));
+        when(client.buscarUnidadesProximas(address, 10.0, "KM", 0, 1000))
+            .thenReturn(new PageResponseDTO<>(List.of(unidade()), 1, 1, 1000, 0, true, true, 1));
+        configurarMapper();
+
+        assertEquals(1, adapter.buscarUnidadesProximas(address, 10.0, "KM").size());
+        verify(catalogoLocal, never()).buscarProximas(anyDouble(), anyDouble(), anyDouble(), anyInt());
+    }
+
+    @Test
+    void deveFiltrarListaEmCacheDeRaioMaiorSemChamarNetworkService() {
+        String address = "Rua Teste, 123";
+        String chave50 = CacheKeyGenerator.unidadesKey(address, 50.0, "KM");
+        UnidadeSaudeDTO a3km = new UnidadeSaudeDTO(UUID.randomUUID(), "UBS", null, null, List.of(), "3.2 km");
+        UnidadeSaudeDTO a500m = new UnidadeSaudeDTO(UUID.randomUUID(), "AMA", null, null, List.of(), "500 m");
+        UnidadeSaudeDTO a12km = new UnidadeSaudeDTO(UUID.randomUUID(), "Hospital", null, null, List.of(), "12.5 km");
+        when(cachePort.getUnidades(anyString(), eq(UnidadeSaudeDTO.class))).thenReturn(Optional.empty());
+        when(cachePort.getUnidades(chave50, UnidadeSaudeDTO.class)).thenReturn(Optional.of(List.of(a3km, a12km, a500m)));
+        when(indiceRaios.chavesComRaioMaior(address, 10.0)).thenReturn(List.of(chave50));
+        List<List<UnidadeSaudeDTO>> recebidas = new ArrayList<>();
+
+        List<UnidadeSaudeDTO> result = adapter.buscarUnidadesProximas(address, 10.0, "KM", recebidas::add);
+
+        assertEquals(List.of(a3km, a500m), result);
+        assertEquals(List.of(result), recebidas);
+        verifyNoInteractions(client);
+        verify(cachePort, never()).putUnidades(anyString(), anyList(), anyLong());
+    }
+
+    @Test
+    void naoDeveReaproveitarListaComDistanciaInvalida() {
+        String address = "Rua Teste, 123";
+        String chave50 = CacheKeyGenerator.unidadesKey(address, 50.0, "KM");
+        when(cachePort.getUnidades(anyString(), eq(UnidadeSaudeDTO.class))).thenReturn(Optional.empty());
+        when(cachePort.getUnidades(chave50, UnidadeSaudeDTO.class)).thenReturn(Optional.of(List.of(
+            new UnidadeSaudeDTO(UUID.randomUUID(), "UBS", null, null, List.of(), "perto"))));
+        when(indiceRaios.chavesComRaioMaior(address, 10.0)).thenReturn(List.of(chave50));
+        when(client.buscarUnidadesProximas(address, 10.0, "KM", 0, 1000))
+            .thenReturn(new PageResponseDTO<>(List.of(unidade()), 1, 1, 1000, 0, true, true, 1));
+        configurarMapper();
+
+        assertEquals(1, adapter.buscarUnidadesProximas(address, 10.0, "KM").size());
+        verify(indiceRaios).registrar(address, 10.0, CacheKeyGenerator.unidadesKey(address, 10.0, "KM"));
+    }
+
+    @Test
+    void naoDeveRegistrarRaioDeListaTruncadaNoLimiteDeUnidades() {
+        String address = "Rua Teste, 123";
+        List<UnidadeProximaResumoDTO> unidades = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            unidades.add(unidade());
+        }
+        when(cachePort.getUnidades(anyString(), eq(UnidadeSaudeDTO.class))).thenReturn(Optional.empty());
+        when(client.buscarUnidadesProximas(address, 50.0, "KM", 0, 1000))
+            .thenReturn(new PageResponseDTO<>(unidades, 5000, 5, 1000, 0, true, false, 1000));
+        configurarMapper();
+
+        assertEquals(1000, adapter.buscarUnidadesProximas(address, 50.0, "KM").size());
+        verify(cachePort).putUnidades(anyString(), anyList(), eq(60L));
+        verify(indiceRaios, never()).registrar(anyString(), anyDouble(), anyString());
+    }
+
+    @Test
+    void deveBuscarNoCatalogoLocalAPartirDoCentroDaCelulaComChaveGeocelula() {
+        String address = "Avenida Paulista, 1010";
+        cacheProperties.getChaveGeocelula().setHabilitado(true);
+        double[] centro = Geohash.centro(Geohash.codificar(-23.5650, -46.6525, 7));
+        List<UnidadeSaudeDTO> locais = List.of(
+            new UnidadeSaudeDTO(UUID.randomUUID(), "UBS", null, null, List.of(), "0.400 km", -23.5610, -46.6525));
+        when(cachePort.getUnidades(anyString(), eq(UnidadeSaudeDTO.class))).thenReturn(Optional.empty());
+        when(catalogoLocal.disponivel()).thenReturn(true);
+        when(cacheGeocodificacao.buscar(address)).thenReturn(Optional.of(new CoordenadasDTO(-23.5650, -46.6525)));
+        when(catalogoLocal.buscarProximas(centro[0], centro[1], 1.0, 1000)).thenReturn(locais);
+
+        assertEquals(locais, adapter.buscarUnidadesProximas(address, 1000.0, "METERS"));
+        verifyNoInteractions(client);
+    }
+
+    @Test
+    void deveInformarCelulaDoEnderecoComoRegiaoComChaveGeocelula() {
+        String address = "Avenida Paulista, 1000";
+        cacheProperties.getChaveGeocelula().setHabilitado(true);
+        when(catalogoLocal.disponivel()).thenReturn(true);
+        when(cacheGeocodificacao.buscar(address)).thenReturn(Optional.empty());
+        when(client.geocodificar(address)).thenReturn(new CoordenadasDTO(-23.5650, -46.6525));
+
+        assertEquals(Optional.of(Geohash.codificar(-23.5650, -46.6525, 7)), adapter.regiaoDoEndereco(address));
+        verify(cacheGeocodificacao).guardar(address, new CoordenadasDTO(-23.5650, -46.6525));
+    }
+
+    @Test
+    void naoDeveInformarRegiaoSemChaveGeocelulaOuCatalogoDisponivel() {
+        String address = "Avenida Paulista, 1000";
+        assertEquals(Optional.empty(), adapter.regiaoDoEndereco(address));
+
+        cacheProperties.getChaveGeocelula().setHabilitado(true);
+        when(catalogoLocal.disponivel()).thenReturn(false);
+        assertEquals(Optional.empty(), adapter.regiaoDoEndereco(address));
+
+        verifyNoInteractions(client, cacheGeocodificacao);
+    }
+
+    @Test
+    void naoDeveInformarRegiaoQuandoGeocodificacaoFalha() {
+        String address = "Avenida Paulista, 1000";
+        cacheProperties.getChaveGeocelula().setHabilitado(true);
+        when(catalogoLocal.disponivel()).thenReturn(true);
+        when(cacheGeocodificacao.buscar(address)).thenReturn(Optional.empty());
+        when(client.geocodificar(address)).thenThrow(new RuntimeException("geocoding indisponível"));
+
+        assertEquals(Optional.empty(), adapter.regiaoDoEndereco(address));
+    }
+
+    @Test
+    void naoDeveIniciarComChaveGeocelulaSemCatalogoLocal() {
+        cacheProperties.getChaveGeocelula().setHabilitado(true);
+        networkServiceProperties.getCatalogoLocal().setHabilitado(false);
+
+        assertThrows(IllegalStateException.class, () -> adapter.validarChaveGeocelula());
+    }
+
+    @Test
+    void deveIniciarComChaveGeocelulaECatalogoLocal() {
+        cacheProperties.getChaveGeocelula().setHabilitado(true);
+        networkServiceProperties.getCatalogoLocal().setHabilitado(true);
+
+        assertDoesNotThrow(() -> adapter.validarChaveGeocelula());
+    }
+
+    @Test
+    void deveConverterRaioParaKm() {
+        assertEquals(1.5, NetworkServiceAdapter.raioEmKm(1500.0, "METERS"), 1e-9);
+        assertEquals(16.09344, NetworkServiceAdapter.raioEmKm(10.0, "MILES"), 1e-9);
+        assertEquals(10.0, NetworkServiceAdapter.raioEmKm(10.0, "KM"), 1e-9);
+    }
+
+    private void configurarPaginacao(int tamanhoPagina, int maxUnidades) {
+        var paginacao = networkServiceProperties.getPaginacao();
+        paginacao.setHabilitado(true);
+        paginacao.setTamanhoPagina(tamanhoPagina);
+        paginacao.setMaxUnidades(maxUnidades);
+    }
+
+    private void configurarMapper() {
+        when(mapper.resumosToUnidadeSaudeDTOList(anyList())).thenAnswer(invocation ->
+            invocation.<List<UnidadeProximaResumoDTO>>getArgument(0).stream()
+                .map(unidade -> new UnidadeSaudeDTO(unidade.id(), unidade.name(), null, null, List.of(), unidade.distance()))
+                .toList());
+    }
+
+    private UnidadeProximaResumoDTO unidade() {
+        return new UnidadeProximaResumoDTO(UUID.randomUUID(), "Hospital", "5.0 KM");
+    }
 }
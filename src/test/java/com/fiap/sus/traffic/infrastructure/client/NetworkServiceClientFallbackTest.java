@@ -1,8 +1,8 @@
 package com.fiap.sus.traffic.infrastructure.client;
 
 import com.fiap.sus.traffic.application.dto.UnidadeSaudeDTO;
-import com.fiap.sus.traffic.infrastructure.client.dto.HealthUnitResponseDTO;
 import com.fiap.sus.traffic.infrastructure.client.dto.PageResponseDTO;
+import com.fiap.sus.traffic.infrastructure.client.dto.UnidadeProximaResumoDTO;
 import org.junit.jupiter.api.Test;
 
 import java.util.UUID;
@@ -15,7 +15,7 @@ class NetworkServiceClientFallbackTest {
 
     @Test
     void deveRetornarPaginaVaziaQuandoBuscarUnidadesProximas() {
-        PageResponseDTO<HealthUnitResponseDTO> result = fallback.buscarUnidadesProximas(
+        PageResponseDTO<UnidadeProximaResumoDTO> result = fallback.buscarUnidadesProximas(
             "Rua Teste, 123",
             10.0,
             "KM",
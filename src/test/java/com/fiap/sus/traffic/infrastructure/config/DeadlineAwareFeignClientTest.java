@@ -0,0 +1,75 @@
+package com.fiap.sus.traffic.infrastructure.config;
+
+import com.fiap.sus.traffic.core.exception.DeadlineExceededException;
+import com.fiap.sus.traffic.shared.context.ContextoConsulta;
+import com.fiap.sus.traffic.shared.context.Deadline;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class DeadlineAwareFeignClientTest {
+
+    private Client delegate;
+    private DeadlineAwareFeignClient client;
+    private Request request;
+    private Request.Options options;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        delegate = mock(Client.class);
+        client = new DeadlineAwareFeignClient(delegate);
+        request = Request.create(Request.HttpMethod.GET, "http://example.com/test", new HashMap<>(), null, null, null);
+        options = new Request.Options(5, TimeUnit.SECONDS, 180, TimeUnit.SECONDS, true);
+        when(delegate.execute(any(), any())).thenReturn(
+            Response.builder().status(200).headers(new HashMap<>()).request(request).build());
+    }
+
+    @Test
+    void deveUsarTimeoutsConfiguradosSemDeadline() throws IOException {
+        client.execute(request, options);
+
+        verify(delegate).execute(request, options);
+    }
+
+    @Test
+    void deveLimitarTimeoutsAoTempoRestante() throws IOException {
+        ContextoConsulta.executarCom(Deadline.em(Duration.ofMillis(800)), () -> executar(request));
+
+        ArgumentCaptor<Request.Options> captor = ArgumentCaptor.forClass(Request.Options.class);
+        verify(delegate).execute(eq(request), captor.capture());
+        Request.Options limitadas = captor.getValue();
+        assertTrue(limitadas.readTimeoutUnit().toMillis(limitadas.readTimeout()) <= 800);
+        assertTrue(limitadas.connectTimeoutUnit().toMillis(limitadas.connectTimeout()) <= 800);
+        assertTrue(limitadas.isFollowRedirects());
+    }
+
+    @Test
+    void deveLancarDeadlineExceededSemChamarQuandoPrazoEsgotado() {
+        assertThrows(DeadlineExceededException.class, () ->
+            ContextoConsulta.executarCom(Deadline.em(Duration.ZERO), () -> executar(request)));
+
+        verifyNoInteractions(delegate);
+    }
+
+    private Response executar(Request request) {
+        try {
+            return client.execute(request, options);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.fiap.sus.traffic.infrastructure.config;
+
+import com.fiap.sus.traffic.core.exception.DeadlineExceededException;
+import com.fiap.sus.traffic.core.exception.LimiteConcorrenciaExcedidoException;
+import com.fiap.sus.traffic.shared.context.ContextoConsulta;
+import com.fiap.sus.traffic.shared.context.Deadline;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineAwareRetryPredicateTest {
+
+    private final DeadlineAwareRetryPredicate predicate = new DeadlineAwareRetryPredicate();
+
+    @Test
+    void devePermitirRetrySemDeadline() {
+        assertTrue(predicate.test(new RuntimeException("falha")));
+    }
+
+    @Test
+    void devePermitirRetryComOrcamentoSuficiente() {
+        assertTrue(ContextoConsulta.executarCom(Deadline.em(Duration.ofSeconds(5)),
+            () -> predicate.test(new RuntimeException("falha"))));
+    }
+
+    @Test
+    void naoDeveTentarNovamenteComOrcamentoInsuficiente() {
+        assertFalse(ContextoConsulta.executarCom(Deadline.em(Duration.ofMillis(100)),
+            () -> predicate.test(new RuntimeException("falha"))));
+    }
+
+    @Test
+    void naoDeveTentarNovamenteDeadlineExceeded() {
+        assertFalse(predicate.test(new DeadlineExceededException("LiveOps Service")));
+    }
+
+    @Test
+    void naoDeveTentarNovamenteChamadaRecusadaPeloLimiteDeConcorrencia() {
+        assertFalse(predicate.test(new LimiteConcorrenciaExcedidoException("liveOpsService", 10)));
+    }
+}
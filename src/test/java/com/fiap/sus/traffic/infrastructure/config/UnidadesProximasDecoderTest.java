@@ -0,0 +1,117 @@
+package com.fiap.sus.traffic.infrastructure.config;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fiap.sus.traffic.application.dto.UnidadeSaudeDTO;
+import com.fiap.sus.traffic.infrastructure.client.NetworkServiceClient;
+import com.fiap.sus.traffic.infrastructure.client.dto.PageResponseDTO;
+import com.fiap.sus.traffic.infrastructure.client.dto.UnidadeProximaResumoDTO;
+import feign.Request;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UnidadesProximasDecoderTest {
+
+    private static final String PAGINA = """
+        {
+          "content": [
+            {
+              "id": "%s",
+              "name": "Hospital 1",
+              "cnpj": "11111111000111",
+              "address": {"street": "Rua A", "number": "10", "city": "São Paulo", "extra": {"lat": -23.5}},
+              "contacts": [{"id": null, "value": "1199999", "type": "PHONE", "description": null}],
+              "distance": "5.0 KM"
+            },
+            {"id": "%s", "name": "UBS 2", "distance": 7.5, "address": null, "latitude": -23.55, "longitude": -46.63},
+            null
+          ],
+          "pageable": {"pageNumber": 0, "sort": {"sorted": false}},
+          "totalElements": 12,
+          "totalPages": 6,
+          "size": 2,
+          "number": 0,
+          "first": true,
+          "last": false,
+          "numberOfElements": 2
+        }
+        """;
+
+    private Decoder delegate;
+    private UnidadesProximasDecoder decoder;
+    private Type tipoPagina;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        delegate = mock(Decoder.class);
+        decoder = new UnidadesProximasDecoder(new JsonFactory(), delegate);
+        tipoPagina = NetworkServiceClient.class.getMethod("buscarUnidadesProximas",
+            String.class, Double.class, String.class, int.class, int.class).getGenericReturnType();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveLerApenasIdNomeEDistanciaDasUnidades() throws Exception {
+        UUID id1 = UUID.randomUUID();
+        UUID id2 = UUID.randomUUID();
+
+        PageResponseDTO<UnidadeProximaResumoDTO> pagina = (PageResponseDTO<UnidadeProximaResumoDTO>)
+            decoder.decode(resposta(PAGINA.formatted(id1, id2)), tipoPagina);
+
+        assertEquals(2, pagina.getContent().size());
+        assertEquals(new UnidadeProximaResumoDTO(id1, "Hospital 1", "5.0 KM"), pagina.getContent().get(0));
+        assertEquals(new UnidadeProximaResumoDTO(id2, "UBS 2", "7.5", -23.55, -46.63), pagina.getContent().get(1));
+        assertEquals(12, pagina.totalElements());
+        assertEquals(6, pagina.totalPages());
+        assertEquals(2, pagina.size());
+        assertTrue(pagina.first());
+        assertFalse(pagina.last());
+        assertEquals(2, pagina.numberOfElements());
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveRetornarListaVaziaQuandoContentNulo() throws Exception {
+        PageResponseDTO<UnidadeProximaResumoDTO> pagina = (PageResponseDTO<UnidadeProximaResumoDTO>)
+            decoder.decode(resposta("{\"content\": null, \"last\": true}"), tipoPagina);
+
+        assertTrue(pagina.getContent().isEmpty());
+        assertTrue(pagina.last());
+    }
+
+    @Test
+    void deveLancarDecodeExceptionQuandoIdInvalido() {
+        assertThrows(DecodeException.class,
+            () -> decoder.decode(resposta("{\"content\": [{\"id\": \"abc\"}]}"), tipoPagina));
+    }
+
+    @Test
+    void deveDelegarOutrosTiposDeRetorno() throws Exception {
+        Response response = resposta("{\"id\": \"" + UUID.randomUUID() + "\"}");
+        UnidadeSaudeDTO unidade = new UnidadeSaudeDTO(UUID.randomUUID(), "Hospital", null, null, null, null);
+        when(delegate.decode(response, UnidadeSaudeDTO.class)).thenReturn(unidade);
+
+        assertSame(unidade, decoder.decode(response, UnidadeSaudeDTO.class));
+    }
+
+    private Response resposta(String corpo) {
+        return Response.builder()
+            .status(200)
+            .headers(new HashMap<>())
+            .request(Request.create(Request.HttpMethod.GET, "http://network/units/nearby",
+                new HashMap<>(), null, null, null))
+            .body(corpo, StandardCharsets.UTF_8)
+            .build();
+    }
+}
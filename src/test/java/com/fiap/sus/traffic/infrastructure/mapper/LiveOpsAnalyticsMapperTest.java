@@ -2,6 +2,7 @@ package com.fiap.sus.traffic.infrastructure.mapper;
 
 import com.fiap.sus.traffic.application.dto.IndicadoresDTO;
 import com.fiap.sus.traffic.application.dto.UnitAnalyticsDTO;
+import com.fiap.sus.traffic.domain.model.ProcedenciaIndicadores;
 import com.fiap.sus.traffic.domain.model.RiskClassification;
 import org.junit.jupiter.api.Test;
 
@@ -153,6 +154,7 @@ class LiveOpsAnalyticsMapperTest {
         assertEquals(0, indicadores.ocupacaoAtual());
         assertEquals(0, indicadores.pacientesEmEspera());
         assertEquals(20, indicadores.capacidadeNominal());
+        assertEquals(ProcedenciaIndicadores.DEFAULT, indicadores.procedencia());
         
         Map<RiskClassification, Integer> tmaPorRisco = indicadores.tmaPorRisco();
         assertEquals(5, tmaPorRisco.get(RiskClassification.RED));
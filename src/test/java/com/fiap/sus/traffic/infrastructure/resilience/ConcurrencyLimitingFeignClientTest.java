@@ -0,0 +1,169 @@
+package com.fiap.sus.traffic.infrastructure.resilience;
+
+import com.fiap.sus.traffic.core.exception.LimiteConcorrenciaExcedidoException;
+import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import com.fiap.sus.traffic.shared.context.ContextoConsulta;
+import com.fiap.sus.traffic.shared.context.Deadline;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ConcurrencyLimitingFeignClientTest {
+
+    private Client delegate;
+    private TrafficIntelligenceProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private LimitadoresConcorrencia limitadores;
+    private ConcurrencyLimitingFeignClient client;
+    private Request request;
+    private Request.Options options;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(Client.class);
+        properties = new TrafficIntelligenceProperties();
+        properties.getLimiteConcorrencia().setLimiteInicial(1);
+        properties.getLimiteConcorrencia().setLimiteMinimo(1);
+        meterRegistry = new SimpleMeterRegistry();
+        limitadores = new LimitadoresConcorrencia(properties, meterRegistry);
+        client = new ConcurrencyLimitingFeignClient(delegate, limitadores);
+        request = Request.create(Request.HttpMethod.GET, "http://liveops.local/test", new HashMap<>(), null, null, null);
+        options = new Request.Options(1, TimeUnit.SECONDS, 2, TimeUnit.SECONDS, true);
+    }
+
+    @Test
+    void deveRecusarChamadaQuandoLimiteAtingido() throws Exception {
+        CountDownLatch emAndamento = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(delegate.execute(any(), any())).thenAnswer(invocation -> {
+            emAndamento.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return resposta(200);
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Response> primeira = executor.submit(() -> client.execute(request, options));
+            assertTrue(emAndamento.await(5, TimeUnit.SECONDS));
+
+            assertThrows(LimiteConcorrenciaExcedidoException.class, () -> executarComPrazo(Duration.ofMillis(50)));
+
+            liberar.countDown();
+            assertEquals(200, primeira.get(5, TimeUnit.SECONDS).status());
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(delegate, times(1)).execute(any(), any());
+    }
+
+    @Test
+    void deveAguardarVagaDentroDoPrazoQuandoLimiteAtingido() throws Exception {
+        CountDownLatch emAndamento = new CountDownLatch(1);
+        when(delegate.execute(any(), any())).thenAnswer(invocation -> {
+            emAndamento.countDown();
+            Thread.sleep(100);
+            return resposta(200);
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Response> primeira = executor.submit(() -> client.execute(request, options));
+            assertTrue(emAndamento.await(5, TimeUnit.SECONDS));
+
+            assertEquals(200, executarComPrazo(Duration.ofSeconds(5)).status());
+            assertEquals(200, primeira.get(5, TimeUnit.SECONDS).status());
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(delegate, times(2)).execute(any(), any());
+        assertEquals(0, limitadores.doUpstream("liveops.local").emUso());
+    }
+
+    @Test
+    void deveExportarLimiteAtualComoMetrica() throws IOException {
+        when(delegate.execute(any(), any())).thenReturn(resposta(200));
+
+        client.execute(request, options);
+
+        assertEquals(limitadores.doUpstream("liveops.local").limite(),
+            meterRegistry.get("traffic.intelligence.upstream.limite").tag("upstream", "liveops.local").gauge().value());
+    }
+
+    @Test
+    void deveLiberarVagaQuandoChamadaFalha() throws IOException {
+        when(delegate.execute(any(), any())).thenThrow(new SocketTimeoutException("timeout")).thenReturn(resposta(200));
+
+        assertThrows(SocketTimeoutException.class, () -> client.execute(request, options));
+
+        assertEquals(200, client.execute(request, options).status());
+        assertEquals(0, limitadores.doUpstream("liveops.local").emUso());
+    }
+
+    @Test
+    void deveReduzirLimiteQuandoUpstreamEstouraOTimeoutConfigurado() throws IOException {
+        properties.getLimiteConcorrencia().setLimiteInicial(10);
+        when(delegate.execute(any(), any())).thenThrow(new SocketTimeoutException("timeout"));
+
+        UncheckedIOException erro = assertThrows(UncheckedIOException.class, () -> executarComPrazo(Duration.ofSeconds(10)));
+
+        assertInstanceOf(SocketTimeoutException.class, erro.getCause());
+
+        assertTrue(limitadores.doUpstream("liveops.local").limite() < 10);
+    }
+
+    @Test
+    void naoDeveReduzirLimiteQuandoTimeoutVemDoPrazoDaConsulta() throws IOException {
+        properties.getLimiteConcorrencia().setLimiteInicial(10);
+        when(delegate.execute(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(60);
+            throw new SocketTimeoutException("Read timed out");
+        });
+
+        assertThrows(UncheckedIOException.class, () -> executarComPrazo(Duration.ofMillis(50)));
+
+        assertEquals(10, limitadores.doUpstream("liveops.local").limite());
+        assertEquals(0, limitadores.doUpstream("liveops.local").emUso());
+    }
+
+    @Test
+    void naoDeveLimitarQuandoDesabilitado() throws IOException {
+        properties.getLimiteConcorrencia().setHabilitado(false);
+        when(delegate.execute(any(), any())).thenReturn(resposta(200));
+
+        client.execute(request, options);
+
+        assertThrows(Exception.class, () -> meterRegistry.get("traffic.intelligence.upstream.limite").gauge());
+    }
+
+    private Response executarComPrazo(Duration prazo) {
+        return ContextoConsulta.executarCom(Deadline.em(prazo), () -> {
+            try {
+                return client.execute(request, options);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private Response resposta(int status) {
+        return Response.builder().status(status).headers(new HashMap<>()).request(request).build();
+    }
+}
@@ -0,0 +1,132 @@
+package com.fiap.sus.traffic.infrastructure.scheduler;
+
+import com.fiap.sus.traffic.application.port.CachePort;
+import com.fiap.sus.traffic.application.port.LiveOpsServicePort;
+import com.fiap.sus.traffic.infrastructure.cache.IndicadoresMaterializados;
+import com.fiap.sus.traffic.infrastructure.cache.VolatilidadeIndicadores;
+import com.fiap.sus.traffic.infrastructure.client.LiveOpsServiceAdapter;
+import com.fiap.sus.traffic.infrastructure.client.LiveOpsServiceClient;
+import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import com.fiap.sus.traffic.infrastructure.mapper.LiveOpsAnalyticsMapper;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AtualizadorUnidadesPopularesTest {
+
+    @Mock
+    private LiveOpsServicePort liveOpsServicePort;
+
+    @Mock
+    private TrafficIntelligenceProperties properties;
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private TrafficIntelligenceProperties.LiveOpsService liveOpsConfig;
+    private AtualizadorUnidadesPopulares atualizador;
+
+    @BeforeEach
+    void setUp() {
+        liveOpsConfig = new TrafficIntelligenceProperties.LiveOpsService();
+        liveOpsConfig.getAtualizacaoPopulares().setTopN(2);
+        lenient().when(properties.getLiveopsService()).thenReturn(liveOpsConfig);
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        atualizador = new AtualizadorUnidadesPopulares(liveOpsServicePort, circuitBreakerRegistry, properties);
+    }
+
+    @Test
+    void deveRenovarApenasAsUnidadesMaisPopulares() {
+        UUID maisPopular = UUID.randomUUID();
+        UUID segunda = UUID.randomUUID();
+        UUID rara = UUID.randomUUID();
+        atualizador.registrarCandidatas(List.of(maisPopular, segunda, rara));
+        atualizador.registrarCandidatas(List.of(maisPopular, segunda));
+        atualizador.registrarCandidatas(List.of(maisPopular));
+
+        atualizador.atualizar();
+
+        verify(liveOpsServicePort).renovarIndicadores(List.of(maisPopular, segunda), Duration.ofSeconds(20));
+    }
+
+    @Test
+    void deveEsquecerUnidadesQueDeixamDeSerConsultadas() {
+        UUID unidade = UUID.randomUUID();
+        atualizador.registrarCandidatas(List.of(unidade));
+
+        atualizador.atualizar();
+
+        assertTrue(atualizador.maisPopulares(10).isEmpty());
+    }
+
+    @Test
+    void naoDeveRenovarComCircuitBreakerAberto() {
+        atualizador.registrarCandidatas(List.of(UUID.randomUUID()));
+        circuitBreakerRegistry.circuitBreaker(AtualizadorUnidadesPopulares.CIRCUIT_BREAKER_LIVEOPS).transitionToOpenState();
+
+        atualizador.atualizar();
+
+        verifyNoInteractions(liveOpsServicePort);
+    }
+
+    @Test
+    void devePularCicloDepoisQueFalhasDoLiveOpsAbremOCircuitBreaker() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .recordExceptions(HttpServerErrorException.class)
+            .build());
+        liveOpsConfig.getLote().setHabilitado(false);
+        liveOpsConfig.getRetry().setMaxTentativas(1);
+        liveOpsConfig.getAtualizacaoPopulares().setTopN(4);
+        lenient().when(properties.getCache()).thenReturn(new TrafficIntelligenceProperties.Cache());
+        LiveOpsServiceClient client = mock(LiveOpsServiceClient.class);
+        when(client.buscarIndicadores(anyString(), any()))
+            .thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+        LiveOpsServiceAdapter adapter = spy(new LiveOpsServiceAdapter(client, mock(CachePort.class), properties,
+            new LiveOpsAnalyticsMapper(), new IndicadoresMaterializados(new TrafficIntelligenceProperties()),
+            new VolatilidadeIndicadores(new TrafficIntelligenceProperties()), BulkheadRegistry.ofDefaults(),
+            circuitBreakerRegistry, new SimpleMeterRegistry()));
+        atualizador = new AtualizadorUnidadesPopulares(adapter, circuitBreakerRegistry, properties);
+        List<UUID> unidades = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+
+        atualizador.registrarCandidatas(unidades);
+        atualizador.registrarCandidatas(unidades);
+        atualizador.atualizar();
+        atualizador.registrarCandidatas(unidades);
+        atualizador.atualizar();
+
+        assertEquals(CircuitBreaker.State.OPEN,
+            circuitBreakerRegistry.circuitBreaker(AtualizadorUnidadesPopulares.CIRCUIT_BREAKER_LIVEOPS).getState());
+        verify(adapter, times(1)).renovarIndicadores(anyCollection(), any());
+        verify(client, times(4)).buscarIndicadores(anyString(), any());
+    }
+
+    @Test
+    void naoDeveRegistrarNemRenovarQuandoDesabilitado() {
+        liveOpsConfig.getAtualizacaoPopulares().setHabilitado(false);
+        atualizador.registrarCandidatas(List.of(UUID.randomUUID()));
+
+        atualizador.atualizar();
+
+        assertTrue(atualizador.maisPopulares(10).isEmpty());
+        verifyNoInteractions(liveOpsServicePort);
+    }
+}
@@ -0,0 +1,98 @@
+package com.fiap.sus.traffic.infrastructure.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fiap.sus.traffic.application.dto.IndicadoresDTO;
+import com.fiap.sus.traffic.application.dto.UnitAnalyticsDTO;
+import com.fiap.sus.traffic.domain.model.RiskClassification;
+import com.fiap.sus.traffic.infrastructure.cache.IndicadoresMaterializados;
+import com.fiap.sus.traffic.infrastructure.config.TrafficIntelligenceProperties;
+import com.fiap.sus.traffic.infrastructure.mapper.LiveOpsAnalyticsMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndicadoresStreamListenerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final IndicadoresMaterializados indicadoresMaterializados = new IndicadoresMaterializados(new TrafficIntelligenceProperties());
+    private final IndicadoresStreamListener listener = new IndicadoresStreamListener(
+        indicadoresMaterializados, new LiveOpsAnalyticsMapper(), objectMapper);
+
+    @Test
+    void deveAtualizarVisaoComEventoDoLiveOps() throws Exception {
+        UUID unidadeId = UUID.randomUUID();
+        UnitAnalyticsDTO analytics = new UnitAnalyticsDTO(
+            unidadeId.toString(),
+            30L,
+            new UnitAnalyticsDTO.LiveQueueSnapshotDTO(12L, 7L, 5L),
+            List.of(new UnitAnalyticsDTO.RiskAttendancePerformanceDTO("RED", 4L, 0, false))
+        );
+
+        listener.onMessage(evento(objectMapper.writeValueAsString(analytics)));
+
+        IndicadoresDTO indicadores = indicadoresMaterializados.buscar(unidadeId, Duration.ofSeconds(60)).orElseThrow();
+        assertEquals(4, indicadores.tmaPorRisco().get(RiskClassification.RED));
+        assertEquals(12, indicadores.ocupacaoAtual());
+        assertEquals(7, indicadores.pacientesEmEspera());
+    }
+
+    @Test
+    void naoDeveSobrescreverComEventoEntregueForaDeOrdem() throws Exception {
+        UUID unidadeId = UUID.randomUUID();
+        long agora = System.currentTimeMillis();
+
+        listener.onMessage(evento(RecordId.of(agora, 0), analyticsJson(unidadeId, 12L)));
+        listener.onMessage(evento(RecordId.of(agora - 5000, 0), analyticsJson(unidadeId, 99L)));
+
+        IndicadoresDTO indicadores = indicadoresMaterializados.buscar(unidadeId, Duration.ofSeconds(60)).orElseThrow();
+        assertEquals(12, indicadores.ocupacaoAtual());
+    }
+
+    @Test
+    void deveDescartarEventoComIdDeUnidadeInvalido() throws Exception {
+        UnitAnalyticsDTO analytics = new UnitAnalyticsDTO("nao-e-uuid", 30L, null, List.of());
+
+        listener.onMessage(evento(objectMapper.writeValueAsString(analytics)));
+
+        assertEquals(0, indicadoresMaterializados.tamanho());
+    }
+
+    @Test
+    void deveDescartarEventoSemPayloadOuMalformado() {
+        listener.onMessage(StreamRecords.newRecord()
+            .in("liveops:indicadores")
+            .withId(RecordId.autoGenerate())
+            .ofMap(Map.of("outro", "campo")));
+        listener.onMessage(evento("{nao e json"));
+
+        assertEquals(0, indicadoresMaterializados.tamanho());
+    }
+
+    private MapRecord<String, String, String> evento(String payload) {
+        return evento(RecordId.autoGenerate(), payload);
+    }
+
+    private MapRecord<String, String, String> evento(RecordId id, String payload) {
+        return StreamRecords.newRecord()
+            .in("liveops:indicadores")
+            .withId(id)
+            .ofMap(Map.of(IndicadoresStreamListener.CAMPO_PAYLOAD, payload));
+    }
+
+    private String analyticsJson(UUID unidadeId, long totalPacientes) throws Exception {
+        return objectMapper.writeValueAsString(new UnitAnalyticsDTO(
+            unidadeId.toString(),
+            30L,
+            new UnitAnalyticsDTO.LiveQueueSnapshotDTO(totalPacientes, 7L, 5L),
+            List.of(new UnitAnalyticsDTO.RiskAttendancePerformanceDTO("RED", 4L, 0, false))
+        ));
+    }
+}
@@ -15,6 +15,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -74,7 +75,8 @@ class DirecionamentoControllerTest {
             eq(RiskClassification.RED),
             eq("Cardiologia"),
             eq(10.0),
-            eq("KM")
+            eq("KM"),
+            isNull()
         )).thenReturn(sugestoes);
 
         when(mapper.toResponseList(sugestoes)).thenReturn(
@@ -88,7 +90,7 @@ class DirecionamentoControllerTest {
             )).toList()
         );
 
-        var response = controller.consultar(request);
+        var response = controller.consultar(request, null);
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCode().value());
@@ -99,7 +101,8 @@ class DirecionamentoControllerTest {
             eq(RiskClassification.RED),
             eq("Cardiologia"),
             eq(10.0),
-            eq("KM")
+            eq("KM"),
+            isNull()
         );
     }
 
@@ -115,7 +118,7 @@ class DirecionamentoControllerTest {
 
         // O controller valida radius <= 0 ANTES de chamar o use case, então deve lançar ValidationException
         assertThrows(ValidationException.class, () -> {
-            controller.consultar(request);
+            controller.consultar(request, null);
         });
     }
 
@@ -131,7 +134,7 @@ class DirecionamentoControllerTest {
 
         // O controller valida radius <= 0 ANTES de chamar o use case, então deve lançar ValidationException
         assertThrows(ValidationException.class, () -> {
-            controller.consultar(request);
+            controller.consultar(request, null);
         });
     }
 
@@ -156,17 +159,52 @@ class DirecionamentoControllerTest {
             )
         );
 
-        when(consultarDirecionamentoUseCase.executar(anyString(), any(), any(), any(), anyString()))
+        when(consultarDirecionamentoUseCase.executar(anyString(), any(), any(), any(), anyString(), any()))
             .thenReturn(sugestoes);
         when(mapper.toResponseList(anyList())).thenReturn(List.of());
 
         // Executar - o SimpleMeterRegistry permite que Timer.start() funcione
-        var response = controller.consultar(request);
+        var response = controller.consultar(request, null);
 
         assertNotNull(response);
-        verify(consultarDirecionamentoUseCase).executar(anyString(), any(), any(), any(), anyString());
+        verify(consultarDirecionamentoUseCase).executar(anyString(), any(), any(), any(), anyString(), any());
         
         // Verificar que métricas foram registradas
         assertTrue(meterRegistry.getMeters().size() > 0);
     }
+
+    @Test
+    void deveRepassarOrcamentoDoHeaderParaUseCase() {
+        DirecionamentoRequest request = new DirecionamentoRequest(
+            "Rua Teste, 123",
+            "RED",
+            null,
+            10.0,
+            "KM"
+        );
+
+        when(consultarDirecionamentoUseCase.executar(anyString(), any(), any(), any(), anyString(), any()))
+            .thenReturn(List.of());
+        when(mapper.toResponseList(anyList())).thenReturn(List.of());
+
+        controller.consultar(request, 800L);
+
+        verify(consultarDirecionamentoUseCase).executar(
+            anyString(), any(), any(), any(), anyString(), eq(Duration.ofMillis(800))
+        );
+    }
+
+    @Test
+    void deveLancarExcecaoQuandoDeadlineNaoPositivo() {
+        DirecionamentoRequest request = new DirecionamentoRequest(
+            "Rua Teste, 123",
+            "RED",
+            null,
+            10.0,
+            "KM"
+        );
+
+        assertThrows(ValidationException.class, () -> controller.consultar(request, 0L));
+        verifyNoInteractions(consultarDirecionamentoUseCase);
+    }
 }
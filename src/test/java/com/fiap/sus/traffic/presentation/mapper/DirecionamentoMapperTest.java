@@ -1,5 +1,6 @@
 package com.fiap.sus.traffic.presentation.mapper;
 
+import com.fiap.sus.traffic.domain.model.ProcedenciaIndicadores;
 import com.fiap.sus.traffic.domain.model.SugestaoOrdenada;
 import com.fiap.sus.traffic.presentation.dto.SugestaoResponse;
 import org.junit.jupiter.api.Test;
@@ -34,6 +35,23 @@ class DirecionamentoMapperTest {
         assertEquals(sugestao.razao(), response.razao());
     }
 
+    @Test
+    void deveExporProcedenciaDosIndicadores() {
+        SugestaoOrdenada sugestao = new SugestaoOrdenada(
+            UUID.randomUUID(),
+            "Hospital Teste",
+            0.85,
+            5.0,
+            30,
+            "Próxima (5.0 km).",
+            ProcedenciaIndicadores.STALE
+        );
+
+        SugestaoResponse response = mapper.toResponse(sugestao);
+
+        assertEquals(ProcedenciaIndicadores.STALE, response.procedenciaIndicadores());
+    }
+
     @Test
     void deveConverterListaDeSugestoes() {
         List<SugestaoOrdenada> sugestoes = List.of(
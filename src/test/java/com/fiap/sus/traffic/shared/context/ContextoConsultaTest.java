@@ -0,0 +1,92 @@
+package com.fiap.sus.traffic.shared.context;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContextoConsultaTest {
+
+    @Test
+    void deveExporDeadlineApenasDuranteExecucao() {
+        Deadline deadline = Deadline.em(Duration.ofSeconds(5));
+
+        Deadline dentro = ContextoConsulta.executarCom(deadline, () -> ContextoConsulta.deadlineAtual().orElse(null));
+
+        assertSame(deadline, dentro);
+        assertTrue(ContextoConsulta.deadlineAtual().isEmpty());
+        assertFalse(ContextoConsulta.expirado());
+    }
+
+    @Test
+    void deveRestaurarDeadlineAnteriorAoAninhar() {
+        Deadline externo = Deadline.em(Duration.ofSeconds(5));
+        Deadline interno = Deadline.em(Duration.ofSeconds(1));
+
+        Deadline aposInterno = ContextoConsulta.executarCom(externo, () -> {
+            ContextoConsulta.executarCom(interno, () -> null);
+            return ContextoConsulta.deadlineAtual().orElse(null);
+        });
+
+        assertSame(externo, aposInterno);
+    }
+
+    @Test
+    void devePropagarDeadlineParaOutraThread() throws Exception {
+        Deadline deadline = Deadline.em(Duration.ofSeconds(5));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Deadline> future = ContextoConsulta.executarCom(deadline, () ->
+                executor.submit(ContextoConsulta.propagar(() -> ContextoConsulta.deadlineAtual().orElse(null))));
+
+            assertSame(deadline, future.get());
+        }
+    }
+
+    @Test
+    void deveIndicarExpiracaoDoDeadline() {
+        Deadline deadline = Deadline.em(Duration.ZERO);
+
+        assertTrue(deadline.expirado());
+        assertEquals(Duration.ZERO, deadline.tempoRestante());
+        assertTrue(ContextoConsulta.executarCom(deadline, ContextoConsulta::expirado));
+    }
+
+    @Test
+    void deveLimitarTimeoutAoTempoRestante() {
+        Deadline deadline = Deadline.em(Duration.ofMillis(500));
+
+        assertTrue(deadline.limitar(Duration.ofSeconds(180)).compareTo(Duration.ofMillis(500)) <= 0);
+        assertEquals(Duration.ofMillis(10), deadline.limitar(Duration.ofMillis(10)));
+    }
+
+    @Test
+    void deveCompartilharOrcamentoDeRetriesEntreThreadsDaConsulta() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            boolean consumidoEmOutraThread = ContextoConsulta.executarCom(Deadline.em(Duration.ofSeconds(5)), 2, () -> {
+                assertTrue(ContextoConsulta.tentarConsumirRetry());
+                try {
+                    boolean outra = executor.submit(ContextoConsulta.propagar(ContextoConsulta::tentarConsumirRetry)).get();
+                    assertFalse(ContextoConsulta.tentarConsumirRetry());
+                    return outra;
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            assertTrue(consumidoEmOutraThread);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void devePermitirRetriesForaDeConsultaOuSemOrcamento() {
+        assertTrue(ContextoConsulta.tentarConsumirRetry());
+        assertTrue(ContextoConsulta.executarCom(Deadline.em(Duration.ofSeconds(5)), ContextoConsulta::tentarConsumirRetry));
+    }
+}
@@ -59,4 +59,10 @@ class DistanceUtilsParseTest {
         assertEquals(1.5, DistanceUtils.parseDistanceToKm("  1.5 km  "), 0.01);
         assertEquals(0.5, DistanceUtils.parseDistanceToKm("  500 m  "), 0.01);
     }
+
+    @Test
+    void deveFormatarDistanciaEmKmQueOParserAceita() {
+        assertEquals("1.235 km", DistanceUtils.formatarDistanciaKm(1.23456));
+        assertEquals(1.235, DistanceUtils.parseDistanceToKm(DistanceUtils.formatarDistanciaKm(1.23456)), 0.0001);
+    }
 }
@@ -0,0 +1,45 @@
+package com.fiap.sus.traffic.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeohashTest {
+
+    @Test
+    void deveCodificarCoordenadasConhecidas() {
+        assertEquals("ezs42", Geohash.codificar(42.605, -5.603, 5));
+        assertEquals("u4pruydqqvj", Geohash.codificar(57.64911, 10.40744, 11));
+    }
+
+    @Test
+    void deveColocarEnderecosVizinhosNaMesmaCelula() {
+        // Av. Paulista, 1000 e 1010: poucos metros de distância
+        String celula1 = Geohash.codificar(-23.56476, -46.65240, 6);
+        String celula2 = Geohash.codificar(-23.56485, -46.65252, 6);
+
+        assertEquals(celula1, celula2);
+        assertTrue(celula1.startsWith(Geohash.codificar(-23.56476, -46.65240, 5)));
+    }
+
+    @Test
+    void deveDecodificarCentroDaCelula() {
+        double[] centro = Geohash.centro("ezs42");
+
+        assertEquals(42.605, centro[0], 0.03);
+        assertEquals(-5.603, centro[1], 0.03);
+        assertEquals("ezs42", Geohash.codificar(centro[0], centro[1], 5));
+    }
+
+    @Test
+    void deveCalcularDiagonalDaCelula() {
+        assertEquals(0.216, Geohash.diagonalKm(7), 0.001);
+        assertTrue(Geohash.diagonalKm(6) > Geohash.diagonalKm(7));
+    }
+
+    @Test
+    void deveRejeitarPrecisaoInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> Geohash.codificar(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> Geohash.diagonalKm(13));
+    }
+}
@@ -0,0 +1,44 @@
+package com.fiap.sus.traffic.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JanelaLatenciasTest {
+
+    @Test
+    void naoDeveEstimarPercentilSemAmostrasSuficientes() {
+        JanelaLatencias janela = new JanelaLatencias(100);
+        janela.registrar(Duration.ofMillis(10));
+
+        assertTrue(janela.percentil(0.95, 2).isEmpty());
+        assertTrue(janela.percentil(0.95, 1).isPresent());
+    }
+
+    @Test
+    void deveCalcularPercentilDasLatencias() {
+        JanelaLatencias janela = new JanelaLatencias(100);
+        for (int i = 1; i <= 100; i++) {
+            janela.registrar(Duration.ofMillis(i));
+        }
+
+        assertEquals(Duration.ofMillis(95), janela.percentil(0.95, 1).orElseThrow());
+        assertEquals(Duration.ofMillis(50), janela.percentil(0.50, 1).orElseThrow());
+    }
+
+    @Test
+    void deveConsiderarApenasAsAmostrasMaisRecentes() {
+        JanelaLatencias janela = new JanelaLatencias(10);
+        for (int i = 0; i < 10; i++) {
+            janela.registrar(Duration.ofSeconds(5));
+        }
+        for (int i = 0; i < 10; i++) {
+            janela.registrar(Duration.ofMillis(20));
+        }
+
+        assertEquals(10, janela.amostras());
+        assertEquals(Duration.ofMillis(20), janela.percentil(0.99, 1).orElseThrow());
+    }
+}
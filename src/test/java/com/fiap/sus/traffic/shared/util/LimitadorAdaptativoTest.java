@@ -0,0 +1,107 @@
+package com.fiap.sus.traffic.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimitadorAdaptativoTest {
+
+    @Test
+    void deveRecusarChamadasAcimaDoLimite() {
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(2, 1, 10, 2.0, 0.5);
+
+        assertTrue(limitador.tentarAdquirir());
+        assertTrue(limitador.tentarAdquirir());
+        assertFalse(limitador.tentarAdquirir());
+        assertEquals(2, limitador.emUso());
+    }
+
+    @Test
+    void deveAguardarVagaLiberadaDentroDaEspera() throws Exception {
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(1, 1, 10, 2.0, 0.5);
+        assertTrue(limitador.tentarAdquirir());
+
+        Thread liberacao = Thread.ofVirtual().start(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            limitador.liberarSemAmostra();
+        });
+
+        assertTrue(limitador.tentarAdquirir(Duration.ofSeconds(5)));
+        assertEquals(1, limitador.emUso());
+        liberacao.join();
+    }
+
+    @Test
+    void deveDesistirQuandoNenhumaVagaLiberaDentroDaEspera() throws Exception {
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(1, 1, 10, 2.0, 0.5);
+        assertTrue(limitador.tentarAdquirir());
+
+        assertFalse(limitador.tentarAdquirir(Duration.ofMillis(20)));
+        assertEquals(1, limitador.emUso());
+    }
+
+    @Test
+    void deveAumentarLimiteComLatenciaEstavel() {
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(4, 1, 10, 2.0, 0.5);
+
+        for (int i = 0; i < 3; i++) {
+            saturar(limitador, Duration.ofMillis(50));
+        }
+
+        assertTrue(limitador.limite() > 4);
+        assertTrue(limitador.limite() <= 10);
+    }
+
+    @Test
+    void naoDeveAumentarLimiteQuandoPoucoUsado() {
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(10, 1, 100, 2.0, 0.5);
+
+        for (int i = 0; i < 20; i++) {
+            limitador.tentarAdquirir();
+            limitador.liberar(Duration.ofMillis(50));
+        }
+
+        assertEquals(10, limitador.limite());
+    }
+
+    @Test
+    void deveReduzirLimiteQuandoLatenciaCresce() {
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(8, 1, 10, 2.0, 0.5);
+        limitador.tentarAdquirir();
+        limitador.liberar(Duration.ofMillis(50));
+
+        limitador.tentarAdquirir();
+        limitador.liberar(Duration.ofMillis(500));
+
+        assertEquals(4, limitador.limite());
+    }
+
+    @Test
+    void deveReduzirLimiteComSobrecargaRespeitandoMinimo() {
+        LimitadorAdaptativo limitador = new LimitadorAdaptativo(4, 2, 10, 2.0, 0.5);
+
+        for (int i = 0; i < 5; i++) {
+            limitador.tentarAdquirir();
+            limitador.liberarComSobrecarga();
+        }
+
+        assertEquals(2, limitador.limite());
+        assertEquals(0, limitador.emUso());
+    }
+
+    private void saturar(LimitadorAdaptativo limitador, Duration latencia) {
+        int adquiridas = 0;
+        while (limitador.tentarAdquirir()) {
+            adquiridas++;
+        }
+        for (int i = 0; i < adquiridas; i++) {
+            limitador.liberar(latencia);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.fiap.sus.traffic.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrcamentoProporcionalTest {
+
+    @Test
+    void deveLimitarExtrasAoPercentualDasChamadas() {
+        OrcamentoProporcional orcamento = new OrcamentoProporcional();
+        int extras = 0;
+
+        for (int i = 0; i < 1000; i++) {
+            orcamento.registrarChamada(0.05, 10);
+            if (orcamento.tentarConsumir()) {
+                extras++;
+            }
+        }
+
+        assertEquals(50, extras, 1);
+    }
+
+    @Test
+    void deveLimitarFichasAcumuladasARajadaMaxima() {
+        OrcamentoProporcional orcamento = new OrcamentoProporcional();
+        for (int i = 0; i < 1000; i++) {
+            orcamento.registrarChamada(0.05, 3);
+        }
+
+        assertEquals(3.0, orcamento.disponivel(), 0.0001);
+        assertTrue(orcamento.tentarConsumir());
+        assertTrue(orcamento.tentarConsumir());
+        assertTrue(orcamento.tentarConsumir());
+        assertFalse(orcamento.tentarConsumir());
+    }
+
+    @Test
+    void deveDevolverFichaDeExtraNaoFeita() {
+        OrcamentoProporcional orcamento = new OrcamentoProporcional();
+        orcamento.registrarChamada(1.0, 10);
+        assertTrue(orcamento.tentarConsumir());
+
+        orcamento.devolver();
+
+        assertTrue(orcamento.tentarConsumir());
+        assertFalse(orcamento.tentarConsumir());
+    }
+}
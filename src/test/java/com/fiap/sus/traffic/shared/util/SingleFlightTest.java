@@ -0,0 +1,127 @@
+package com.fiap.sus.traffic.shared.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void deveCompartilharCargaEntreChamadasConcorrentesDaMesmaChave() throws Exception {
+        CountDownLatch cargaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+        AtomicInteger cargas = new AtomicInteger();
+
+        CompletableFuture<String> primeira = CompletableFuture.supplyAsync(() ->
+            singleFlight.executar("chave", () -> {
+                cargas.incrementAndGet();
+                cargaIniciada.countDown();
+                aguardar(liberarCarga);
+                return "valor";
+            }));
+        assertTrue(cargaIniciada.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> segunda = CompletableFuture.supplyAsync(() ->
+            singleFlight.executar("chave", () -> {
+                cargas.incrementAndGet();
+                return "outro";
+            }));
+        Thread.sleep(50); // dá tempo da segunda chamada encontrar a carga em andamento
+        liberarCarga.countDown();
+
+        assertEquals("valor", primeira.get(5, TimeUnit.SECONDS));
+        assertEquals("valor", segunda.get(5, TimeUnit.SECONDS));
+        assertEquals(1, cargas.get());
+        assertEquals(0, singleFlight.emAndamento());
+    }
+
+    @Test
+    void deveExecutarNovaCargaDepoisQueAAnteriorTermina() {
+        AtomicInteger cargas = new AtomicInteger();
+
+        singleFlight.executar("chave", () -> "v" + cargas.incrementAndGet());
+        String segunda = singleFlight.executar("chave", () -> "v" + cargas.incrementAndGet());
+
+        assertEquals("v2", segunda);
+        assertEquals(2, cargas.get());
+    }
+
+    @Test
+    void devePropagarExcecaoDaCargaELiberarChave() {
+        assertThrows(IllegalArgumentException.class, () ->
+            singleFlight.executar("chave", () -> {
+                throw new IllegalArgumentException("falha");
+            }));
+
+        assertEquals(0, singleFlight.emAndamento());
+        assertEquals("ok", singleFlight.executar("chave", () -> "ok"));
+    }
+
+    @Test
+    void deveCarregarEmLoteApenasChavesLivres() throws Exception {
+        CountDownLatch cargaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+        CompletableFuture<String> individual = CompletableFuture.supplyAsync(() ->
+            singleFlight.executar("a", () -> {
+                cargaIniciada.countDown();
+                aguardar(liberarCarga);
+                return "A";
+            }));
+        assertTrue(cargaIniciada.await(5, TimeUnit.SECONDS));
+
+        AtomicReference<List<String>> chavesCarregadas = new AtomicReference<>();
+        CompletableFuture<Map<String, String>> lote = CompletableFuture.supplyAsync(() ->
+            singleFlight.executarEmLote(List.of("a", "b", "c"), chaves -> {
+                chavesCarregadas.set(chaves);
+                liberarCarga.countDown();
+                return Map.of("b", "B");
+            }));
+
+        assertEquals(Map.of("a", "A", "b", "B"), lote.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("b", "c"), chavesCarregadas.get());
+        assertEquals("A", individual.get(5, TimeUnit.SECONDS));
+        assertEquals(0, singleFlight.emAndamento());
+    }
+
+    @Test
+    void deveDeixarForaDoLoteChavesEmAndamentoQueNaoTerminamDentroDaEspera() throws Exception {
+        CountDownLatch cargaIniciada = new CountDownLatch(1);
+        CountDownLatch liberarCarga = new CountDownLatch(1);
+        CompletableFuture<String> individual = CompletableFuture.supplyAsync(() ->
+            singleFlight.executar("a", () -> {
+                cargaIniciada.countDown();
+                aguardar(liberarCarga);
+                return "A";
+            }));
+        assertTrue(cargaIniciada.await(5, TimeUnit.SECONDS));
+
+        long inicio = System.nanoTime();
+        Map<String, String> lote = singleFlight.executarEmLote(List.of("a", "b"), chaves -> Map.of("b", "B"),
+            Duration.ofMillis(100));
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        liberarCarga.countDown();
+
+        assertEquals(Map.of("b", "B"), lote);
+        assertTrue(duracaoMs < 2_000, "não deveria esperar a carga em andamento além do prazo, levou " + duracaoMs + "ms");
+        assertEquals("A", individual.get(5, TimeUnit.SECONDS));
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}